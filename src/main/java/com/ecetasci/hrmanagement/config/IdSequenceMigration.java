@@ -0,0 +1,56 @@
+package com.ecetasci.hrmanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * IDENTITY'den sequence'e geçiş için veri göçü.
+ * <p>
+ * Şema güncellemesi ({@code ddl-auto: update}) yeni sequence'leri 1'den başlatır; mevcut tablolarda ise id'ler
+ * çoktan ilerlemiştir. Açılışta her entity için sequence tablodaki en büyük id'nin gerisindeyse ileri alınır.
+ * Sequence bir kez kullanılmaya başlandıktan sonra hep en büyük id'nin önünde olduğundan işlem idempotenttir.
+ * EntityManagerFactory'ye bağımlı olduğu için şema güncellemesinden sonra, seeder ve runner'lardan önce çalışır.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceMigration {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                return;
+            }
+            String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+            int increment = generator.getDatabaseStructure().getIncrementSize();
+            align(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0], sequence, increment);
+        });
+    }
+
+    void align(String table, String idColumn, String sequence, int increment) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        Long lastValue = jdbcTemplate.queryForObject("select last_value from " + sequence, Long.class);
+        if (lastValue != null && lastValue >= maxId) {
+            return;
+        }
+        // Pooled optimizer sıradaki değeri bloğun üst sınırı sayar: (maxId, maxId + increment]
+        jdbcTemplate.queryForObject("select setval('" + sequence + "', ?, false)", Long.class, maxId + increment);
+        log.info("id_sequence_aligned table={} sequence={} max_id={}", table, sequence, maxId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecetasci.hrmanagement.config;
+
+import com.ecetasci.hrmanagement.entity.LeaveRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * İzin talepleri için çakışma kısıtı.
+ * <p>
+ * {@code ddl-auto: update} exclusion constraint üretemediği için açılışta bir kez eklenir: aynı çalışanın
+ * reddedilmemiş iki talebinin kapalı tarih aralıkları ({@code daterange(start, end, '[]')}) kesişemez.
+ * Servisteki index'li ön kontrol normal yolu hızlı tutar; eşzamanlı iki talep kontrolü birlikte geçse bile
+ * ikinci insert veritabanında atomik olarak reddedilir. Kısıt zaten varsa hiçbir şey yapılmaz.
+ * <p>
+ * {@code btree_gist} kurulamazsa veya mevcut veride çakışan kayıtlar varsa uyarı loglanır ve uygulama
+ * servis içi kontrolle açılmaya devam eder.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveOverlapConstraintMigration {
+
+    // Şema güncellemesinden (EntityManagerFactory) sonra çalışması için bağımlılık olarak tutulur
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void ensureConstraint() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_constraint where conname = ?", Integer.class,
+                    LeaveRequest.NO_OVERLAP_CONSTRAINT);
+            if (existing != null && existing > 0) {
+                return;
+            }
+            jdbcTemplate.execute("create extension if not exists btree_gist");
+            jdbcTemplate.execute("alter table leave_requests add constraint " + LeaveRequest.NO_OVERLAP_CONSTRAINT
+                    + " exclude using gist (employee_id with =, daterange(start_date, end_date, '[]') with &&)"
+                    + " where (status <> 'REJECTED')");
+            log.info("leave_overlap_constraint_created name={}", LeaveRequest.NO_OVERLAP_CONSTRAINT);
+        } catch (DataAccessException e) {
+            log.warn("leave_overlap_constraint_skipped reason={}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
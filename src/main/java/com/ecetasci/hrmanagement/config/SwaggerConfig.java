@@ -1,14 +1,21 @@
 package com.ecetasci.hrmanagement.config;
 
+import com.ecetasci.hrmanagement.security.CallerContext;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class SwaggerConfig {
+
+	static {
+		// CallerContext token'dan çözülür; dokümanda request parametresi olarak görünmemeli
+		SpringDocUtils.getConfig().addRequestWrapperToIgnore(CallerContext.class);
+	}
 	
 	@Bean
 	public OpenAPI customOpenAPI() {
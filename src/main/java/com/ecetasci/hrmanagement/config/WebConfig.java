@@ -0,0 +1,32 @@
+package com.ecetasci.hrmanagement.config;
+
+import com.ecetasci.hrmanagement.security.CallerContextArgumentResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CallerContextArgumentResolver callerContextArgumentResolver;
+
+    // StreamingResponseBody dışa aktarımları async çalışır; Tomcat'in 30 sn varsayılanı büyük şirketlerde akışı keser
+    @Value("${app.export.request-timeout-ms:1800000}")
+    private long asyncRequestTimeoutMs;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(callerContextArgumentResolver);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
+}
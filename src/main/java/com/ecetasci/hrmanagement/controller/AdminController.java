@@ -3,25 +3,32 @@ package com.ecetasci.hrmanagement.controller;
 import com.ecetasci.hrmanagement.dto.request.*;
 import com.ecetasci.hrmanagement.dto.response.*;
 import com.ecetasci.hrmanagement.entity.Company;
-import com.ecetasci.hrmanagement.entity.Department;
-import com.ecetasci.hrmanagement.entity.LeaveType;
 import com.ecetasci.hrmanagement.enums.ResponseMessageEnum;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.security.LoginRateLimiter;
 import com.ecetasci.hrmanagement.service.DefinitionService;
+import com.ecetasci.hrmanagement.service.EmployeeDirectoryService;
+import com.ecetasci.hrmanagement.service.LeaveAccrualService;
+import com.ecetasci.hrmanagement.service.ListingService;
 import com.ecetasci.hrmanagement.service.SiteAdminService;
 import com.ecetasci.hrmanagement.service.UserService;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 
 import static com.ecetasci.hrmanagement.constant.Endpoints.ADMIN;
@@ -33,7 +40,9 @@ import static com.ecetasci.hrmanagement.constant.Endpoints.ADMIN;
  * - Üyelik planı (subscription) oluşturma
  * - Şirket başvurularını onaylama/reddetme
  * - Tanım (leave types, departments, positions) CRUD işlemleri
+ * - Uygulama içi cache ve login hız sınırı istatistikleri
  */
+@Slf4j
 @RestController
 @RequestMapping(ADMIN)
 @RequiredArgsConstructor
@@ -44,6 +53,11 @@ public class AdminController {
     private final SiteAdminService siteAdminService;
     private final DefinitionService definitionService;
     private final UserService userService;
+    private final CacheRegistry cacheRegistry;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ListingService listingService;
+    private final EmployeeDirectoryService employeeDirectoryService;
+    private final LeaveAccrualService leaveAccrualService;
 
 
     /**
@@ -66,16 +80,12 @@ public class AdminController {
         Pageable pageable = PageRequest.of(page, size, sort);
         Page<Company> companiesPage = companyRepository.findAll(pageable);
 
-        System.out.println(companiesPage);
-
         List<CompanyResponse> content = companiesPage.getContent().stream()
                 .map(company -> new CompanyResponse(company.getId(), company.getCompanyName(),
                         company.getCompanyEmail(), company.getPhoneNumber(), company.getAddress(), company.getTaxNumber(),
                         company.getWebsite(), company.getEmployeeCount(), company.getFoundedDate()))
                 .toList();
 
-        System.out.println(content);
-
         PagedResponse<CompanyResponse> pagedResponse = PagedResponse.<CompanyResponse>builder()
                 .content(content)
                 .page(companiesPage.getNumber())
@@ -93,6 +103,29 @@ public class AdminController {
                 .build());
     }
 
+    /**
+     * Şirketleri cursor ile sayfalar; sıralama index'li anahtarlardan biriyle yapılır.
+     *
+     * @param after        önceki yanıttaki {@code nextCursor} (ilk sayfa için boş)
+     * @param limit        sayfa boyutu
+     * @param sortBy       {@code id} veya {@code companyName}
+     * @param includeTotal yaklaşık toplam sayı istenirse true
+     */
+    @GetMapping("/list-company/cursor")
+    public ResponseEntity<BaseResponse<PagedResponse<CompanyResponse>>> getCompaniesByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        return ResponseEntity.ok(BaseResponse.<PagedResponse<CompanyResponse>>builder()
+                .success(true)
+                .code(200)
+                .message("Companies retrieved successfully")
+                .data(listingService.companiesAfter(after, limit, sortBy, includeTotal))
+                .build());
+    }
+
 
     /**
      * Yeni bir şirket başvurusu oluşturur.Admin onayına sunar. Aynı zamanda user oluşturarak,
@@ -108,7 +141,7 @@ public class AdminController {
             @Valid @RequestBody CompanyRequest companyRequest, RegisterCompanyManagerRequestDto registerCompanyManagerRequestDto) {
         CompanyResponse application = siteAdminService.createApplication(companyRequest);
         Long compId = application.id();
-        System.out.println(compId);
+        log.debug("company_application_created companyId={}", compId);
         registerCompanyManagerRequestDto.setCompanyId(compId);
         RegisterResponseDto registered = userService.registerForManager(registerCompanyManagerRequestDto);
 
@@ -190,19 +223,7 @@ public class AdminController {
      */
     @GetMapping("/definitions/leave-types")
     public ResponseEntity<BaseResponse<List<LeaveTypeResponseDto>>> getLeaveTypes(@RequestParam(required = false) Long id) {
-        List<LeaveType> leaveTypeList = definitionService.findAllLeaveTypes(id);
-
-        List<LeaveTypeResponseDto> dtoList = leaveTypeList.stream()
-                .map(lt -> new LeaveTypeResponseDto(
-                        lt.getId(),
-                        lt.getName(),
-                        lt.getDescription(),
-                        lt.getMaxDays(),
-                        // boolean getter olabilir getIsPaid() veya isPaid(); fallback handled at compile if mismatch
-                        lt.isPaid(),
-                        lt.getCompany() != null ? lt.getCompany().getId() : null
-                ))
-                .toList();
+        List<LeaveTypeResponseDto> dtoList = definitionService.findAllLeaveTypes(id);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(BaseResponse.<List<LeaveTypeResponseDto>>builder()
@@ -271,10 +292,7 @@ public class AdminController {
      */
     @GetMapping("/definitions/departments")
     public ResponseEntity<BaseResponse<List<DepartmentDto>>> getDepartments(@RequestParam Long id) {
-        List<Department> departmentList = definitionService.findAllDepartments(id);
-        List<DepartmentDto> departmantDtoList = departmentList.stream()
-                .map(department -> new DepartmentDto(department.getId(), department.getName(), department.getCompany().getCompanyName()))
-                .toList();
+        List<DepartmentDto> departmantDtoList = definitionService.findAllDepartments(id);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(BaseResponse.<List<DepartmentDto>>builder()
@@ -373,5 +391,74 @@ public class AdminController {
         definitionService.deletePosition(id);
     }
 
+    /**
+     * Uygulama içi cache'lerin boyut ve hit/miss istatistiklerini döner.
+     *
+     * @return Cache bazında CacheStats listesi
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<BaseResponse<List<TtlCache.CacheStats>>> getCacheStats() {
+        return ResponseEntity.ok(BaseResponse.<List<TtlCache.CacheStats>>builder()
+                .success(true)
+                .code(200)
+                .message("cache-stats")
+                .data(cacheRegistry.stats())
+                .build());
+    }
 
+    /**
+     * Login/forgot-password hız sınırlayıcısının kabul ve red sayaçlarını döner.
+     *
+     * @return LoginRateLimiter.Stats
+     */
+    @GetMapping("/rate-limit-stats")
+    public ResponseEntity<BaseResponse<LoginRateLimiter.Stats>> getRateLimitStats() {
+        return ResponseEntity.ok(BaseResponse.<LoginRateLimiter.Stats>builder()
+                .success(true)
+                .code(200)
+                .message("rate-limit-stats")
+                .data(loginRateLimiter.stats())
+                .build());
+    }
+
+    /**
+     * Çalışan arama dizininin boyutunu ve tahmini bellek kullanımını döner.
+     *
+     * @return EmployeeDirectoryService.DirectoryStats
+     */
+    @GetMapping("/search-index-stats")
+    public ResponseEntity<BaseResponse<EmployeeDirectoryService.DirectoryStats>> getSearchIndexStats() {
+        return ResponseEntity.ok(BaseResponse.<EmployeeDirectoryService.DirectoryStats>builder()
+                .success(true)
+                .code(200)
+                .message("search-index-stats")
+                .data(employeeDirectoryService.stats())
+                .build());
+    }
+
+    /**
+     * İzin tahakkukunu dönem için elle çalıştırır; yarıda kalmış bir çalışma kaldığı parçadan devam eder.
+     *
+     * @param period yyyy-MM (boşsa içinde bulunulan ay); gelecek aylar ve politika öncesi dönemler 400 döner
+     * @return LeaveAccrualRunResponse
+     */
+    @PostMapping("/leave-accrual/run")
+    public ResponseEntity<BaseResponse<LeaveAccrualRunResponse>> runLeaveAccrual(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        try {
+            return ResponseEntity.ok(BaseResponse.<LeaveAccrualRunResponse>builder()
+                    .success(true)
+                    .code(200)
+                    .message("leave-accrual")
+                    .data(leaveAccrualService.run(period != null ? period : leaveAccrualService.currentPeriod()))
+                    .build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(BaseResponse.<LeaveAccrualRunResponse>builder()
+                            .success(false)
+                            .code(409)
+                            .message(e.getMessage())
+                            .build());
+        }
+    }
 }
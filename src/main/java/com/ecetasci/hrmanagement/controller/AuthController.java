@@ -7,17 +7,20 @@ import com.ecetasci.hrmanagement.dto.request.RegisterCompanyManagerRequestDto;
 import com.ecetasci.hrmanagement.dto.response.LoginResponseDto;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
 import com.ecetasci.hrmanagement.enums.UserStatus;
-import com.ecetasci.hrmanagement.security.UserPrincipal;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
+import com.ecetasci.hrmanagement.security.ClientIpResolver;
+import com.ecetasci.hrmanagement.security.LoginRateLimiter;
 import com.ecetasci.hrmanagement.service.*;
 import com.ecetasci.hrmanagement.utility.JwtManager;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -45,9 +48,15 @@ public class AuthController {
     private final UserService userService;
     private final CompanyService companyService;
     private final EmployeeService employeeService;
-    private final AuthenticationManager authenticationManager;
     private final JwtManager jwtManager;
     private final PasswordEncoder passwordEncoder;
+    private final LoginService loginService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ClientIpResolver clientIpResolver;
+    private final UserTokenService userTokenService;
+    private final EmailService emailService;
+    private final TenantContext tenantContext;
+    private final LeaveAccrualService leaveAccrualService;
 
 
     /**
@@ -67,14 +76,15 @@ public class AuthController {
                     .message("Bu kullanıcı zaten kayıtlıdır")
                     .build());
         }
+            // Yönetici de şirketin çalışanıdır; abonelik çalışan limitine sayılır
+            tenantContext.requireSeats(dto.getCompanyId(), 1);
+
             User user = new User();
             user.setName(dto.getName());
             user.setEmail(dto.getEmail());
             user.setPassword(passwordEncoder.encode(dto.getPassword())); // şifre encode
             user.setRole(COMPANY_ADMIN);
-            user.setPasswordResetToken(jwtManager.generateToken(dto.getPassword()));
             user.setCreatedAt(LocalDateTime.now());
-            user.setEmailVerificationToken(jwtManager.generateToken(dto.getEmail()));
             user.setUserStatus(UserStatus.PENDING_EMAIL_VERIFICATION);
 
             User saved = userService.save(user);
@@ -86,12 +96,16 @@ public class AuthController {
             employee.setPassword(saved.getPassword());
             employee.setRole(saved.getRole());
             employee.setCompany(companyService.findById(dto.getCompanyId()));
+            employee.setLeaveBalance(leaveAccrualService.initialLeaveBalance(dto.getCompanyId()));
             employee.setCreatedAt(saved.getCreatedAt());
 
             employee.setEmployeeNumber(employeeService.generateEmployeeNumber());
 
             employeeService.save(employee);
 
+            emailService.sendVerificationEmail(saved.getEmail(),
+                    userTokenService.issue(saved, TokenPurpose.EMAIL_VERIFICATION));
+
             return ResponseEntity.ok(BaseResponse.<User>builder()
                     .success(true)
                     .code(201)
@@ -104,42 +118,19 @@ public class AuthController {
     /**
      * E-posta doğrulama token'ını alır ve kullanıcıyı aktif hale getirir.
      *
-     * @param token E-posta doğrulama amacı ile oluşturulmuş JWT token
+     * @param token E-posta ile gönderilen tek kullanımlık doğrulama token'ı
      * @return Başarı/başarısızlık bilgisini içeren BaseResponse
      */
     @PostMapping("/verify-email")
     public ResponseEntity<BaseResponse<String>> verifyEmail(@RequestParam String token, @RequestParam String email) {
         try {
-            String username = jwtManager.extractUsername(token);
-            if (username == null) {
-                return ResponseEntity.badRequest().body(BaseResponse.<String>builder()
-                        .success(false)
-                        .code(400)
-                        .message("Invalid token")
-                        .build());
-            }
-
-            UserDetails userDetails = new UserPrincipal(
-                    userService.findUserByEmail(email).orElseThrow(()->new RuntimeException("User not found")
-            ));
-
-            if (jwtManager.verifyToken(token, userDetails)) {
-                User user=userService.findUserByEmail(email).orElseThrow();
-                user.setUserStatus(UserStatus.ACTIVE);
-                userService.save(user);
-                         return ResponseEntity.ok(BaseResponse.<String>builder()
-                        .success(true)
-                        .code(200)
-                        .message("Email verified successfully")
-                        .data("Verified user: " + email)
-                        .build());
-            } else {
-                return ResponseEntity.badRequest().body(BaseResponse.<String>builder()
-                        .success(false)
-                        .code(400)
-                        .message("Token verification failed")
-                        .build());
-            }
+            userService.verifyEmail(token, email);
+            return ResponseEntity.ok(BaseResponse.<String>builder()
+                    .success(true)
+                    .code(200)
+                    .message("Email verified successfully")
+                    .data("Verified user: " + email)
+                    .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(BaseResponse.<String>builder()
                     .success(false)
@@ -156,39 +147,32 @@ public class AuthController {
      * @return Giriş başarılıysa JWT token ve kullanıcı bilgilerini içeren BaseResponse
      */
     @PostMapping("/login")
-    public ResponseEntity<BaseResponse<LoginResponseDto>> login(@RequestBody @Valid LoginRequestDto dto) {
-        var optUser = userService.findUserByEmail(dto.email());
-        if (optUser.isEmpty()) {
+    public ResponseEntity<BaseResponse<LoginResponseDto>> login(@RequestBody @Valid LoginRequestDto dto,
+                                                                HttpServletRequest request) {
+        // Limit aşıldıysa DB/BCrypt işi yapılmadan 429 döner
+        loginRateLimiter.check(dto.email(), clientIpResolver.resolve(request));
+        // Kullanıcı tek sorguyla okunur; BCrypt ayrı, sınırlı havuzda çalışır (doluysa 503 + Retry-After)
+        try {
+            LoginResponseDto loginResponseDto = loginService.login(dto);
+            return ResponseEntity.ok().body(BaseResponse.<LoginResponseDto>builder()
+                    .success(true)
+                    .code(200)
+                    .message("Login Successful")
+                    .data(loginResponseDto)
+                    .build());
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(404).body(BaseResponse.<LoginResponseDto>builder()
                     .success(false)
                     .code(404)
                     .message("User not found")
                     .build());
-        }
-        User user = optUser.get();
-        if (!UserStatus.ACTIVE.equals(user.getUserStatus())) {
+        } catch (ForbiddenException e) {
             return ResponseEntity.status(403).body(BaseResponse.<LoginResponseDto>builder()
                     .success(false)
                     .code(403)
                     .message("Email not verified")
                     .build());
-        }
-
-        try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(dto.email(),
-                    dto.password()));
-           String token = jwtManager.generateToken(dto.email());
-           LoginResponseDto loginResponseDto=new LoginResponseDto(token,user.getName(), user.getEmail(), user.getRole());
-
-            return ResponseEntity.ok().body(BaseResponse.<LoginResponseDto>builder()
-                    .success(true)
-                    .code(200)
-                    .message("Login Successful")
-                    .data(loginResponseDto)
-                    .build());
-        }
-        catch (Exception e) {
-            System.out.println("Login failed:"+e.getMessage());
+        } catch (UnauthorizedException e) {
             return ResponseEntity.badRequest().body(BaseResponse.<LoginResponseDto>builder()
                     .success(false)
                     .code(400)
@@ -204,11 +188,9 @@ public class AuthController {
      * @return İşlem sonucu mesajı içeren BaseResponse
      */
     @PostMapping("/forgot-password")
-    public ResponseEntity<BaseResponse<String>> forgotPassword(@RequestParam String email) {
-        String token = userService.generateResetToken(email);
-        User user = userService.findUserByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-        user.setPasswordResetToken(token);
-        userService.save(user);
+    public ResponseEntity<BaseResponse<String>> forgotPassword(@RequestParam String email, HttpServletRequest request) {
+        loginRateLimiter.check(email, clientIpResolver.resolve(request));
+        userService.generateResetToken(email);
 
         return ResponseEntity.ok(BaseResponse.<String>builder()
                 .success(true)
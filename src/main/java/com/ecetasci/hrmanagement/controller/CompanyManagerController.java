@@ -3,40 +3,54 @@ package com.ecetasci.hrmanagement.controller;
 
 import com.ecetasci.hrmanagement.dto.request.AssetRequestDto;
 import com.ecetasci.hrmanagement.dto.request.AssignAssetRequestDto;
+import com.ecetasci.hrmanagement.dto.request.EmployeeFacetFilter;
+import com.ecetasci.hrmanagement.dto.request.HolidayRequestDto;
 import com.ecetasci.hrmanagement.dto.request.RegisterEmployeeRequestDto;
 import com.ecetasci.hrmanagement.dto.response.AssetResponseDto;
 import com.ecetasci.hrmanagement.dto.response.BaseResponse;
 import com.ecetasci.hrmanagement.dto.response.EmployeeAssetResponseDto;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetResponse;
+import com.ecetasci.hrmanagement.dto.response.EmployeeImportReport;
 import com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto;
+import com.ecetasci.hrmanagement.dto.response.HolidayResponseDto;
 import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
 import com.ecetasci.hrmanagement.dto.response.LeaveResponseDto;
 import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceCalendarResponse;
 import com.ecetasci.hrmanagement.entity.Employee;
-import com.ecetasci.hrmanagement.entity.LeaveRequest;
+import com.ecetasci.hrmanagement.enums.ExportFormat;
+import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import com.ecetasci.hrmanagement.enums.UserStatus;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
-import com.ecetasci.hrmanagement.repository.UserRepository;
 import com.ecetasci.hrmanagement.service.*;
-import com.ecetasci.hrmanagement.mapper.LeaveMapper;
-import com.ecetasci.hrmanagement.utility.JwtManager;
-import jakarta.servlet.http.HttpServletRequest;
+import com.ecetasci.hrmanagement.security.CallerContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static com.ecetasci.hrmanagement.constant.Endpoints.MANAGER;
 
 import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
 import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
 
 
 /**
@@ -58,9 +72,13 @@ public class CompanyManagerController {
     private final EmployeeRepository employeeRepository;
     private final AssetService assetService;
     private final ExpenseService expenseService;
-    private final LeaveMapper leaveMapper; // added for mapping
-    private final JwtManager jwtManager;
-    private final UserRepository userRepository;
+    private final ListingService listingService;
+    private final EmployeeDirectoryService employeeDirectoryService;
+    private final EmployeeFacetService employeeFacetService;
+    private final EmployeeImportService employeeImportService;
+    private final ExportService exportService;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final TeamAbsenceCalendarService teamAbsenceCalendarService;
 
 
     /**
@@ -100,6 +118,75 @@ public class CompanyManagerController {
         }
     }
 
+    /**
+     * CSV'den toplu personel içe aktarır. İstek gövdesi akış olarak okunur (multipart değil, dosya belleğe
+     * alınmaz); hatalı satırlar atlanır ve satır numarasıyla raporlanır.
+     * Başlık: {@code name,email,password[,position,department,birthDate,hireDate,salary,phoneNumber,address,emergencyContact]}
+     *
+     * @param body CSV içeriği (UTF-8)
+     * @return içe aktarma özeti ve satır hataları
+     */
+    @PostMapping(value = "/employees/import", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<BaseResponse<EmployeeImportReport>> importEmployees(CallerContext caller,
+                                                                              InputStream body) throws IOException {
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(BaseResponse.<EmployeeImportReport>builder()
+                            .success(false)
+                            .code(403)
+                            .message("Erişim reddedildi")
+                            .build());
+        }
+
+        EmployeeImportReport report = employeeImportService.importCsv(companyId, body);
+        return ResponseEntity.ok(BaseResponse.<EmployeeImportReport>builder()
+                .success(report.failed() == 0)
+                .code(200)
+                .message("İçe aktarma tamamlandı: " + report.imported() + " eklendi, " + report.failed() + " hatalı")
+                .data(report)
+                .build());
+    }
+
+    /**
+     * Şirket çalışanlarını CSV veya NDJSON olarak akış halinde dışa aktarır; satırlar okundukça yazılır.
+     *
+     * @param format {@code CSV} (varsayılan) veya {@code NDJSON}
+     */
+    @GetMapping("/employees/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(CallerContext caller,
+                                                                 @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return streaming(format, "employees", out -> exportService.exportEmployees(companyId, format, out));
+    }
+
+    /**
+     * Şirketin tüm gider kayıtlarını CSV veya NDJSON olarak akış halinde dışa aktarır.
+     *
+     * @param format {@code CSV} (varsayılan) veya {@code NDJSON}
+     */
+    @GetMapping("/expenses/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(CallerContext caller,
+                                                                @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return streaming(format, "expenses", out -> exportService.exportExpenses(companyId, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(ExportFormat format, String baseName,
+                                                            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName(baseName)).build().toString())
+                .body(body);
+    }
+
     /**
      * Şirkete ait izin türlerini döner.
      *
@@ -114,7 +201,9 @@ public class CompanyManagerController {
                         lt.getDescription(),
                         lt.getMaxDays(),
                         lt.isPaid(),
-                        lt.getCompany() != null ? lt.getCompany().getId() : null
+                        lt.getCompany() != null ? lt.getCompany().getId() : null,
+                        lt.getAnnualAccrualDays(),
+                        lt.getCarryOverCap()
                 ))
                 .toList();
         return ResponseEntity.ok(dtos);
@@ -122,22 +211,36 @@ public class CompanyManagerController {
 
 
     /**
-     * Tüm izin taleplerini getirir.
+     * Şirketin izin taleplerini cursor ile sayfalar; çalışan ve izin tipi aynı sorguda okunur.
      *
-     * @return İzin talepleri DTO listesi
+     * @param status      izin durumu filtresi (isteğe bağlı)
+     * @param leaveTypeId izin tipi filtresi (isteğe bağlı)
+     * @param startDate   bu tarihten sonra biten talepler (isteğe bağlı)
+     * @param endDate     bu tarihten önce başlayan talepler (isteğe bağlı)
+     * @param after       önceki yanıttaki {@code nextCursor} (ilk sayfa için boş)
+     * @param limit       sayfa boyutu
      */
     @GetMapping("/leaves")
-    public ResponseEntity<List<LeaveResponseDto>> getAllLeaves(Long companyId) {
-        //önce şirketin çalışanlarını bul, sonra onların izin taleplerini topla
-        List<LeaveRequest> allLeaves = employeeRepository.findAllByCompanyId(companyId).stream()
-                .flatMap(emp -> emp.getLeaveRequests().stream())
-                .toList();
-
-        List<LeaveResponseDto> dtos = allLeaves.stream()
-                .map(leaveMapper::toDto)
-                .toList();
+    public ResponseEntity<BaseResponse<PagedResponse<LeaveResponseDto>>> getAllLeaves(
+            CallerContext caller,
+            @RequestParam(required = false) LeaveStatus status,
+            @RequestParam(required = false) Long leaveTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "25") int limit) {
+
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return forbidden();
+        }
 
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(BaseResponse.<PagedResponse<LeaveResponseDto>>builder()
+                .success(true)
+                .code(200)
+                .message("İzin talepleri listelendi")
+                .data(listingService.leavesAfter(companyId, status, leaveTypeId, startDate, endDate, after, limit))
+                .build());
     }
 
     /**
@@ -173,6 +276,121 @@ public class CompanyManagerController {
         return ResponseEntity.ok("Leave rejected");
     }
 
+    /**
+     * Şirketin tatillerini listeler (resmi tatiller hariç, onlar takvimde her zaman vardır).
+     */
+    @GetMapping("/holidays")
+    public ResponseEntity<BaseResponse<List<HolidayResponseDto>>> getHolidays(CallerContext caller) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(BaseResponse.<List<HolidayResponseDto>>builder()
+                .success(true)
+                .code(200)
+                .message("holidays")
+                .data(workingDayCalendarService.listHolidays(caller.companyId()))
+                .build());
+    }
+
+    /**
+     * Şirkete tatil ekler; çok günlü ve her yıl tekrarlanan tatiller desteklenir.
+     * Yıla göre kayan (dini) bayramlar her yıl için ayrı kayıt olarak girilir.
+     */
+    @PostMapping("/holidays")
+    public ResponseEntity<BaseResponse<HolidayResponseDto>> createHoliday(CallerContext caller,
+                                                                          @RequestBody @Valid HolidayRequestDto dto) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(BaseResponse.<HolidayResponseDto>builder()
+                .success(true)
+                .code(201)
+                .message("Holiday created")
+                .data(workingDayCalendarService.createHoliday(caller.companyId(), dto))
+                .build());
+    }
+
+    @PutMapping("/holidays/{id}")
+    public ResponseEntity<BaseResponse<HolidayResponseDto>> updateHoliday(CallerContext caller,
+                                                                          @PathVariable Long id,
+                                                                          @RequestBody @Valid HolidayRequestDto dto) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(BaseResponse.<HolidayResponseDto>builder()
+                .success(true)
+                .code(200)
+                .message("Holiday updated")
+                .data(workingDayCalendarService.updateHoliday(caller.companyId(), id, dto))
+                .build());
+    }
+
+    @DeleteMapping("/holidays/{id}")
+    public ResponseEntity<BaseResponse<Void>> deleteHoliday(CallerContext caller, @PathVariable Long id) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        workingDayCalendarService.deleteHoliday(caller.companyId(), id);
+        return ResponseEntity.ok(BaseResponse.<Void>builder()
+                .success(true)
+                .code(200)
+                .message("Holiday deleted")
+                .build());
+    }
+
+    /**
+     * Şirket takvimine göre iki tarih (dahil) arasındaki iş günü sayısı.
+     */
+    @GetMapping("/holidays/working-days")
+    public ResponseEntity<BaseResponse<Integer>> countWorkingDays(CallerContext caller,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        return ResponseEntity.ok(BaseResponse.<Integer>builder()
+                .success(true)
+                .code(200)
+                .message("working days")
+                .data(workingDayCalendarService.countWorkingDays(caller.companyId(), startDate, endDate))
+                .build());
+    }
+
+    /**
+     * Şirketin (veya bir departmanın) aylık izin takvimi: gün gün izinde olanlar ve çalışan sayısı.
+     *
+     * @param year       Yıl
+     * @param month      Ay (1-12)
+     * @param department Departman adı (boşsa tüm şirket)
+     */
+    @GetMapping("/team-calendar/{year}/{month}")
+    public ResponseEntity<BaseResponse<TeamAbsenceCalendarResponse>> getTeamCalendar(CallerContext caller,
+                                                                                     @PathVariable int year,
+                                                                                     @PathVariable int month,
+                                                                                     @RequestParam(required = false) String department) {
+        if (caller.companyId() == null) {
+            return forbidden();
+        }
+        if (month < 1 || month > 12) {
+            throw new ValidationException("month must be between 1 and 12");
+        }
+        return ResponseEntity.ok(BaseResponse.<TeamAbsenceCalendarResponse>builder()
+                .success(true)
+                .code(200)
+                .message("team calendar")
+                .data(teamAbsenceCalendarService.month(caller.companyId(), YearMonth.of(year, month), department))
+                .build());
+    }
+
+    private static <T> ResponseEntity<BaseResponse<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(BaseResponse.<T>builder()
+                        .success(false)
+                        .code(403)
+                        .message("Erişim reddedildi")
+                        .build());
+    }
+
 
     /**
      * Tüm zimmetleri listeler.
@@ -181,12 +399,10 @@ public class CompanyManagerController {
      * @return Asset DTO listesi
      */
     @GetMapping("/assets")
-    public ResponseEntity<BaseResponse<List<AssetResponseDto>>> getAllAssets(HttpServletRequest request) {
+    public ResponseEntity<BaseResponse<List<AssetResponseDto>>> getAllAssets(CallerContext caller) {
         try {
-            //HttpServletRequest, servlet API'sinden gelen bir arayüzdür ve gelen HTTP isteğini (header, query/body parametreleri,
-            // method, URI, session, client IP vb.) temsil eder. Spring MVC içinde controller metoduna parametre olarak geçirilebilir
-            // ve istekten veri okumak için kullanılır
-            List<AssetResponseDto> assets = assetService.getAssetsForCaller(request);
+            // CallerContext, token claim'lerinden CallerContextArgumentResolver ile doldurulur (DB sorgusu yok)
+            List<AssetResponseDto> assets = assetService.getAssetsForCaller(caller);
             return ResponseEntity.ok(BaseResponse.<List<AssetResponseDto>>builder()
                     .success(true)
                     .code(200)
@@ -217,8 +433,8 @@ public class CompanyManagerController {
      * @return Oluşturulan zimmet DTO
      */
     @PostMapping("/assets")
-    public ResponseEntity<BaseResponse<AssetResponseDto>> createAsset(@RequestBody @Valid AssetRequestDto dto, HttpServletRequest request) {
-        Long callerCompanyId = resolveCallerCompanyId(request);
+    public ResponseEntity<BaseResponse<AssetResponseDto>> createAsset(@RequestBody @Valid AssetRequestDto dto, CallerContext caller) {
+        Long callerCompanyId = caller.companyId();
         if (callerCompanyId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<AssetResponseDto>builder().success(false).code(401).message("Unauthorized").build());
@@ -247,8 +463,8 @@ public class CompanyManagerController {
     @PutMapping("/assets/{id}")
     public ResponseEntity<BaseResponse<AssetResponseDto>> updateAsset(@PathVariable Long id,
                                                                       @RequestBody @Valid AssetRequestDto dto,
-                                                                      HttpServletRequest request) {
-        Long callerCompanyId = resolveCallerCompanyId(request);
+                                                                      CallerContext caller) {
+        Long callerCompanyId = caller.companyId();
         if (callerCompanyId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<AssetResponseDto>builder().success(false).code(401).message("Unauthorized").build());
@@ -283,8 +499,8 @@ public class CompanyManagerController {
      * @return Başarı mesajı
      */
     @DeleteMapping("/assets/{id}")
-    public ResponseEntity<BaseResponse<String>> deleteAsset(@PathVariable Long id, HttpServletRequest request) {
-        Long callerCompanyId = resolveCallerCompanyId(request);
+    public ResponseEntity<BaseResponse<String>> deleteAsset(@PathVariable Long id, CallerContext caller) {
+        Long callerCompanyId = caller.companyId();
         if (callerCompanyId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<String>builder().success(false).code(401).message("Unauthorized").build());
@@ -347,35 +563,13 @@ public class CompanyManagerController {
                 .build());
     }
 
-    //// Çağıran kullanıcının şirket ID'sini çözümler
-
-    private Long resolveCallerCompanyId(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization");
-        if (auth == null || !auth.startsWith("Bearer ")) return null;
-        String token = auth.substring(7);
-        String username;
-        try {
-            username = jwtManager.extractUsername(token);
-        } catch (Exception e) {
-            return null;
-        }
-        if (username == null) return null;
-        // find user by email
-        var userOpt = userRepository.findUserByEmail(username);
-        if (userOpt.isEmpty()) return null;
-        var user = userOpt.get();
-        // find employee by user id to get company
-        var empOpt = employeeRepository.findByUserId(user.getId());
-        return empOpt.map(emp -> emp.getCompany() != null ? emp.getCompany().getId() : null).orElse(null);
-    }
-
     @GetMapping("/employees")
     public ResponseEntity<BaseResponse<List<EmployeeResponseDto>>> listEmployees(
-            HttpServletRequest request,
+            CallerContext caller,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "25") int size) {
 
-        Long companyId = resolveCallerCompanyId(request);
+        Long companyId = caller.companyId();
         if (companyId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(BaseResponse.<List<EmployeeResponseDto>>builder()
@@ -385,17 +579,9 @@ public class CompanyManagerController {
                             .build());
         }
 
-        var pageResult = employeeRepository.findAllByCompanyId(companyId, PageRequest.of(page, size));
-
-        List<EmployeeResponseDto> dtos = pageResult.getContent().stream()
-                .map(emp -> new EmployeeResponseDto(
-                        emp.getId(),
-                        emp.getEmployeeNumber(),
-                        emp.getName(),
-                        emp.getEmail(),
-                        emp.getPosition(),
-                        emp.getDepartment()))
-                .toList();
+        List<EmployeeResponseDto> dtos = employeeRepository
+                .findSummariesByCompanyId(companyId, PageRequest.of(page, size))
+                .getContent();
 
         return ResponseEntity.ok(BaseResponse.<List<EmployeeResponseDto>>builder()
                 .success(true)
@@ -405,13 +591,113 @@ public class CompanyManagerController {
                 .build());
     }
 
+    /**
+     * Şirket çalışanlarını cursor ile sayfalar; derin sayfalarda da sabit maliyetlidir.
+     *
+     * @param after        önceki yanıttaki {@code nextCursor} (ilk sayfa için boş)
+     * @param limit        sayfa boyutu
+     * @param includeTotal yaklaşık toplam sayı istenirse true
+     */
+    @GetMapping("/employees/cursor")
+    public ResponseEntity<BaseResponse<PagedResponse<EmployeeResponseDto>>> listEmployeesByCursor(
+            CallerContext caller,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "25") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(BaseResponse.<PagedResponse<EmployeeResponseDto>>builder()
+                            .success(false)
+                            .code(403)
+                            .message("Erişim reddedildi")
+                            .build());
+        }
+
+        return ResponseEntity.ok(BaseResponse.<PagedResponse<EmployeeResponseDto>>builder()
+                .success(true)
+                .code(200)
+                .message("Çalışanlar listelendi")
+                .data(listingService.employeesAfter(companyId, after, limit, includeTotal))
+                .build());
+    }
+
+    /**
+     * Şirket çalışanlarında isim, e-posta veya personel numarasına göre anlık arama (search-as-you-type).
+     * Sonuçlar eşleşme kalitesine göre sıralanır.
+     *
+     * @param q    aranan metin (aksan ve büyük/küçük harf duyarsız)
+     * @param page sayfa numarası
+     * @param size sayfa boyutu
+     */
+    @GetMapping("/employees/search")
+    public ResponseEntity<BaseResponse<PagedResponse<EmployeeResponseDto>>> searchEmployees(
+            CallerContext caller,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(BaseResponse.<PagedResponse<EmployeeResponseDto>>builder()
+                            .success(false)
+                            .code(403)
+                            .message("Erişim reddedildi")
+                            .build());
+        }
+
+        return ResponseEntity.ok(BaseResponse.<PagedResponse<EmployeeResponseDto>>builder()
+                .success(true)
+                .code(200)
+                .message("Çalışanlar listelendi")
+                .data(employeeDirectoryService.search(companyId, q, page, size))
+                .build());
+    }
+
+    /**
+     * Çalışanları departman, pozisyon, işe giriş yılı aralığı ve kullanıcı durumuna göre filtreler;
+     * aynı çağrıda her facet için değer sayılarını da döner.
+     * Aynı parametre birden çok verilirse değerler OR, farklı parametreler AND ile birleşir.
+     */
+    @GetMapping("/employees/facets")
+    public ResponseEntity<BaseResponse<EmployeeFacetResponse>> filterEmployees(
+            CallerContext caller,
+            @RequestParam(required = false) Set<String> department,
+            @RequestParam(required = false) Set<String> position,
+            @RequestParam(required = false) Integer hireYearFrom,
+            @RequestParam(required = false) Integer hireYearTo,
+            @RequestParam(required = false) Set<UserStatus> status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Long companyId = caller.companyId();
+        if (companyId == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(BaseResponse.<EmployeeFacetResponse>builder()
+                            .success(false)
+                            .code(403)
+                            .message("Erişim reddedildi")
+                            .build());
+        }
+
+        EmployeeFacetFilter filter = new EmployeeFacetFilter(department, position, hireYearFrom, hireYearTo, status);
+        return ResponseEntity.ok(BaseResponse.<EmployeeFacetResponse>builder()
+                .success(true)
+                .code(200)
+                .message("Çalışanlar listelendi")
+                .data(employeeFacetService.filter(companyId, filter, page, size))
+                .build());
+    }
+
     @PutMapping("/employees/{id}")
     public ResponseEntity<BaseResponse<EmployeeResponseDto>> updateEmployee(
             @PathVariable Long id,
             @RequestBody RegisterEmployeeRequestDto dto,
-            HttpServletRequest request) {
+            CallerContext caller) {
 
-        Long callerCompanyId = resolveCallerCompanyId(request);
+        Long callerCompanyId = caller.companyId();
         if (callerCompanyId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(BaseResponse.<EmployeeResponseDto>builder()
@@ -466,16 +752,16 @@ public class CompanyManagerController {
     }
 
     // returns true when caller is NOT in same company as target
-    private boolean callerNotInSameCompany(Employee target, HttpServletRequest request) {
-        Long callerCompanyId = resolveCallerCompanyId(request);
+    private boolean callerNotInSameCompany(Employee target, CallerContext caller) {
+        Long callerCompanyId = caller.companyId();
         Long targetCompanyId = target.getCompany() != null ? target.getCompany().getId() : null;
         return !Objects.equals(callerCompanyId, targetCompanyId);
     }
 
     @DeleteMapping("/employees/{id}")
-    public ResponseEntity<BaseResponse<String>> deleteEmployee(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<BaseResponse<String>> deleteEmployee(@PathVariable Long id, CallerContext caller) {
         var target = fetchEmployeeOrThrow(id);
-        if (callerNotInSameCompany(target, request)) {
+        if (callerNotInSameCompany(target, caller)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(BaseResponse.<String>builder()
                             .success(false)
@@ -495,9 +781,9 @@ public class CompanyManagerController {
     @Deprecated
     @PutMapping("/employees/{id}/activate")
     public ResponseEntity<BaseResponse<EmployeeResponseDto>> activateEmployee(@PathVariable Long id, @RequestParam(
-            defaultValue = "true") boolean active, HttpServletRequest request) {
+            defaultValue = "true") boolean active, CallerContext caller) {
         var target = fetchEmployeeOrThrow(id);
-        if (callerNotInSameCompany(target, request)) {
+        if (callerNotInSameCompany(target, caller)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(BaseResponse.<EmployeeResponseDto>builder().success(false).code(403).message("Access denied").build());
         }
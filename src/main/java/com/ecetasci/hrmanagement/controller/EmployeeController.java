@@ -7,14 +7,11 @@ import com.ecetasci.hrmanagement.dto.response.EmployeeAssetResponseDto;
 import com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto;
 import com.ecetasci.hrmanagement.dto.response.LeaveResponseDto;
 import com.ecetasci.hrmanagement.mapper.LeaveMapper;
+import com.ecetasci.hrmanagement.security.CallerContext;
 import com.ecetasci.hrmanagement.service.AssetService;
 import com.ecetasci.hrmanagement.service.ExpenseService;
 import com.ecetasci.hrmanagement.service.LeaveService;
-import com.ecetasci.hrmanagement.utility.JwtManager;
-import com.ecetasci.hrmanagement.repository.UserRepository;
-import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -42,9 +39,6 @@ public class EmployeeController {
     private final AssetService assetService;
     private final LeaveMapper leaveMapper;
     private final ExpenseService expenseService;
-    private final JwtManager jwtManager;
-    private final UserRepository userRepository;
-    private final EmployeeRepository employeeRepository;
 
     /**
      * Yeni bir izin talebi oluşturur.
@@ -65,8 +59,8 @@ public class EmployeeController {
      */
     @GetMapping("/list-assets")
     public ResponseEntity<BaseResponse<List<EmployeeAssetResponseDto>>> getEmployeeAssets(
-            HttpServletRequest request) {
-        Long employeeId = resolveCallerEmployeeId(request);
+            CallerContext caller) {
+        Long employeeId = caller.employeeId();
         if (employeeId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<List<EmployeeAssetResponseDto>>builder()
@@ -92,8 +86,8 @@ public class EmployeeController {
     @PutMapping("/assets/{assignmentId}/confirm")
     public ResponseEntity<BaseResponse<EmployeeAssetResponseDto>> confirmAsset(
             @PathVariable Long assignmentId,
-            HttpServletRequest request) {
-        Long employeeId = resolveCallerEmployeeId(request);
+            CallerContext caller) {
+        Long employeeId = caller.employeeId();
         if (employeeId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<EmployeeAssetResponseDto>builder()
@@ -147,8 +141,8 @@ public class EmployeeController {
     public ResponseEntity<BaseResponse<EmployeeAssetResponseDto>> rejectAsset(
             @PathVariable Long assignmentId,
             @RequestBody @Valid RejectAssetRequestDto dto,
-            HttpServletRequest request) {
-        Long employeeId = resolveCallerEmployeeId(request);
+            CallerContext caller) {
+        Long employeeId = caller.employeeId();
         if (employeeId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<EmployeeAssetResponseDto>builder()
@@ -202,8 +196,8 @@ public class EmployeeController {
     @Deprecated
     @GetMapping("/expenses")
     public ResponseEntity<BaseResponse<List<ExpenseResponseDto>>> getExpenses(
-            HttpServletRequest request) {
-        Long employeeId = resolveCallerEmployeeId(request);
+            CallerContext caller) {
+        Long employeeId = caller.employeeId();
         if (employeeId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(BaseResponse.<List<ExpenseResponseDto>>builder()
@@ -221,24 +215,4 @@ public class EmployeeController {
                 .data(employeeExpenses)
                 .build());
     }
-
-    // helper to resolve caller's employee id from Authorization header (JWT)
-    private Long resolveCallerEmployeeId(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization");
-        if (auth == null || !auth.startsWith("Bearer ")) return null;
-        String token = auth.substring(7);
-        String username;
-        try {
-            username = jwtManager.extractUsername(token);
-        } catch (Exception e) {
-            return null;
-        }
-        if (username == null) return null;
-        var userOpt = userRepository.findUserByEmail(username);
-        if (userOpt.isEmpty()) return null;
-        var user = userOpt.get();
-        var empOpt = employeeRepository.findByUserId(user.getId());
-        return empOpt.map(emp -> emp.getId()).orElse(null);
-    }
-
 }
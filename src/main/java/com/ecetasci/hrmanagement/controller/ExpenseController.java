@@ -4,10 +4,10 @@ import com.ecetasci.hrmanagement.dto.request.ExpenseCreateRequest;
 import com.ecetasci.hrmanagement.dto.response.ExpenseDocumentResponseDto;
 import com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto;
 import com.ecetasci.hrmanagement.entity.ExpenseDocument;
+import com.ecetasci.hrmanagement.security.CallerContext;
 import com.ecetasci.hrmanagement.service.ExpenseDocumentService;
 import com.ecetasci.hrmanagement.service.ExpenseService;
 import jakarta.validation.Valid;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -38,9 +38,6 @@ public class ExpenseController {
 
     private final ExpenseService expenseService;
     private final ExpenseDocumentService expenseDocumentService;
-    private final com.ecetasci.hrmanagement.utility.JwtManager jwtManager;
-    private final com.ecetasci.hrmanagement.repository.UserRepository userRepository;
-    private final com.ecetasci.hrmanagement.repository.EmployeeRepository employeeRepository;
 
 
     /**
@@ -48,8 +45,8 @@ public class ExpenseController {
      * Başka bir employee'nin giderlerine erişim bu endpoint üzerinden sağlanmaz.
      */
     @GetMapping("/employee/expenses")
-    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<List<ExpenseResponseDto>>> getEmployeeExpenses(HttpServletRequest request) {
-        Long callerEmployeeId = resolveCallerEmployeeId(request);
+    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<List<ExpenseResponseDto>>> getEmployeeExpenses(CallerContext caller) {
+        Long callerEmployeeId = caller.employeeId();
         if (callerEmployeeId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(com.ecetasci.hrmanagement.dto.response.BaseResponse.<List<ExpenseResponseDto>>builder()
@@ -68,44 +65,6 @@ public class ExpenseController {
                 .build());
     }
 
-    // Resolve caller employee id from Authorization header using JwtManager and repositories
-    private Long resolveCallerEmployeeId(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization");
-        if (auth == null) {
-            return null;
-        }
-        if (!auth.startsWith("Bearer ")) {
-            return null;
-        }
-
-        String token = auth.substring(7);
-        String username;
-        try {
-            username = jwtManager.extractUsername(token);
-        } catch (Exception e) {
-            return null;
-        }
-
-        if (username == null) {
-            return null;
-        }
-
-        java.util.Optional<com.ecetasci.hrmanagement.entity.User> userOpt = userRepository.findUserByEmail(username);
-        if (userOpt.isEmpty()) {
-            return null;
-        }
-
-        com.ecetasci.hrmanagement.entity.User user = userOpt.get();
-        java.util.Optional<com.ecetasci.hrmanagement.entity.Employee> empOpt = employeeRepository.findByUserId(user.getId());
-        if (empOpt.isEmpty()) {
-            return null;
-        }
-
-        com.ecetasci.hrmanagement.entity.Employee emp = empOpt.get();
-        return emp.getId();
-    }
-
-
     /**
      * Yeni gider oluşturur.
      *
@@ -113,9 +72,9 @@ public class ExpenseController {
      * @return Oluşturulan gider DTO
      */
     @PostMapping("/employee/create-expense")
-    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<ExpenseResponseDto>> createExpense(HttpServletRequest request,
+    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<ExpenseResponseDto>> createExpense(CallerContext caller,
                                                                                                                    @Valid @RequestBody ExpenseCreateRequest dto) {
-        Long callerEmployeeId = resolveCallerEmployeeId(request);
+        Long callerEmployeeId = caller.employeeId();
         if (callerEmployeeId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(com.ecetasci.hrmanagement.dto.response.BaseResponse.<ExpenseResponseDto>builder()
@@ -184,8 +143,8 @@ public class ExpenseController {
      * @return ExpenseResponseDto listesi
      */
     @GetMapping("/company/expenses")
-    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<List<ExpenseResponseDto>>> getCompanyExpenses(HttpServletRequest request) {
-        Long callerCompanyId = resolveCallerCompanyId(request);
+    public ResponseEntity<com.ecetasci.hrmanagement.dto.response.BaseResponse<List<ExpenseResponseDto>>> getCompanyExpenses(CallerContext caller) {
+        Long callerCompanyId = caller.companyId();
         if (callerCompanyId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(com.ecetasci.hrmanagement.dto.response.BaseResponse.<List<ExpenseResponseDto>>builder()
@@ -204,50 +163,6 @@ public class ExpenseController {
                 .build());
     }
 
-    // Resolve caller company id from Authorization header using JwtManager and repositories
-    private Long resolveCallerCompanyId(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization"); // Bearer token
-        if (auth == null) {
-            return null; // no auth header
-        }
-        if (!auth.startsWith("Bearer ")) {
-            return null; // invalid format
-        }
-
-        String token = auth.substring(7); // extract token after 'Bearer '
-
-        String username;
-        try {
-            username = jwtManager.extractUsername(token);
-        } catch (Exception e) {
-            // token parsing failed
-            return null;
-        }
-
-        if (username == null) {
-            return null;
-        }
-
-        java.util.Optional<com.ecetasci.hrmanagement.entity.User> userOpt = userRepository.findUserByEmail(username);
-        if (userOpt.isEmpty()) {
-            return null; // no user found for username
-        }
-
-        com.ecetasci.hrmanagement.entity.User user = userOpt.get();
-        java.util.Optional<com.ecetasci.hrmanagement.entity.Employee> empOpt = employeeRepository.findByUserId(user.getId());
-        if (empOpt.isEmpty()) {
-            return null; // no employee associated with this user
-        }
-
-        com.ecetasci.hrmanagement.entity.Employee emp = empOpt.get();
-        if (emp.getCompany() == null) {
-            return null; // employee has no company
-        }
-
-        return emp.getCompany().getId();
-    }
-
-
     /**
      * Gideri onaylar (company tarafı).
      *
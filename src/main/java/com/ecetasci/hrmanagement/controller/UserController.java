@@ -5,16 +5,19 @@ import com.ecetasci.hrmanagement.dto.request.RegisterRequestDto;
 import com.ecetasci.hrmanagement.dto.request.UpdateUserRequestDto;
 import com.ecetasci.hrmanagement.dto.response.BaseResponse;
 import com.ecetasci.hrmanagement.dto.response.LoginResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
 import com.ecetasci.hrmanagement.dto.response.RegisterResponseDto;
 import com.ecetasci.hrmanagement.dto.response.UserResponse;
 import com.ecetasci.hrmanagement.entity.User;
 import com.ecetasci.hrmanagement.enums.UserStatus;
 import com.ecetasci.hrmanagement.repository.UserRepository;
 import com.ecetasci.hrmanagement.service.EmailService;
+import com.ecetasci.hrmanagement.service.ListingService;
 import com.ecetasci.hrmanagement.service.UserService;
 import com.ecetasci.hrmanagement.utility.JwtManager;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -40,12 +43,14 @@ import static com.ecetasci.hrmanagement.constant.Endpoints.USER;
  * - Kullanıcı profil güncelleme
  * - E-posta doğrulama (verify)
  */
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(USER)
 public class UserController {
     private final UserService userService;
     private final EmailService emailService;
+    private final ListingService listingService;
 
 
     /**
@@ -65,6 +70,26 @@ public class UserController {
 
     }
 
+    /**
+     * Kullanıcıları cursor ile sayfalar (COUNT sorgusu olmadan).
+     *
+     * @param after        önceki yanıttaki {@code nextCursor} (ilk sayfa için boş)
+     * @param limit        sayfa boyutu
+     * @param includeTotal yaklaşık toplam sayı istenirse true
+     */
+    @GetMapping("/find-all/cursor")
+    public ResponseEntity<BaseResponse<PagedResponse<UserResponse>>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "25") int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        return ResponseEntity.ok(BaseResponse.<PagedResponse<UserResponse>>builder()
+                .success(true)
+                .code(200)
+                .message("user-list")
+                .data(listingService.usersAfter(after, limit, includeTotal)).build());
+    }
+
 
     /**
      * Kullanıcı adlarına göre arama yapar (çoklu sonuç dönebilir).
@@ -102,7 +127,7 @@ public class UserController {
     @PostMapping("/register")
     public ResponseEntity<BaseResponse<RegisterResponseDto>> register(@RequestBody @Valid RegisterRequestDto dto, Long companyId) {
 
-        System.out.println("register metodu tetiklendi.");
+        log.debug("user_register role={}", dto.role());
         RegisterResponseDto registeredUser = userService.register(dto);
        // emailService.send(dto.email(), "kayıt", "user kaydedildi");
         return ResponseEntity.ok(
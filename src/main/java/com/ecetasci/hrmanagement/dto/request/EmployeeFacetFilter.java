@@ -0,0 +1,16 @@
+package com.ecetasci.hrmanagement.dto.request;
+
+import com.ecetasci.hrmanagement.enums.UserStatus;
+
+import java.util.Set;
+
+/**
+ * Çalışan listesi facet filtresi. Aynı facet içindeki değerler OR, farklı facet'ler AND ile birleşir;
+ * boş/null facet filtrelemez. İşe giriş yılı aralığı iki uçta da dahildir.
+ */
+public record EmployeeFacetFilter(Set<String> departments,
+                                  Set<String> positions,
+                                  Integer hireYearFrom,
+                                  Integer hireYearTo,
+                                  Set<UserStatus> statuses) {
+}
@@ -0,0 +1,19 @@
+package com.ecetasci.hrmanagement.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record HolidayRequestDto(
+        @NotBlank(message = "Holiday name cannot be blank")
+        String name,
+
+        @NotNull(message = "Start date is required")
+        LocalDate startDate,
+
+        @NotNull(message = "End date is required")
+        LocalDate endDate,
+
+        Boolean recurring
+) {}
@@ -1,4 +1,10 @@
 package com.ecetasci.hrmanagement.dto.request;
 
-public record LeaveTypeRequest(Long companyId, String name, String description,Boolean isPaid, Integer maxDay) {
+public record LeaveTypeRequest(Long companyId, String name, String description, Boolean isPaid, Integer maxDay,
+                               Integer annualAccrualDays, Integer carryOverCap) {
+
+    // Tahakkuk politikası olmayan izin tipi
+    public LeaveTypeRequest(Long companyId, String name, String description, Boolean isPaid, Integer maxDay) {
+        this(companyId, name, description, isPaid, maxDay, null, null);
+    }
 }
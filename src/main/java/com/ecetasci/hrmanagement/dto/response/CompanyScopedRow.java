@@ -0,0 +1,11 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+/**
+ * Şirket bazlı bellek içi index'leri besleyen satırların ortak alanları.
+ */
+public interface CompanyScopedRow {
+
+    Long companyId();
+
+    Long id();
+}
@@ -0,0 +1,4 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+public record DepartmentHeadcount(String department, long count) {
+}
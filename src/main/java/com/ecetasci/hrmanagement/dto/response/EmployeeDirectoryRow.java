@@ -0,0 +1,17 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+/**
+ * Çalışan dizini index'ini beslemek için okunan satır (entity yüklemeden projection).
+ */
+public record EmployeeDirectoryRow(Long companyId,
+                                   Long id,
+                                   String employeeNumber,
+                                   String name,
+                                   String email,
+                                   String position,
+                                   String department) implements CompanyScopedRow {
+
+    public EmployeeResponseDto toResponse() {
+        return new EmployeeResponseDto(id, employeeNumber, name, email, position, department);
+    }
+}
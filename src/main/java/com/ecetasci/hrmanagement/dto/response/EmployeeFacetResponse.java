@@ -0,0 +1,12 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import java.util.Map;
+
+/**
+ * Filtrelenmiş çalışan sayfası ve facet başına değer -> sayı tablosu.
+ * Bir facet'in sayıları o facet hariç diğer filtreler uygulanarak hesaplanır (seçim yapılınca diğer
+ * seçenekler kaybolmaz).
+ */
+public record EmployeeFacetResponse(PagedResponse<EmployeeResponseDto> employees,
+                                    Map<String, Map<String, Integer>> facets) {
+}
@@ -0,0 +1,16 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import com.ecetasci.hrmanagement.enums.UserStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Facet index'ini beslemek için okunan satır (entity yüklemeden projection).
+ */
+public record EmployeeFacetRow(Long companyId,
+                               Long id,
+                               String department,
+                               String position,
+                               LocalDate hireDate,
+                               UserStatus userStatus) implements CompanyScopedRow {
+}
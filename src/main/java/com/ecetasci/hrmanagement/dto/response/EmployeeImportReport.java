@@ -0,0 +1,14 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import java.util.List;
+
+/**
+ * Toplu personel içe aktarma sonucu. {@code errors} en fazla yapılandırılan sayıda satır hatası taşır;
+ * daha fazlası varsa {@code errorsTruncated} true olur ({@code failed} her zaman tam sayıdır).
+ */
+public record EmployeeImportReport(int totalRows, int imported, int failed, long elapsedMillis,
+                                   List<RowError> errors, boolean errorsTruncated) {
+
+    public record RowError(long line, String email, String message) {
+    }
+}
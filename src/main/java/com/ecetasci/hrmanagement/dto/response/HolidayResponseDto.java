@@ -0,0 +1,6 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import java.time.LocalDate;
+
+public record HolidayResponseDto(Long id, String name, LocalDate startDate, LocalDate endDate, boolean recurring) {
+}
@@ -0,0 +1,13 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+/**
+ * Bir tahakkuk çalışmasının özeti; parça bazında ayrıntı {@code leave_accrual_audit} tablosundadır.
+ */
+public record LeaveAccrualRunResponse(
+        String period,
+        int carryOverChunks,
+        long carryOverRows,
+        int accrualChunks,
+        long accrualRows,
+        long durationMs
+) {}
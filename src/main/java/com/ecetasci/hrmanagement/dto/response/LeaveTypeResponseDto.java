@@ -6,6 +6,7 @@ public record LeaveTypeResponseDto(
         String description,
         Integer maxDays,
         boolean isPaid,
-        Long companyId
+        Long companyId,
+        Integer annualAccrualDays,
+        Integer carryOverCap
 ) {}
-
@@ -18,4 +18,9 @@ public class PagedResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+
+    // Keyset sayfalama: sonraki sayfa için opak cursor (son sayfada null)
+    private String nextCursor;
+    // İstenirse yaklaşık toplam kayıt sayısı (kısa süre cache'lenir); istenmezse null
+    private Long approximateTotal;
 }
@@ -0,0 +1,28 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Şirketin (veya bir departmanın) aylık izin takvimi: her gün kimlerin izinde olduğu ve kaç kişinin
+ * çalıştığı.
+ */
+public record TeamAbsenceCalendarResponse(String month,
+                                          String department,
+                                          long teamSize,
+                                          List<Day> days) {
+
+    public record Day(LocalDate date,
+                      boolean workingDay,
+                      int absentCount,
+                      long availableCount,
+                      List<Absence> absent) {
+    }
+
+    public record Absence(Long employeeId,
+                          String employeeNumber,
+                          String name,
+                          String department,
+                          String leaveType) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecetasci.hrmanagement.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * Ekip izin takvimi kurulumu için onaylı izin satırı (projection); entity yüklenmez.
+ */
+public record TeamAbsenceRow(Long leaveRequestId,
+                             Long employeeId,
+                             String employeeNumber,
+                             String name,
+                             String department,
+                             String leaveType,
+                             LocalDate startDate,
+                             LocalDate endDate) {
+}
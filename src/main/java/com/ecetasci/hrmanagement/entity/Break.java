@@ -15,7 +15,8 @@ import java.time.LocalTime;
 public class Break {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "break_seq")
+    @SequenceGenerator(name = "break_seq", sequenceName = "break_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "company")
+@Table(name = "company", indexes = {
+        @Index(name = "idx_company_name_id", columnList = "company_name, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +19,8 @@ import java.util.List;
 public class Company extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_seq")
+    @SequenceGenerator(name = "company_seq", sequenceName = "company_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
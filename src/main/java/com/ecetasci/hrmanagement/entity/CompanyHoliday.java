@@ -0,0 +1,38 @@
+package com.ecetasci.hrmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Şirkete özel tatil (çok günlü olabilir, iki uç dahil). {@code recurring} ise başlangıç yılından itibaren
+ * her yıl aynı tarihlerde tekrarlanır; yıla göre kayan dini bayramlar her yıl ayrı kayıt olarak girilir.
+ */
+@Entity
+@Table(name = "company_holiday", indexes = {
+        @Index(name = "idx_company_holiday_company", columnList = "company_id, start_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompanyHoliday extends BaseEntity {
+
+    @Column(nullable = false, length = 150)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private boolean recurring;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+}
@@ -15,7 +15,8 @@ import lombok.*;
 public class CompanyReview {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_review_seq")
+    @SequenceGenerator(name = "company_review_seq", sequenceName = "company_review_seq", allocationSize = 50)
     private Long id;
 
 
@@ -18,7 +18,8 @@ import java.time.LocalDate;
 public class CompanySubscription extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_subscription_seq")
+    @SequenceGenerator(name = "company_subscription_seq", sequenceName = "company_subscription_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
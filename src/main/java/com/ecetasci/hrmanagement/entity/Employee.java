@@ -8,9 +8,12 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_company_id_id", columnList = "company_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +21,8 @@ import java.util.List;
 @Builder
 public class Employee extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -71,10 +75,17 @@ public class Employee extends BaseEntity{
     @Column(nullable = false)
     private String password;
 
+    // Tahakkuk eden izin tipi olan şirketlerde oluşturma yolları 0 verir (LeaveAccrualService.initialLeaveBalance)
     @Column(nullable = false)
     @Builder.Default
     private Integer leaveBalance = 15;
 
+    // Optimistic lock: bayat okunup kaydedilen çalışan OptimisticLockException alır. Bakiye düşümü gibi
+    // toplu update'ler de sürümü artırır. Mevcut satırlar / JDBC import için veritabanı varsayılanı 0.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL)
     private List<LeaveRequest> leaveRequests;
 
@@ -82,5 +93,15 @@ public class Employee extends BaseEntity{
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL)
     private List<Expense> expenses;
 
+    // Personel numarası her zaman kanonik biçimde saklanır; aramalar unique index üzerinden tek eşitlik sorgusudur
+    @PrePersist
+    @PreUpdate
+    void normalizeEmployeeNumber() {
+        employeeNumber = canonicalEmployeeNumber(employeeNumber);
+    }
+
+    public static String canonicalEmployeeNumber(String employeeNumber) {
+        return employeeNumber == null ? null : employeeNumber.trim().toUpperCase(Locale.ROOT);
+    }
 
 }
@@ -12,7 +12,8 @@ import java.time.LocalDate;
 @Setter
 public class EmployeeAsset {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_asset_seq")
+    @SequenceGenerator(name = "employee_asset_seq", sequenceName = "employee_asset_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -17,7 +17,8 @@ import java.time.LocalTime;
 public class EmployeeShift {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_shift_seq")
+    @SequenceGenerator(name = "employee_shift_seq", sequenceName = "employee_shift_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
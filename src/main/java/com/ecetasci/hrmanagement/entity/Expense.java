@@ -8,7 +8,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_expense_employee_id", columnList = "employee_id"))
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,7 +16,8 @@ import java.time.LocalDate;
 @Setter
 public class Expense {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = 50)
     private Long id;
 
     //employee, description, amount, expenseDate, status
@@ -14,7 +14,8 @@ import java.time.LocalDate;
 @Setter
 public class ExpenseDocument {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_document_seq")
+    @SequenceGenerator(name = "expense_document_seq", sequenceName = "expense_document_seq", allocationSize = 50)
     private Long id;
 
     //expense, fileName, filePath, fileType, uploadDate
@@ -0,0 +1,40 @@
+package com.ecetasci.hrmanagement.entity;
+
+import com.ecetasci.hrmanagement.enums.AccrualPhase;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * İzin tahakkuk işinin her parçası (employee id aralığı) için bir denetim kaydı.
+ * Kayıt, parçanın bakiye güncellemesiyle aynı transaction'da yazılır; bu yüzden aynı zamanda kaldığı yerden
+ * devam noktasıdır. Unique kısıt, iki node aynı parçayı işlerse ikincisinin geri alınmasını sağlar.
+ */
+@Entity
+@Table(name = "leave_accrual_audit", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_leave_accrual_chunk", columnNames = {"period", "phase", "first_employee_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveAccrualAudit extends BaseEntity {
+
+    @Column(nullable = false, length = 7)
+    private String period; // yyyy-MM
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AccrualPhase phase;
+
+    @Column(name = "first_employee_id", nullable = false)
+    private Long firstEmployeeId; // hariç alt sınır
+
+    @Column(name = "last_employee_id", nullable = false)
+    private Long lastEmployeeId;  // dahil üst sınır
+
+    @Column(nullable = false)
+    private Integer updatedRows;
+
+    private Long durationMs;
+}
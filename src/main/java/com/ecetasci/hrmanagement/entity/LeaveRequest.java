@@ -8,7 +8,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        // Çakışma kontrolü: employee_id eşitliği + tarih aralığı
+        @Index(name = "idx_leave_requests_employee_dates", columnList = "employee_id, start_date, end_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,6 +19,9 @@ import java.time.LocalDateTime;
 @Builder
 public class LeaveRequest extends BaseEntity {
 
+    // Aynı çalışanın reddedilmemiş talepleri çakışamaz (PostgreSQL exclusion constraint, LeaveOverlapConstraintMigration)
+    public static final String NO_OVERLAP_CONSTRAINT = "leave_requests_no_overlap";
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;  // İzin talebini yapan çalışan
@@ -24,6 +24,13 @@ public class LeaveType extends BaseEntity {
     @Column(nullable = false)
     private boolean isPaid;
 
+    // Tahakkuk politikası (LeaveAccrualService): yıllık hak edilen gün, aylık parçalar halinde bakiyeye eklenir.
+    // null ise bu tip bakiyeye tahakkuk etmez.
+    private Integer annualAccrualDays;
+
+    // Yıl sonunda bir sonraki yıla devredilebilecek en fazla gün; null ise sınırsız, 0 ise yıllık sıfırlama
+    private Integer carryOverCap;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
     private Company company;
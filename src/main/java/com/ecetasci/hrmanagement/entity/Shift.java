@@ -16,7 +16,8 @@ import java.util.List;
 public class Shift {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_seq")
+    @SequenceGenerator(name = "shift_seq", sequenceName = "shift_seq", allocationSize = 50)
     private Long id;
 
     private String name;
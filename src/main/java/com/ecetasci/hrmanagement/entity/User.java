@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Bekleyen kayıt temizliği (status + created_at) için
+        @Index(name = "idx_users_status_created_at", columnList = "user_status, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +20,8 @@ public class User extends BaseEntity {
 
     @Column
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -40,14 +44,6 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private boolean isFirstAdmin = false;
 
-    private String emailVerificationToken;
-
-    private String passwordResetToken;
-
-
-    private LocalDateTime tokenExpiryDate;
-
-
     private LocalDateTime createdAt;
 
 
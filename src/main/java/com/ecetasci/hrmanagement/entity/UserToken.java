@@ -0,0 +1,54 @@
+package com.ecetasci.hrmanagement.entity;
+
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * E-posta doğrulama / parola sıfırlama token'ı. Ham token yalnızca kullanıcıya gönderilir;
+ * tabloda sabit uzunluklu SHA-256 özeti unique index ile tutulur.
+ */
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_tokens", indexes = {
+        @Index(name = "uk_user_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_user_tokens_expires_at", columnList = "expires_at")
+})
+public class UserToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_token_seq")
+    @SequenceGenerator(name = "user_token_seq", sequenceName = "user_token_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private TokenPurpose purpose;
+
+    // Kullanıcı silinince token'ları da DB tarafında silinir
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,6 @@
+package com.ecetasci.hrmanagement.enums;
+
+public enum AccrualPhase {
+    CARRY_OVER, // Yılın ilk çalışmasında devreden bakiyenin sınırlanması
+    ACCRUAL     // Aylık tahakkuk
+}
@@ -0,0 +1,24 @@
+package com.ecetasci.hrmanagement.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return MediaType.parseMediaType(contentType);
+    }
+
+    public String fileName(String base) {
+        return base + "." + extension;
+    }
+}
@@ -0,0 +1,5 @@
+package com.ecetasci.hrmanagement.enums;
+
+public enum TokenPurpose {
+    EMAIL_VERIFICATION, PASSWORD_RESET
+}
@@ -0,0 +1,8 @@
+package com.ecetasci.hrmanagement.event;
+
+/**
+ * Çalışan oluşturulduğunda, arama alanları güncellendiğinde veya silindiğinde yayınlanır.
+ * Çalışan dizini (arama index'i) ilgili kaydı bu event ile yeniden okur ya da siler.
+ */
+public record EmployeeChangedEvent(Long employeeId) {
+}
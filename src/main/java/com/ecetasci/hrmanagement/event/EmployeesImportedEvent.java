@@ -0,0 +1,8 @@
+package com.ecetasci.hrmanagement.event;
+
+/**
+ * Toplu içe aktarma bittiğinde yayınlanır. Satır başına {@link EmployeeChangedEvent} yerine tek event
+ * yayınlanır; arama index'leri yalnızca o şirketin kayıtlarını tek seferde yeniden okur.
+ */
+public record EmployeesImportedEvent(Long companyId, int count) {
+}
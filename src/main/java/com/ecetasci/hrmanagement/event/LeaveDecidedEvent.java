@@ -0,0 +1,10 @@
+package com.ecetasci.hrmanagement.event;
+
+import java.time.LocalDate;
+
+/**
+ * Bir izin talebi onaylandığında veya reddedildiğinde yayınlanır.
+ * Ekip izin takvimi, talebin kapsadığı ayların cache'ini commit sonrası bu event ile düşürür.
+ */
+public record LeaveDecidedEvent(Long companyId, LocalDate startDate, LocalDate endDate) {
+}
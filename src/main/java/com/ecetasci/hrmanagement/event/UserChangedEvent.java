@@ -0,0 +1,8 @@
+package com.ecetasci.hrmanagement.event;
+
+/**
+ * Kullanıcının kimlik doğrulamayı etkileyen bir alanı (şifre, durum, profil) değiştiğinde yayınlanır.
+ * Principal cache'i bu event ile ilgili kaydı hemen düşürür.
+ */
+public record UserChangedEvent(String email) {
+}
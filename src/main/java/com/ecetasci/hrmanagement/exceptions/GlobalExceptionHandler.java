@@ -99,6 +99,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<BaseResponse<Object>> handleValidation(ValidationException ex) {
+        BaseResponse<Object> body = BaseResponse.builder()
+                .success(false)
+                .code(400)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<BaseResponse<Object>> handleForbidden(ForbiddenException ex) {
+        BaseResponse<Object> body = BaseResponse.builder()
+                .success(false)
+                .code(403)
+                .message(ex.getMessage())
+                .build();
+        return new ResponseEntity<>(body, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<BaseResponse<Object>> handleServiceBusy(ServiceBusyException ex) {
+        BaseResponse<Object> body = BaseResponse.builder()
+                .success(false)
+                .code(503)
+                .message(ex.getMessage())
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(body, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<BaseResponse<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        BaseResponse<Object> body = BaseResponse.builder()
+                .success(false)
+                .code(429)
+                .message(ex.getMessage())
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(body, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<BaseResponse<Object>> handleAll(Exception ex) {
         BaseResponse<Object> body = BaseResponse.builder()
@@ -0,0 +1,17 @@
+package com.ecetasci.hrmanagement.exceptions;
+
+/**
+ * Sınırlı bir kaynak (ör. parola doğrulama havuzu) doluyken fırlatılır; 503 + Retry-After olarak döner.
+ */
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
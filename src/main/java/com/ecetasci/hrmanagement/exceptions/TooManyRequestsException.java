@@ -0,0 +1,17 @@
+package com.ecetasci.hrmanagement.exceptions;
+
+/**
+ * İstek hız sınırı aşıldığında fırlatılır; 429 + Retry-After olarak döner.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecetasci.hrmanagement.repository;
+
+import com.ecetasci.hrmanagement.entity.CompanyHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CompanyHolidayRepository extends JpaRepository<CompanyHoliday, Long> {
+
+    List<CompanyHoliday> findByCompanyIdOrderByStartDateAsc(Long companyId);
+
+    Optional<CompanyHoliday> findByIdAndCompanyId(Long id, Long companyId);
+}
@@ -3,10 +3,12 @@ package com.ecetasci.hrmanagement.repository;
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.enums.CompanyStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -29,4 +31,16 @@ public interface CompanyRepository extends JpaRepository<Company,Long> {
     long countActiveCompanies();
 
     List<Company> findAllByCompanyStatus(CompanyStatus companyStatus);
+
+    // Keyset sayfalama (id sırası, PK index)
+    @Query("select c from Company c where c.id > :afterId order by c.id asc")
+    List<Company> findPageAfterId(@Param("afterId") long afterId, Limit limit);
+
+    // Keyset sayfalama (companyName, id sırası; idx_company_name_id)
+    @Query("select c from Company c where c.companyName > :afterName " +
+            "or (c.companyName = :afterName and c.id > :afterId) order by c.companyName asc, c.id asc")
+    List<Company> findPageAfterName(@Param("afterName") String afterName, @Param("afterId") long afterId, Limit limit);
+
+    @Query("select c from Company c order by c.companyName asc, c.id asc")
+    List<Company> findFirstPageByName(Limit limit);
 }
@@ -2,6 +2,7 @@ package com.ecetasci.hrmanagement.repository;
 
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.CompanySubscription;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,12 @@ public interface CompanySubscriptionRepository extends JpaRepository<CompanySubs
     List<CompanySubscription> findExpiringSubs(@Param("limitDate") LocalDate limitDate);
 
     List<CompanySubscription> findByEndDateBetween(LocalDate start, LocalDate end);
+
+    // Şirketin verilen güne kadar başlamış en güncel abonelikleri (yeniden eskiye)
+    @Query("select s from CompanySubscription s where s.company.id = :companyId and s.startDate <= :today " +
+            "order by s.startDate desc, s.id desc")
+    List<CompanySubscription> findLatestStartedByCompanyId(@Param("companyId") Long companyId,
+                                                           @Param("today") LocalDate today, Limit limit);
    // Optional<CompanySubscription> findCompanySubscriptionByCompany(String companyName);
 
 
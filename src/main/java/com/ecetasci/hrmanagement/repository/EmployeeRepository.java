@@ -1,11 +1,21 @@
 package com.ecetasci.hrmanagement.repository;
 
+import com.ecetasci.hrmanagement.dto.response.DepartmentHeadcount;
+import com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
 import com.ecetasci.hrmanagement.entity.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +24,6 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Optional<Employee> findEmployeeByEmployeeNumber(String employeeNumber);
 
-    // Case-insensitive lookup for employeeNumber (ignores letter case differences)
-    Optional<Employee> findEmployeeByEmployeeNumberIgnoreCase(String employeeNumber);
-
     // Backwards-compatible alias used in tests and older code
     Optional<Employee> findByEmployeeNumber(String employeeNumber);
 
@@ -34,4 +41,110 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByUserId(Long id);
 
     List<Employee> findByCompany_Id(Long companyId);
+
+    // Liste ekranları için projection: yalnızca DTO kolonları okunur, entity/user yüklenmez
+    @Query(value = "select new com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto(" +
+            "e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.company.id = :companyId",
+            countQuery = "select count(e) from Employee e where e.company.id = :companyId")
+    Page<EmployeeResponseDto> findSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+
+    // Keyset sayfalama: (company_id, id) index'i üzerinden seek, COUNT sorgusu yok
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto(" +
+            "e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.company.id = :companyId and e.id > :afterId order by e.id asc")
+    List<EmployeeResponseDto> findSummaryPageAfter(@Param("companyId") Long companyId, @Param("afterId") long afterId, Limit limit);
+
+    // Bakiye kontrolü ve düşümü tek statement: yetersizse 0 satır döner, eşzamanlı onaylarda güncelleme kaybolmaz.
+    // Persistence context temizlenir; bayat Employee sonradan flush edilip bakiyenin üzerine yazılamaz.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.leaveBalance = e.leaveBalance - :days, e.version = e.version + 1 " +
+            "where e.id = :id and e.leaveBalance >= :days")
+    int decrementLeaveBalance(@Param("id") Long id, @Param("days") int days);
+
+    long countByCompanyId(Long companyId);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.DepartmentHeadcount(e.department, count(e)) " +
+            "from Employee e where e.company.id = :companyId group by e.department")
+    List<DepartmentHeadcount> countByDepartment(@Param("companyId") Long companyId);
+
+    // Personel numarası bloğu ayrılırken aralıkta önceden kullanılmış numaralar (unique index üzerinden)
+    @Query("select e.employeeNumber from Employee e where e.employeeNumber between :from and :to")
+    List<String> findEmployeeNumbersBetween(@Param("from") String from, @Param("to") String to);
+
+    // Küçük harfli e-postalar alır ve döner (içe aktarmadaki dosya içi tekrar kontrolüyle aynı kural)
+    @Query("select lower(e.email) from Employee e where lower(e.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Kendi transaction'ında çalışır; kanonik biçimi başka bir kayıtla çakışacak satırlara dokunmaz
+    @Modifying
+    @Transactional
+    @Query("update Employee e set e.employeeNumber = upper(trim(e.employeeNumber)) " +
+            "where e.employeeNumber <> upper(trim(e.employeeNumber)) " +
+            "and not exists (select o.id from Employee o where o.id <> e.id " +
+            "and upper(trim(o.employeeNumber)) = upper(trim(e.employeeNumber)))")
+    int canonicalizeEmployeeNumbers();
+
+    // Kanonik biçimi birden çok kayda denk gelen numaralar (elle düzeltilmesi gereken eski veri)
+    @Query("select upper(trim(e.employeeNumber)) from Employee e " +
+            "group by upper(trim(e.employeeNumber)) having count(e) > 1")
+    List<String> findCanonicalCollisions();
+
+    // Kanonik biçime çekilememiş eski kayıtlar için yedek arama; yalnızca index'li aramada bulunamazsa çalışır
+    @Query("select e from Employee e where upper(trim(e.employeeNumber)) = :canonical " +
+            "and e.employeeNumber <> :canonical order by e.id asc")
+    List<Employee> findLegacyByCanonical(@Param("canonical") String canonical, Limit limit);
+
+    // Çalışan dizini (arama index'i) kurulumu: tüm çalışanlar id sırasıyla partiler halinde okunur
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow(" +
+            "e.company.id, e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.id > :afterId order by e.id asc")
+    List<EmployeeDirectoryRow> findDirectoryRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow(" +
+            "e.company.id, e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.company.id = :companyId and e.id > :afterId order by e.id asc")
+    List<EmployeeDirectoryRow> findDirectoryRowsByCompanyAfter(@Param("companyId") Long companyId,
+                                                               @Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow(" +
+            "e.company.id, e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.id = :id")
+    Optional<EmployeeDirectoryRow> findDirectoryRowById(@Param("id") Long id);
+
+    // Facet index'i kurulumu; kullanıcısı olmayan çalışanlar da gelsin diye left join
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow(" +
+            "e.company.id, e.id, e.department, e.position, e.hireDate, u.userStatus) " +
+            "from Employee e left join e.user u where e.id > :afterId order by e.id asc")
+    List<EmployeeFacetRow> findFacetRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // İçe aktarma sonrası ve index'e sığmayan şirketler için aynı satırlar yalnızca o şirketten okunur
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow(" +
+            "e.company.id, e.id, e.department, e.position, e.hireDate, u.userStatus) " +
+            "from Employee e left join e.user u where e.company.id = :companyId and e.id > :afterId order by e.id asc")
+    List<EmployeeFacetRow> findFacetRowsByCompanyAfter(@Param("companyId") Long companyId,
+                                                       @Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow(" +
+            "e.company.id, e.id, e.department, e.position, e.hireDate, u.userStatus) " +
+            "from Employee e left join e.user u where e.id = :id")
+    Optional<EmployeeFacetRow> findFacetRowById(@Param("id") Long id);
+
+    @Query("select e.id from Employee e join e.user u where u.email = :email")
+    List<Long> findIdsByUserEmail(@Param("email") String email);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto(" +
+            "e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.id in :ids order by e.id asc")
+    List<EmployeeResponseDto> findSummariesByIds(@Param("ids") List<Long> ids);
+
+    // Index kullanılamadığında (kurulmadı / kapasite aşıldı) yedek arama
+    @Query("select new com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto(" +
+            "e.id, e.employeeNumber, e.name, e.email, e.position, e.department) " +
+            "from Employee e where e.company.id = :companyId and (lower(e.name) like :pattern escape '\\' " +
+            "or lower(e.email) like :pattern escape '\\' or lower(e.employeeNumber) like :pattern escape '\\') " +
+            "order by e.name asc, e.id asc")
+    Page<EmployeeResponseDto> searchSummaries(@Param("companyId") Long companyId,
+                                              @Param("pattern") String pattern,
+                                              Pageable pageable);
 }
@@ -1,8 +1,11 @@
 package com.ecetasci.hrmanagement.repository;
 
+import com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto;
 import com.ecetasci.hrmanagement.entity.Expense;
 import com.ecetasci.hrmanagement.enums.ExpenseStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +22,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     List<Expense> findByEmployee_Company_IdAndStatus(Long companyId, ExpenseStatus status);
     List<Expense> findTop3ByEmployee_IdOrderByExpenseDateDesc(Long employeeId);
+
+    // Liste endpoint'leri için projection: employee/company entity'leri yüklenmez
+    @Query("select new com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto(" +
+            "x.id, x.description, x.amount, x.expenseDate, x.status) from Expense x where x.employee.id = :employeeId")
+    List<ExpenseResponseDto> findSummariesByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query("select new com.ecetasci.hrmanagement.dto.response.ExpenseResponseDto(" +
+            "x.id, x.description, x.amount, x.expenseDate, x.status) from Expense x where x.employee.company.id = :companyId")
+    List<ExpenseResponseDto> findSummariesByCompanyId(@Param("companyId") Long companyId);
 }
@@ -0,0 +1,15 @@
+package com.ecetasci.hrmanagement.repository;
+
+import com.ecetasci.hrmanagement.entity.LeaveAccrualAudit;
+import com.ecetasci.hrmanagement.enums.AccrualPhase;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+
+public interface LeaveAccrualAuditRepository extends JpaRepository<LeaveAccrualAudit, Long> {
+
+    // Devam noktası: dönemin bu aşamasında işlenmiş son employee id (hiç yoksa null)
+    @Query("select max(a.lastEmployeeId) from LeaveAccrualAudit a where a.period = :period and a.phase = :phase")
+    Long findCheckpoint(@Param("period") String period, @Param("phase") AccrualPhase phase);
+}
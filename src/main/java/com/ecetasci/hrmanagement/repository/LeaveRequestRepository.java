@@ -1,9 +1,18 @@
 package com.ecetasci.hrmanagement.repository;
 
+import com.ecetasci.hrmanagement.dto.response.LeaveResponseDto;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceRow;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.LeaveRequest;
 import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import java.util.List;
 
@@ -11,4 +20,54 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest,Long>
     List<LeaveRequest> findByEmployee_Company_IdAndStatus(Long companyId, LeaveStatus status);
 
     List<LeaveRequest> findByEmployee_Id(Long employeeId);
+
+    // Kapalı aralıklar [start, end] kesişiyor mu; idx_leave_requests_employee_dates üzerinden çalışır
+    @Query("select case when count(r) > 0 then true else false end from LeaveRequest r " +
+            "where r.employee.id = :employeeId and r.status <> com.ecetasci.hrmanagement.enums.LeaveStatus.REJECTED " +
+            "and r.startDate <= :endDate and r.endDate >= :startDate")
+    boolean existsOverlapping(@Param("employeeId") Long employeeId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    // Şirket izin listesi: çalışan ve izin tipi join'lenip tek sorguda DTO'ya okunur (lazy yükleme yok).
+    // Keyset sayfalama (startDate desc, id desc); tarih filtresi [from, to] ile kesişen talepleri getirir.
+    @Query("select new com.ecetasci.hrmanagement.dto.response.LeaveResponseDto(" +
+            "r.id, e.employeeNumber, t.name, r.startDate, r.endDate, r.employeeNote, cast(r.status as String)) " +
+            "from LeaveRequest r join r.employee e join r.leaveType t " +
+            "where e.company.id = :companyId " +
+            "and (:status is null or r.status = :status) " +
+            "and (:leaveTypeId is null or t.id = :leaveTypeId) " +
+            "and r.endDate >= :from and r.startDate <= :to " +
+            "and (r.startDate < :afterDate or (r.startDate = :afterDate and r.id < :afterId)) " +
+            "order by r.startDate desc, r.id desc")
+    List<LeaveResponseDto> findCompanyPageAfter(@Param("companyId") Long companyId,
+                                                @Param("status") LeaveStatus status,
+                                                @Param("leaveTypeId") Long leaveTypeId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("afterDate") LocalDate afterDate,
+                                                @Param("afterId") long afterId,
+                                                Limit limit);
+
+    // Onay/ret yalnızca talep hâlâ PENDING ise uygulanır; aynı talebe eşzamanlı ikinci karar 0 satır günceller
+    @Modifying(flushAutomatically = true)
+    @Query("update LeaveRequest r set r.status = :status, r.approvedBy = :manager, r.approvedAt = :decidedAt, " +
+            "r.managerNote = :managerNote, r.updatedAt = :decidedAt " +
+            "where r.id = :id and r.status = com.ecetasci.hrmanagement.enums.LeaveStatus.PENDING")
+    int decidePending(@Param("id") Long id,
+                      @Param("status") LeaveStatus status,
+                      @Param("manager") Employee manager,
+                      @Param("decidedAt") LocalDateTime decidedAt,
+                      @Param("managerNote") String managerNote);
+
+    // Ekip takvimi: şirketin [from, to] ile kesişen onaylı izinleri tek sorguda, başlangıç sırasıyla
+    @Query("select new com.ecetasci.hrmanagement.dto.response.TeamAbsenceRow(" +
+            "r.id, e.id, e.employeeNumber, e.name, e.department, t.name, r.startDate, r.endDate) " +
+            "from LeaveRequest r join r.employee e join r.leaveType t " +
+            "where e.company.id = :companyId and r.status = com.ecetasci.hrmanagement.enums.LeaveStatus.APPROVED " +
+            "and r.startDate <= :to and r.endDate >= :from " +
+            "order by r.startDate asc, e.name asc")
+    List<TeamAbsenceRow> findApprovedAbsences(@Param("companyId") Long companyId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
 }
@@ -2,9 +2,16 @@ package com.ecetasci.hrmanagement.repository;
 
 import com.ecetasci.hrmanagement.entity.User;
 import com.ecetasci.hrmanagement.enums.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 @Repository
@@ -23,8 +30,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByNameContaining(String firstname);
 
-
-    Optional<User> findUserByPasswordResetToken(String passwordResetToken);
-
-    Optional<User> findByEmailVerificationToken(String emailVerificationToken);
+    // Toplu içe aktarmada mevcut e-postaları tek sorguda bulmak için; küçük harfli e-postalar alır ve döner
+    @Query("select lower(u.email) from User u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset sayfalama (PK index), COUNT sorgusu yok
+    @Query("select u from User u where u.id > :afterId order by u.id asc")
+    List<User> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Saklama süresini aşmış, hiç onaylanmamış ve employee kaydı olmayan kayıtları partiler halinde siler
+    @Modifying
+    @Transactional
+    @Query(value = "delete from users where id in (" +
+            "select u.id from users u where u.user_status = :status and u.created_at < :cutoff " +
+            "and not exists (select 1 from employees e where e.user_id = u.id) limit :batchSize)", nativeQuery = true)
+    int deleteStaleByStatusBatch(@Param("status") String status,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("batchSize") int batchSize);
 }
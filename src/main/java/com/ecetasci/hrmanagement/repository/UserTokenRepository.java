@@ -0,0 +1,34 @@
+package com.ecetasci.hrmanagement.repository;
+
+import com.ecetasci.hrmanagement.entity.UserToken;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
+
+    // token_hash unique index üzerinden tek satır; kullanıcı aynı sorguda getirilir
+    @Query("select t from UserToken t join fetch t.user where t.tokenHash = :tokenHash and t.purpose = :purpose")
+    Optional<UserToken> findByTokenHashAndPurpose(@Param("tokenHash") String tokenHash,
+                                                  @Param("purpose") TokenPurpose purpose);
+
+    @Modifying
+    @Transactional
+    @Query("delete from UserToken t where t.user.id = :userId and t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") TokenPurpose purpose);
+
+    // Büyük silmeler tek transaction'da tabloyu kilitlemesin diye partiler halinde
+    @Modifying
+    @Transactional
+    @Query(value = "delete from user_tokens where id in " +
+            "(select id from user_tokens where expires_at <= :now limit :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
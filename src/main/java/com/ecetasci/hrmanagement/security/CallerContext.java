@@ -0,0 +1,64 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * İsteği yapan kullanıcının kimlik/şirket bilgisi. Login'de imzalı claim olarak token'a yazılır,
+ * filtre tarafından request attribute'a konur ve controller'lara {@link CallerContextArgumentResolver}
+ * ile DB'ye gitmeden enjekte edilir. Kimliği doğrulanmamış isteklerde tüm alanlar null'dır.
+ */
+public record CallerContext(Long userId, Long employeeId, Long companyId, Role role, String email) {
+
+    public static final String REQUEST_ATTRIBUTE = CallerContext.class.getName();
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMPLOYEE_ID = "eid";
+    public static final String CLAIM_COMPANY_ID = "cid";
+    public static final String CLAIM_ROLE = "role";
+
+    private static final CallerContext ANONYMOUS = new CallerContext(null, null, null, null, null);
+
+    public static CallerContext anonymous() {
+        return ANONYMOUS;
+    }
+
+    public static CallerContext of(User user, Employee employee) {
+        Long employeeId = employee != null ? employee.getId() : null;
+        Long companyId = employee != null && employee.getCompany() != null ? employee.getCompany().getId() : null;
+        return new CallerContext(user.getId(), employeeId, companyId, user.getRole(), user.getEmail());
+    }
+
+    // Eski (claim'siz) token'larda null döner; resolver bu durumda DB'ye düşer
+    public static CallerContext fromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        String role = claims.get(CLAIM_ROLE, String.class);
+        return new CallerContext(
+                userId,
+                claims.get(CLAIM_EMPLOYEE_ID, Long.class),
+                claims.get(CLAIM_COMPANY_ID, Long.class),
+                role != null ? Role.valueOf(role) : null,
+                claims.getSubject());
+    }
+
+    public Map<String, Object> toClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userId);
+        if (employeeId != null) claims.put(CLAIM_EMPLOYEE_ID, employeeId);
+        if (companyId != null) claims.put(CLAIM_COMPANY_ID, companyId);
+        if (role != null) claims.put(CLAIM_ROLE, role.name());
+        return claims;
+    }
+
+    public boolean isAuthenticated() {
+        return userId != null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Controller metodlarındaki {@link CallerContext} parametresini doldurur.
+ * Normalde filtrenin token claim'lerinden kurduğu context kullanılır (DB erişimi yok);
+ * claim taşımayan eski token'larda principal üzerinden tek sorguyla çözülür ve istek boyunca saklanır.
+ */
+@Component
+@RequiredArgsConstructor
+public class CallerContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CallerContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(CallerContext.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof CallerContext caller) {
+            return caller;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return CallerContext.anonymous();
+        }
+
+        Employee employee = employeeRepository.findByUserId(principal.getUser().getId()).orElse(null);
+        CallerContext caller = CallerContext.of(principal.getUser(), employee);
+        webRequest.setAttribute(CallerContext.REQUEST_ATTRIBUTE, caller, RequestAttributes.SCOPE_REQUEST);
+        return caller;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecetasci.hrmanagement.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hız sınırlama için istemci IP'si.
+ * <p>
+ * {@code X-Forwarded-For} yalnızca bağlantı {@code app.security.trusted-proxies} listesindeki (IP veya CIDR)
+ * bir proxy'den geliyorsa dikkate alınır; başlık sağdan sola okunur ve güvenilir olmayan ilk adres istemci
+ * kabul edilir. Liste boşsa (varsayılan) başlık yok sayılır ve {@code remoteAddr} kullanılır; böylece istemci
+ * başlığı kendisi yazarak her istekte farklı bir IP bucket'ına düşemez.
+ */
+@Component
+public class ClientIpResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    @Value("${app.security.trusted-proxies:}")
+    private String trustedProxies = "";
+
+    private List<IpAddressMatcher> trusted = List.of();
+
+    @PostConstruct
+    void init() {
+        List<IpAddressMatcher> matchers = new ArrayList<>();
+        for (String entry : trustedProxies.split(",")) {
+            if (!entry.isBlank()) {
+                matchers.add(new IpAddressMatcher(entry.trim()));
+            }
+        }
+        trusted = List.copyOf(matchers);
+    }
+
+    void setTrustedProxies(String trustedProxies) {
+        this.trustedProxies = trustedProxies;
+        init();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (!isTrusted(remote)) {
+            return remote;
+        }
+        String header = request.getHeader(FORWARDED_FOR);
+        if (header == null || header.isBlank()) {
+            return remote;
+        }
+        String[] hops = header.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        // Zincirin tamamı güvenilir proxy'lerden oluşuyorsa en soldaki adres istemcidir
+        String first = hops[0].trim();
+        return first.isEmpty() ? remote : first;
+    }
+
+    private boolean isTrusted(String address) {
+        if (address == null || trusted.isEmpty()) {
+            return false;
+        }
+        for (IpAddressMatcher matcher : trusted) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // IP olmayan değer (ör. "unknown") güvenilir sayılmaz
+                return false;
+            }
+        }
+        return false;
+    }
+}
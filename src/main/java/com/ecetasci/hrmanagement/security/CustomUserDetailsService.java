@@ -1,22 +1,64 @@
 package com.ecetasci.hrmanagement.security;
 
 import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
 import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 	private final UserRepository userRepository;
-	
+	private final CacheRegistry cacheRegistry;
+
+	// JWT filtresi her istekte principal yükler; DB'ye gitmemek için kısa ömürlü cache
+	@Value("${app.security.principal-cache.max-size:10000}")
+	private int principalCacheMaxSize;
+
+	@Value("${app.security.principal-cache.ttl-seconds:60}")
+	private long principalCacheTtlSeconds;
+
+	private TtlCache<String, UserPrincipal> principalCache;
+
+	@PostConstruct
+	void init() {
+		this.principalCache = cacheRegistry.register(
+				new TtlCache<>("userPrincipal", principalCacheMaxSize, Duration.ofSeconds(principalCacheTtlSeconds)));
+	}
+
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+		UserPrincipal cached = principalCache.get(email);
+		if (cached != null) {
+			return cached;
+		}
 		User user = userRepository.findUserByEmail(email)
 		                          .orElseThrow(() -> new UsernameNotFoundException("User bulunamadı: " + email));
-		return new UserPrincipal(user);
+		UserPrincipal principal = new UserPrincipal(user);
+		principalCache.put(email, principal);
+		return principal;
+	}
+
+	// Commit sonrası düşürülür; commit öncesi düşürülse eşzamanlı bir istek eski veriyi tekrar cache'leyebilirdi
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		if (event.email() != null) {
+			principalCache.invalidate(event.email());
+		}
+	}
+
+	public TtlCache.CacheStats principalCacheStats() {
+		return principalCache.stats();
 	}
-}
\ No newline at end of file
+}
@@ -1,12 +1,14 @@
 package com.ecetasci.hrmanagement.security;
 
-import com.ecetasci.hrmanagement.constant.Endpoints;
 import com.ecetasci.hrmanagement.utility.JwtManager;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,45 +18,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuhenticationFilter extends OncePerRequestFilter {
 	private final JwtManager jwtManager;
 	private final UserDetailsService userDetailsService;
 
+	// Her isteği loglamak yerine örneklenmiş (ör. 0.01 => %1) debug kaydı; token asla loglanmaz
+	@Value("${app.logging.jwt-filter-sample-rate:0.01}")
+	private double logSampleRate;
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request,
 								HttpServletResponse response,
 								FilterChain filterChain) throws ServletException, IOException {
-		System.out.println("JwtAuthenticationFilter devrede!!!");
-
 		// normalize path: requestURI minus contextPath
-		String contextPath = request.getContextPath(); // genelde "" unless app has context
-		String requestUri = request.getRequestURI();
-		String normalizedPath = requestUri.substring(contextPath.length());
+		String normalizedPath = request.getRequestURI().substring(request.getContextPath().length());
 		String method = request.getMethod();
 
-		// debug — hangi path geldiğini görmek için
-		System.out.println("[JWT FILTER] normalizedPath=" + normalizedPath + " method=" + method);
-
-		// Bu endpointler token gerektirmez — daha esnek kontrol (context/version farklılıklarına dayanıklı)
-
-		boolean isPublic =
-				("GET".equalsIgnoreCase(method) && normalizedPath.endsWith("/reviews/public")) ||
-						normalizedPath.startsWith(Endpoints.AUTH) ||
-						normalizedPath.startsWith(Endpoints.USER) ||
-						normalizedPath.equals(Endpoints.USER + "/login") ||
-						normalizedPath.equals(Endpoints.USER + "/register") ||
-						normalizedPath.equals(Endpoints.USER + "/forgot-password") ||
-						normalizedPath.equals(Endpoints.USER + "/verify") ||
-						normalizedPath.startsWith("/swagger-ui") ||
-						normalizedPath.startsWith("/v3/api-docs") ||
-						normalizedPath.startsWith("/swagger-resources") ||
-						normalizedPath.startsWith("/webjars") ||
-						normalizedPath.startsWith("/error");   //
-
-		if (isPublic) {
+		// Bu endpointler token gerektirmez — liste SecurityConfig ile ortak, bir kez derlenmiş trie
+		if (PublicRoutes.isPublic(method, normalizedPath)) {
 			// JWT kontrolü yapmadan zinciri devam ettir
 			filterChain.doFilter(request, response);
 			return;
@@ -62,20 +48,19 @@ public class JwtAuhenticationFilter extends OncePerRequestFilter {
 
 		String authHeader = request.getHeader("Authorization");
 		String token = null;
-		String username = null;
-		System.out.println("Authorization header: " + request.getHeader("Authorization"));
+		Claims claims = null;
 
 		if (authHeader != null && authHeader.startsWith("Bearer ")) {
 			token = authHeader.substring(7);
-			System.out.println(token);
-			username = jwtManager.extractUsername(token);
+			// Token istek başına yalnızca bir kez parse/doğrulanır
+			claims = jwtManager.parseToken(token);
 		}
 
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+		if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
 
 			// ✅ Hem verifyToken hem de blacklist kontrolü
-			if (jwtManager.verifyToken(token, userDetails) && jwtManager.isTokenValid(token)) {
+			if (jwtManager.verifyToken(claims, userDetails) && jwtManager.isTokenValid(token)) {
 				UsernamePasswordAuthenticationToken authToken =
 					new UsernamePasswordAuthenticationToken(
 						userDetails,
@@ -85,9 +70,20 @@ public class JwtAuhenticationFilter extends OncePerRequestFilter {
 				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(authToken);
 
+				// Token'daki uid/eid/cid/role claim'leri controller'lara CallerContext olarak aktarılır
+				CallerContext caller = CallerContext.fromClaims(claims);
+				if (caller != null) {
+					request.setAttribute(CallerContext.REQUEST_ATTRIBUTE, caller);
+				}
+
 			}
 		}
 
+		if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+			log.debug("jwt_filter method={} path={} bearer={} authenticated={}",
+					method, normalizedPath, token != null, SecurityContextHolder.getContext().getAuthentication() != null);
+		}
+
 		filterChain.doFilter(request, response);
 	}
 }
@@ -0,0 +1,126 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login ve parola sıfırlama için e-posta ve IP bazlı token-bucket hız sınırlayıcı.
+ * Kontrol controller'ın en başında yapılır; limit aşıldıysa DB sorgusu, BCrypt ya da e-posta
+ * gönderimi yapılmadan {@link TooManyRequestsException} (429) fırlatılır.
+ * Bucket güncellemeleri anahtarın hash'ine göre seçilen kilit diliminde (lock striping) yapılır;
+ * uzun süre kullanılmayan bucket'lar periyodik olarak atılır.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    @Value("${app.security.rate-limit.email.capacity:5}")
+    private int emailCapacity = 5;
+
+    @Value("${app.security.rate-limit.email.refill-per-minute:5}")
+    private double emailRefillPerMinute = 5;
+
+    @Value("${app.security.rate-limit.ip.capacity:20}")
+    private int ipCapacity = 20;
+
+    @Value("${app.security.rate-limit.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute = 20;
+
+    @Value("${app.security.rate-limit.idle-eviction-minutes:10}")
+    private long idleEvictionMinutes = 10;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejectedByEmail = new AtomicLong();
+    private final AtomicLong rejectedByIp = new AtomicLong();
+    private Clock clock = Clock.systemUTC();
+
+    public LoginRateLimiter() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Önce IP, sonra e-posta bucket'ından birer token düşer; biri boşsa 429 fırlatır.
+     */
+    public void check(String email, String clientIp) {
+        if (clientIp != null) {
+            long waitMs = tryConsume("ip:" + clientIp, ipCapacity, ipRefillPerMinute);
+            if (waitMs > 0) {
+                rejectedByIp.incrementAndGet();
+                throw new TooManyRequestsException("Too many attempts from this address", toRetryAfterSeconds(waitMs));
+            }
+        }
+        if (email != null) {
+            long waitMs = tryConsume("email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailRefillPerMinute);
+            if (waitMs > 0) {
+                rejectedByEmail.incrementAndGet();
+                throw new TooManyRequestsException("Too many attempts for this account", toRetryAfterSeconds(waitMs));
+            }
+        }
+        allowed.incrementAndGet();
+    }
+
+    // 0 => token alındı; > 0 => bir sonraki token'a kalan süre (ms)
+    private long tryConsume(String key, int capacity, double refillPerMinute) {
+        double refillPerMs = refillPerMinute / 60_000d;
+        long now = clock.millis();
+        synchronized (locks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * refillPerMs);
+            bucket.lastRefill = now;
+            if (bucket.tokens >= 1d) {
+                bucket.tokens -= 1d;
+                return 0;
+            }
+            return (long) Math.ceil((1d - bucket.tokens) / refillPerMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long cutoff = clock.millis() - idleEvictionMinutes * 60_000L;
+        buckets.forEach((key, bucket) -> {
+            synchronized (locks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+                if (bucket.lastRefill < cutoff) {
+                    buckets.remove(key, bucket);
+                }
+            }
+        });
+    }
+
+    public Stats stats() {
+        return new Stats(allowed.get(), rejectedByEmail.get(), rejectedByIp.get(), buckets.size());
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private static long toRetryAfterSeconds(long waitMs) {
+        return Math.max(1, (waitMs + 999) / 1000);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+
+    public record Stats(long allowed, long rejectedByEmail, long rejectedByIp, int trackedBuckets) {
+    }
+}
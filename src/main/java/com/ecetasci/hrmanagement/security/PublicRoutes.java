@@ -0,0 +1,119 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.constant.Endpoints;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token gerektirmeyen yolların tek listesi. {@link SecurityConfig} permitAll kurallarını bu listeden
+ * kurar; {@link JwtAuhenticationFilter} ise aynı listeden bir kez derlenen segment trie'si ile
+ * istek başına tek geçişte karar verir (startsWith/equals zinciri yok).
+ * Desenler: tam yol ya da "/**" ile biten önek (sıfır veya daha fazla segment).
+ */
+public final class PublicRoutes {
+
+    // Yalnızca GET için açık yollar
+    public static final String[] GET_PATTERNS = {
+            "/api/reviews/public",
+            "/api/v1/reviews/public",
+            Endpoints.REVIEWS + "/public"
+    };
+
+    // Her HTTP metodu için açık yollar
+    public static final String[] ANY_METHOD_PATTERNS = {
+            Endpoints.AUTH + "/**",
+            Endpoints.USER + "/login",
+            Endpoints.USER + "/register",
+            Endpoints.USER + "/forgot-password",
+            Endpoints.USER + "/verify",
+            Endpoints.USER + "/reset-password",
+            Endpoints.USER + "/public/**",
+            Endpoints.ADMIN + "/create-application-company",
+            Endpoints.REVIEWS + "/public",
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/swagger-resources/**",
+            "/webjars/**",
+            "/error"
+    };
+
+    private static final Node GET_ROOT = new Node();
+    private static final Node ANY_ROOT = new Node();
+
+    static {
+        for (String pattern : GET_PATTERNS) {
+            insert(GET_ROOT, pattern);
+        }
+        for (String pattern : ANY_METHOD_PATTERNS) {
+            insert(ANY_ROOT, pattern);
+        }
+    }
+
+    private PublicRoutes() {
+    }
+
+    public static boolean isPublic(String method, String path) {
+        if (path == null) {
+            return false;
+        }
+        return matches(ANY_ROOT, path) || ("GET".equalsIgnoreCase(method) && matches(GET_ROOT, path));
+    }
+
+    private static void insert(Node root, String pattern) {
+        Node node = root;
+        int start = 1;
+        while (start <= pattern.length()) {
+            int end = pattern.indexOf('/', start);
+            if (end < 0) {
+                end = pattern.length();
+            }
+            String segment = pattern.substring(start, end);
+            if (segment.equals("**")) {
+                node.wildcard = true;
+                return;
+            }
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+            start = end + 1;
+        }
+        node.terminal = true;
+    }
+
+    // Yol soldan sağa bir kez yürünür; her segment için tek HashMap araması
+    private static boolean matches(Node root, String path) {
+        Node node = root;
+        int start = path.startsWith("/") ? 1 : 0;
+        int length = path.length();
+        while (true) {
+            if (node.wildcard) {
+                return true;
+            }
+            if (start >= length) {
+                return node.terminal;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, start, end);
+            if (node == null) {
+                return false;
+            }
+            if (end == length) {
+                return node.terminal || node.wildcard;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean terminal;
+        private boolean wildcard;
+
+        private Node child(String path, int start, int end) {
+            return children.isEmpty() ? null : children.get(path.substring(start, end));
+        }
+    }
+}
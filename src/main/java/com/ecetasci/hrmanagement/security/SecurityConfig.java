@@ -2,6 +2,7 @@ package com.ecetasci.hrmanagement.security;
 
 import com.ecetasci.hrmanagement.constant.Endpoints;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,9 +23,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 	private final JwtAuhenticationFilter jwtAuhenticationFilter;
 	
+	// Cost artırıldığında eski hash'ler login sırasında yeniden hash'lenir (LoginService)
 	@Bean
-	public PasswordEncoder getPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder getPasswordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 	@Bean
 	public AuthenticationManager getAuthenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -38,36 +40,9 @@ public class SecurityConfig {
 				.csrf(csrf -> csrf.disable())
 // configure URL based authorization
 				.authorizeHttpRequests(auth -> auth
-// publicly viewable company reviews (generic: accept both /api/reviews/public and /api/v1/dev/reviews/public)
-								.requestMatchers(HttpMethod.GET,
-										"/api/reviews/public",
-										"/api/v1/reviews/public",
-										"/api/v1/dev/reviews/public"
-								).permitAll()
-// public endpoints for authentication and user registration/verification
-						.requestMatchers(
-								Endpoints.AUTH + "/**",
-								Endpoints.USER + "/login",
-								Endpoints.USER + "/register",
-								Endpoints.USER + "/forgot-password",
-								Endpoints.USER + "/verify",
-								Endpoints.USER + "/reset-password",
-								Endpoints.USER + "/public/**",
-								Endpoints.ADMIN + "/create-application-company",
-								//Endpoints.USER + "/find-by-id/**",
-								Endpoints.REVIEWS + "/public"
-							).permitAll()
-
-// documentation endpoints should be publicly accessible
-						.requestMatchers(
-								"/swagger-ui.html",
-								"/swagger-ui/**",
-								"/v3/api-docs/**",
-								"/swagger-resources/**",
-								"/webjars/**",
-									"/error"
-
-						).permitAll()
+// public endpoints (reviews, auth, user registration/verification, documentation) — JwtAuhenticationFilter uses the same list
+								.requestMatchers(HttpMethod.GET, PublicRoutes.GET_PATTERNS).permitAll()
+								.requestMatchers(PublicRoutes.ANY_METHOD_PATTERNS).permitAll()
 
 								.requestMatchers(
 										Endpoints.EXPENSES + "/employee/create-expense",
@@ -79,6 +54,7 @@ public class SecurityConfig {
 								Endpoints.ADMIN + "/**",
 								Endpoints.DASHBOARD + "/admin/**",
 								Endpoints.USER + "/find-all",
+								Endpoints.USER + "/find-all/cursor",
 								Endpoints.USER + "/find-by-id/**",
 								Endpoints.USER +"user/find-by-username",
 								Endpoints.USER + "/update-user-profile",
@@ -101,6 +77,8 @@ public class SecurityConfig {
 								Endpoints.USER + "/company-admin/update-user-password",
 								Endpoints.MANAGER + "/employees/**",
 								Endpoints.MANAGER +"/employee-register",
+								Endpoints.MANAGER + "/holidays/**",
+								Endpoints.MANAGER + "/team-calendar/**",
 								Endpoints.ADMIN + "/list-company",
 								Endpoints.REVIEWS + "/company/**",
 								Endpoints.ASSETS + "/**",
@@ -110,6 +88,7 @@ public class SecurityConfig {
 								Endpoints.EXPENSES + "/{id}/reject",
 								Endpoints.EXPENSES + "/{id}/update-rejected",
 								//Endpoints.MANAGER+ "/leaves/**",
+								Endpoints.MANAGER + "/leaves",
 								Endpoints.MANAGER+ "/leaves/{id}/approve",
 								Endpoints.MANAGER+ "/assets/**",
 								Endpoints.MANAGER + "/expenses/**"
@@ -0,0 +1,91 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.entity.RevokedToken;
+import com.ecetasci.hrmanagement.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * İptal edilmiş (logout) token deposu.
+ * <p>
+ * Kalıcı ve node'lar arası ortak kayıt {@code revoked_tokens} tablosundadır. Her node bu tablonun
+ * süresi dolmamış kayıtlarını yerel bir {@link ConcurrentHashMap}'te tutar; istek yolundaki kontrol
+ * kilitsiz ve O(1)'dir, DB'ye gitmez. Diğer node'larda yapılan iptaller {@link #syncFromStore()} ile
+ * en geç {@code app.jwt.revocation.sync-interval-ms} içinde görülür. Kayıtlar token'ın exp zamanında
+ * hem yerelden hem tablodan silinir.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // tokenHash -> exp (epoch millis)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Node'lar arası saat farkı ve commit gecikmesi için senkronizasyon penceresi geriye kaydırılır
+    @Value("${app.jwt.revocation.sync-overlap-seconds:30}")
+    private long syncOverlapSeconds = 30;
+
+    private Clock clock = Clock.systemUTC();
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public void revoke(String tokenHash, Instant expiresAt) {
+        Instant now = clock.instant();
+        if (!expiresAt.isAfter(now)) {
+            return; // süresi dolmuş token zaten reddedilir
+        }
+        revoked.put(tokenHash, expiresAt.toEpochMilli());
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenHash(tokenHash)
+                .expiresAt(expiresAt)
+                .revokedAt(now)
+                .build());
+    }
+
+    public boolean isRevoked(String tokenHash) {
+        Long exp = revoked.get(tokenHash);
+        if (exp == null) {
+            return false;
+        }
+        if (exp <= clock.millis()) {
+            revoked.remove(tokenHash, exp);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval-ms:5000}")
+    public void syncFromStore() {
+        Instant now = clock.instant();
+        Instant since = lastSync.equals(Instant.EPOCH) ? Instant.EPOCH : lastSync.minus(Duration.ofSeconds(syncOverlapSeconds));
+        List<RevokedToken> fresh = revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(since, now);
+        for (RevokedToken token : fresh) {
+            revoked.put(token.getTokenHash(), token.getExpiresAt().toEpochMilli());
+        }
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = clock.millis();
+        revoked.values().removeIf(exp -> exp <= now);
+        revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+}
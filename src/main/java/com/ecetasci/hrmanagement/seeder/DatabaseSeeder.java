@@ -7,7 +7,6 @@ import com.ecetasci.hrmanagement.enums.Role;
 import com.ecetasci.hrmanagement.enums.UserStatus;
 import com.ecetasci.hrmanagement.repository.*;
 import com.ecetasci.hrmanagement.service.ExpenseDocumentService;
-import com.ecetasci.hrmanagement.utility.JwtManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
@@ -32,7 +31,6 @@ public class DatabaseSeeder implements CommandLineRunner {
     private final PasswordEncoder passwordEncoder;
     private final ExpenseRepository expenseRepository;
     private final ExpenseDocumentRepository expenseDocumentRepository;
-    private final JwtManager jwtManager;
 
 
     @Override
@@ -48,8 +46,6 @@ public class DatabaseSeeder implements CommandLineRunner {
                     .email("admin@hrmanagement.com")
                     .password(passwordEncoder.encode("123456"))
                     .createdAt(LocalDateTime.now())
-                    .emailVerificationToken(jwtManager.generateToken("admin@hrmanagement.com"))
-                    .tokenExpiryDate(LocalDateTime.now().plusDays(300))
                     .role(Role.SITE_ADMIN)
                     .isFirstAdmin(true)
                     .userStatus(UserStatus.ACTIVE)
@@ -86,9 +82,6 @@ public class DatabaseSeeder implements CommandLineRunner {
                     .role(Role.COMPANY_ADMIN)
                     .userStatus(UserStatus.ACTIVE)
                     .isFirstAdmin(false)
-                    .emailVerificationToken(jwtManager.generateToken(("ecetasci.iu@gmail.com")))
-                    .passwordResetToken("1234")
-                    .tokenExpiryDate(LocalDateTime.of(2027, 10, 14, 19, 45, 0))
                     .createdAt(LocalDateTime.now()).build();
 
 
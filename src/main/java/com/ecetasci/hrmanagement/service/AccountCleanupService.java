@@ -0,0 +1,64 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.repository.UserTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Süresi dolmuş doğrulama/sıfırlama token'larını ve saklama süresini aşmış onaysız kayıtları temizler.
+ * Silmeler {@code batch-size}'lık partilerle, her parti kendi transaction'ında yapılır; böylece
+ * büyük bir birikme tabloyu uzun süre kilitlemez.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountCleanupService {
+
+    private final UserTokenRepository userTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.user-tokens.cleanup.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.user-tokens.cleanup.pending-retention-days:30}")
+    private long pendingRetentionDays = 30;
+
+    @Scheduled(fixedDelayString = "${app.user-tokens.cleanup.interval-ms:3600000}")
+    public void cleanup() {
+        int tokens = purgeExpiredTokens();
+        int users = purgeStalePendingUsers();
+        if (tokens > 0 || users > 0) {
+            log.info("account_cleanup expired_tokens={} stale_pending_users={}", tokens, users);
+        }
+    }
+
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = userTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    // Kullanıcının token'ları FK üzerinde ON DELETE CASCADE ile birlikte silinir
+    public int purgeStalePendingUsers() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(pendingRetentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = userRepository.deleteStaleByStatusBatch(UserStatus.PENDING_ADMIN_APPROVAL.name(), cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
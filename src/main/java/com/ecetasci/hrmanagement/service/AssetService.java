@@ -6,6 +6,7 @@ import com.ecetasci.hrmanagement.dto.request.RejectAssetRequestDto;
 import com.ecetasci.hrmanagement.dto.response.AssetResponseDto;
 import com.ecetasci.hrmanagement.dto.response.EmployeeAssetResponseDto;
 import com.ecetasci.hrmanagement.entity.Asset;
+import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.EmployeeAsset;
 import com.ecetasci.hrmanagement.enums.EmployeeAssetStatus;
@@ -14,14 +15,12 @@ import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeAssetRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
-import com.ecetasci.hrmanagement.repository.UserRepository;
-import com.ecetasci.hrmanagement.utility.JwtManager;
+import com.ecetasci.hrmanagement.security.CallerContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import jakarta.servlet.http.HttpServletRequest;
 import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
 import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
 
@@ -34,8 +33,7 @@ public class AssetService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeAssetRepository employeeAssetRepository;
     private final CompanyRepository companyRepository;
-    private final UserRepository userRepository;
-    private final JwtManager jwtManager;
+    private final TenantContext tenantContext;
 
     // Tüm zimmetler
     public List<AssetResponseDto> getAllAssets() {
@@ -51,30 +49,14 @@ public class AssetService {
                 .toList();
     }
 
-    // Çağıranın Authorization header'ından companyId çözümler ve ilgili asset'leri döner
-    public List<AssetResponseDto> getAssetsForCaller(HttpServletRequest request) {
-        String auth = request.getHeader("Authorization");
-        if (auth == null || !auth.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Missing or malformed Authorization header");
+    // Çağıranın şirketine (token'daki cid claim'i) ait asset'leri döner
+    public List<AssetResponseDto> getAssetsForCaller(CallerContext caller) {
+        if (caller == null || !caller.isAuthenticated()) {
+            throw new UnauthorizedException("Unauthorized");
         }
-        String token = auth.substring(7);
-        String username;
-        try {
-            username = jwtManager.extractUsername(token);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Invalid token");
-        }
-        if (username == null) throw new UnauthorizedException("Unauthorized");
-
-        var userOpt = userRepository.findUserByEmail(username);
-        if (userOpt.isEmpty()) throw new UnauthorizedException("User not found");
-        var user = userOpt.get();
-
-        var empOpt = employeeRepository.findByUserId(user.getId());
-        Long companyId = empOpt.map(emp -> emp.getCompany() != null ? emp.getCompany().getId() : null).orElse(null);
-        if (companyId == null) throw new ForbiddenException("Caller has no company");
+        if (caller.companyId() == null) throw new ForbiddenException("Caller has no company");
 
-        return getAssetsByCompanyId(companyId);
+        return getAssetsByCompanyId(caller.companyId());
     }
 
     // Zimmet oluşturma (serial number unique kontrolü)
@@ -89,8 +71,7 @@ public class AssetService {
         asset.setSerialNumber(dto.getSerialNumber());
         asset.setValue(dto.getValue());
         asset.setType(dto.getType());
-        asset.setCompany(companyRepository.findById(dto.getCompanyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Company not found")));
+        asset.setCompany(activeCompany(dto.getCompanyId()));
         Asset saved = assetRepository.save(asset);
         return toAssetDto(saved);
     }
@@ -105,8 +86,7 @@ public class AssetService {
         asset.setSerialNumber(dto.getSerialNumber());
         asset.setValue(dto.getValue());
         asset.setType(dto.getType());
-        asset.setCompany(companyRepository.findById(dto.getCompanyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Company not found")));
+        asset.setCompany(activeCompany(dto.getCompanyId()));
         return toAssetDto(assetRepository.save(asset));
     }
 
@@ -190,6 +170,12 @@ public class AssetService {
     }
 
     // ------ DTO mapping yardımcı metodları ------
+    // Şirket ve abonelik durumu tenant cache'inden doğrulanır; ilişki için referans yeterli
+    private Company activeCompany(Long companyId) {
+        tenantContext.requireActive(companyId);
+        return companyRepository.getReferenceById(companyId);
+    }
+
     private AssetResponseDto toAssetDto(Asset asset) {
         return AssetResponseDto.builder()
                 .id(asset.getId())
@@ -2,6 +2,7 @@ package com.ecetasci.hrmanagement.service;
 
 import com.ecetasci.hrmanagement.dto.request.BreakRequestDto;
 import com.ecetasci.hrmanagement.dto.response.BreakResponseDto;
+import com.ecetasci.hrmanagement.dto.response.ShiftResponseDto;
 import com.ecetasci.hrmanagement.entity.Break;
 import com.ecetasci.hrmanagement.entity.Shift;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
@@ -13,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,13 +22,14 @@ public class BreakService {
 
     private final BreakRepository breakRepository;
     private final ShiftRepository shiftRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public BreakResponseDto createBreak(BreakRequestDto dto) {
-        Shift shift = shiftRepository.findById(dto.shiftId())
-                .orElseThrow(() -> new ResourceNotFoundException("Shift not found"));
+        // vardiya saatleri cache'teki anlık görüntüden okunur; ilişki için sadece referans yeterli
+        ShiftResponseDto shift = referenceDataCache.shift(dto.shiftId());
 
         // validation: Mola shifft içinde olmalı
-        if (dto.startTime().isBefore(shift.getStartTime()) || dto.endTime().isAfter(shift.getEndTime())) {
+        if (dto.startTime().isBefore(shift.startTime()) || dto.endTime().isAfter(shift.endTime())) {
             throw new IllegalArgumentException("Break times must be within shift start and end times");
         }// validation: endTime startTime'dan sonra mı
         if (!dto.endTime().isAfter(dto.startTime())) {
@@ -47,10 +48,11 @@ public class BreakService {
                 .startTime(dto.startTime())
                 .endTime(dto.endTime())
                 .duration(duration)
-                .shift(shift)
+                .shift(shiftRepository.getReferenceById(dto.shiftId()))
                 .build();
 
         Break saved = breakRepository.save(b);
+        referenceDataCache.invalidateBreaks(dto.shiftId());
         return toDto(saved);
     }
 
@@ -75,6 +77,7 @@ public class BreakService {
             throw new IllegalArgumentException("Provided duration does not match start/end times");
         }
 
+        Long previousShiftId = existing.getShift() != null ? existing.getShift().getId() : null;
         existing.setName(dto.name());
         existing.setStartTime(dto.startTime());
         existing.setEndTime(dto.endTime());
@@ -82,12 +85,16 @@ public class BreakService {
         existing.setShift(shift);
 
         Break saved = breakRepository.save(existing);
+        referenceDataCache.invalidateBreaks(previousShiftId);
+        referenceDataCache.invalidateBreaks(dto.shiftId());
         return toDto(saved);
     }
 
     public void deleteBreak(Long id) {
-        if (!breakRepository.existsById(id)) throw new ResourceNotFoundException("Break not found");
+        Break existing = breakRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Break not found"));
         breakRepository.deleteById(id);
+        referenceDataCache.invalidateBreaks(existing.getShift() != null ? existing.getShift().getId() : null);
     }
 
     public BreakResponseDto getBreak(Long id) {
@@ -97,7 +104,7 @@ public class BreakService {
     }
 
     public List<BreakResponseDto> getBreaksByShift(Long shiftId) {
-        return breakRepository.findByShiftId(shiftId).stream().map(this::toDto).collect(Collectors.toList());
+        return referenceDataCache.breaks(shiftId);
     }
 
     private BreakResponseDto toDto(Break b) {
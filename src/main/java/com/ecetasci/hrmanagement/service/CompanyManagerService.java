@@ -4,10 +4,13 @@ import com.ecetasci.hrmanagement.dto.request.RegisterEmployeeRequestDto;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
 import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.UserRepository;
-import com.ecetasci.hrmanagement.utility.JwtManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,17 +28,22 @@ public class CompanyManagerService {
     private final EmailService emailService;
     private final CompanyService companyService;
     private final EmployeeService employeeService;
-    private final JwtManager jwtManager;
+    private final UserTokenService userTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantContext tenantContext;
+    private final LeaveAccrualService leaveAccrualService;
 
     // Personel ekleme işlemi, hem User hem Employee oluşturur, ilişkilendirir, ve doğrulama e-postası gönderir.
     public Employee createEmployee(RegisterEmployeeRequestDto dto) {
+        // Abonelik çalışan limiti, User kaydından önce denetlenir
+        tenantContext.requireSeats(dto.companyId(), 1);
+
         // 1. Önce User oluştur
         User user = new User();
         user.setName(dto.name());
         user.setPassword(passwordEncoder.encode(dto.password()));
         user.setRole(Role.EMPLOYEE);
         user.setEmail(dto.email());
-         user.setEmailVerificationToken(jwtManager.generateToken(dto.email()));
         //user.setActive(false);
 
         User savedUser = userRepository.save(user);
@@ -57,13 +65,13 @@ public class CompanyManagerService {
         employee.setPhoneNumber(dto.phoneNumber());
         employee.setAddress(dto.address());
         employee.setEmergencyContact(dto.emergencyContact());
+        employee.setLeaveBalance(leaveAccrualService.initialLeaveBalance(dto.companyId()));
         employee.setUser(savedUser); // ilişkilendirme
         Employee resp = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(resp.getId()));
 
-        // Only send verification email if a token was generated
-        if (savedUser.getEmailVerificationToken() != null) {
-            emailService.sendVerificationEmail(savedUser.getEmail(), savedUser.getEmailVerificationToken());
-        }
+        String verificationToken = userTokenService.issue(savedUser, TokenPurpose.EMAIL_VERIFICATION);
+        emailService.sendVerificationEmail(savedUser.getEmail(), verificationToken);
         return resp;
     }
 
@@ -89,9 +97,12 @@ public class CompanyManagerService {
             User user = emp.getUser();
             user.setPassword(encoded);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
         }
 
-        return employeeRepository.save(emp);
+        Employee saved = employeeRepository.save(emp);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id));
+        return saved;
     }
 
 
@@ -102,9 +113,11 @@ public class CompanyManagerService {
         // önce User’ı da silmek için
         if (employee.getUser() != null) {
             userRepository.delete(employee.getUser());
+            eventPublisher.publishEvent(new UserChangedEvent(employee.getUser().getEmail()));
         }
 
         employeeRepository.delete(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id));
     }
 
 
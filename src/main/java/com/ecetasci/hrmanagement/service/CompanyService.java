@@ -11,10 +11,14 @@ import org.springframework.stereotype.Service;
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final TenantContext tenantContext;
 
+    // Varlık tenant cache'inden doğrulanır; çağıranlar yalnızca ilişki kurduğu için lazy referans döner
     public Company findById(Long companyId) {
-        return companyRepository.findById(companyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Company bulunamadı"));
+        if (tenantContext.find(companyId).isEmpty()) {
+            throw new ResourceNotFoundException("Company bulunamadı");
+        }
+        return companyRepository.getReferenceById(companyId);
     }
 
 }
@@ -0,0 +1,230 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.CompanyScopedRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Şirket başına bir shard tutan bellek içi index'lerin ortak yaşam döngüsü.
+ * <p>
+ * Tam kurulum tüm satırları id sırasıyla sayfalayarak okur, artımlı güncelleme tek çalışanı, toplu içe aktarma
+ * tek şirketi yeniden okur. Toplam kayıt {@link #maxDocuments()} ile sınırlıdır; sığmayan şirketler overflow
+ * olarak işaretlenir ve alt sınıf bunları index dışından yanıtlar. Kurulum sürerken gelen değişiklikler not
+ * edilip kurulum bittikten sonra yeni shard'lara yeniden uygulanır.
+ *
+ * @param <R> index'i besleyen satır
+ * @param <S> şirket shard'ı
+ */
+@Slf4j
+abstract class CompanyShardIndex<R extends CompanyScopedRow, S extends CompanyShardIndex.IndexShard<R>> {
+
+    private volatile Map<Long, S> shards = new ConcurrentHashMap<>();
+    private volatile Set<Long> overflowCompanies = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Long> companyByEmployee = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+    private volatile boolean ready;
+
+    // Kurulum sırasında gelen değişiklikler kaybolmasın diye not edilip kurulum sonunda yeniden uygulanır
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    /**
+     * Tek şirketin index parçası. Uygulamalar kendi kilitlemesinden sorumludur.
+     */
+    interface IndexShard<R> {
+
+        int liveCount();
+
+        Set<Long> ids();
+
+        void upsert(R row);
+
+        boolean remove(Long employeeId);
+    }
+
+    protected abstract S newShard();
+
+    protected abstract List<R> findRowsAfter(long afterId, Limit limit);
+
+    protected abstract List<R> findCompanyRowsAfter(Long companyId, long afterId, Limit limit);
+
+    protected abstract Optional<R> findRowById(Long employeeId);
+
+    protected abstract int maxDocuments();
+
+    protected abstract int buildBatchSize();
+
+    // Log satırlarında index'i ayırt etmek için
+    protected abstract String indexName();
+
+    public synchronized void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            int maxDocuments = maxDocuments();
+            int batchSize = buildBatchSize();
+            Map<Long, S> fresh = new ConcurrentHashMap<>();
+            Set<Long> overflow = ConcurrentHashMap.newKeySet();
+            Map<Long, Long> owners = new HashMap<>();
+            long docs = 0;
+            long afterId = 0;
+            List<R> batch;
+            do {
+                batch = findRowsAfter(afterId, Limit.of(batchSize));
+                for (R row : batch) {
+                    afterId = row.id();
+                    if (row.companyId() == null || overflow.contains(row.companyId())) {
+                        continue;
+                    }
+                    if (docs >= maxDocuments) {
+                        S dropped = fresh.remove(row.companyId());
+                        if (dropped != null) {
+                            docs -= dropped.liveCount();
+                        }
+                        overflow.add(row.companyId());
+                        continue;
+                    }
+                    fresh.computeIfAbsent(row.companyId(), id -> newShard()).upsert(row);
+                    owners.put(row.id(), row.companyId());
+                    docs++;
+                }
+            } while (batch.size() == batchSize);
+
+            owners.values().removeAll(overflow);
+            shards = fresh;
+            overflowCompanies = overflow;
+            companyByEmployee.clear();
+            companyByEmployee.putAll(owners);
+            documentCount.set(docs);
+            ready = true;
+            if (!overflow.isEmpty()) {
+                log.warn("{} capacity reached max_documents={} overflow_companies={}",
+                        indexName(), maxDocuments, overflow.size());
+            }
+        } finally {
+            rebuilding = false;
+        }
+        for (Long employeeId : Set.copyOf(changedDuringRebuild)) {
+            refresh(employeeId);
+        }
+        changedDuringRebuild.clear();
+    }
+
+    // Aynı anda gelen ilk istekler tek kurulumu bekler; kilidi sonradan alan istek hazır index'i bulur
+    protected synchronized void buildIfNeeded() {
+        if (!ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Tek çalışanı yeniden okur. Index hazır değilse ve kurulmuyorsa yok sayılır; ilk kurulum zaten güncel
+     * satırları okuyacaktır.
+     */
+    protected void employeeChanged(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(employeeId);
+        } else if (!ready) {
+            return;
+        }
+        refresh(employeeId);
+    }
+
+    /**
+     * Tek şirketin shard'ını baştan okur; şirket sınıra sığmıyorsa overflow olarak işaretlenir.
+     */
+    synchronized void reloadCompany(Long companyId) {
+        if (!ready || overflowCompanies.contains(companyId)) {
+            return; // index dışından yanıtlanıyor
+        }
+        S fresh = loadCompany(companyId);
+        S previous = shards.get(companyId);
+        Set<Long> previousIds = previous == null ? Set.of() : previous.ids();
+        previousIds.forEach(id -> companyByEmployee.remove(id, companyId));
+        if (documentCount.get() - previousIds.size() + fresh.liveCount() > maxDocuments()) {
+            shards.remove(companyId);
+            overflowCompanies.add(companyId);
+            documentCount.addAndGet(-previousIds.size());
+            log.warn("{} capacity reached max_documents={} overflow_company={}", indexName(), maxDocuments(), companyId);
+            return;
+        }
+        shards.put(companyId, fresh);
+        fresh.ids().forEach(id -> companyByEmployee.put(id, companyId));
+        documentCount.addAndGet(fresh.liveCount() - previousIds.size());
+    }
+
+    void refresh(Long employeeId) {
+        R row = findRowById(employeeId).orElse(null);
+        Long previousCompany = companyByEmployee.get(employeeId);
+        if (previousCompany != null && (row == null || !previousCompany.equals(row.companyId()))) {
+            S shard = shards.get(previousCompany);
+            if (shard != null && shard.remove(employeeId)) {
+                documentCount.decrementAndGet();
+            }
+            companyByEmployee.remove(employeeId);
+        }
+        if (row == null || row.companyId() == null || overflowCompanies.contains(row.companyId())) {
+            return;
+        }
+        boolean known = companyByEmployee.containsKey(employeeId);
+        if (!known && documentCount.get() >= maxDocuments()) {
+            return; // kapasite dolu; bir sonraki kurulumda şirket overflow olarak işaretlenir
+        }
+        shards.computeIfAbsent(row.companyId(), id -> newShard()).upsert(row);
+        if (!known) {
+            companyByEmployee.put(employeeId, row.companyId());
+            documentCount.incrementAndGet();
+        }
+    }
+
+    // Tek şirketin satırlarından index'e bağlı olmayan bir shard kurar
+    protected S loadCompany(Long companyId) {
+        int batchSize = buildBatchSize();
+        S shard = newShard();
+        long afterId = 0;
+        List<R> batch;
+        do {
+            batch = findCompanyRowsAfter(companyId, afterId, Limit.of(batchSize));
+            for (R row : batch) {
+                afterId = row.id();
+                shard.upsert(row);
+            }
+        } while (batch.size() == batchSize);
+        return shard;
+    }
+
+    protected boolean isReady() {
+        return ready;
+    }
+
+    protected boolean isOverflow(Long companyId) {
+        return overflowCompanies.contains(companyId);
+    }
+
+    protected S shard(Long companyId) {
+        return shards.get(companyId);
+    }
+
+    protected Map<Long, S> shards() {
+        return shards;
+    }
+
+    protected long documentCount() {
+        return documentCount.get();
+    }
+
+    protected int overflowCompanyCount() {
+        return overflowCompanies.size();
+    }
+}
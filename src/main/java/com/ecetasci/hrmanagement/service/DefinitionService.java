@@ -2,6 +2,7 @@ package com.ecetasci.hrmanagement.service;
 
 import com.ecetasci.hrmanagement.dto.request.LeaveTypeRequest;
 import com.ecetasci.hrmanagement.dto.response.DepartmentDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
 import com.ecetasci.hrmanagement.dto.response.PositionDto;
 import com.ecetasci.hrmanagement.entity.Department;
 import com.ecetasci.hrmanagement.entity.LeaveType;
@@ -18,7 +19,6 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +28,11 @@ public class DefinitionService {
     private final LeaveTypeRepository leaveTypeRepository;
     private final PositionRepository positionRepository;
     private final CompanyRepository companyRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     // --- Leave Types ---
-    public List<LeaveType> findAllLeaveTypes(Long companyId) {
-        return leaveTypeRepository.findAllByCompanyId(companyId);
+    public List<LeaveTypeResponseDto> findAllLeaveTypes(Long companyId) {
+        return referenceDataCache.leaveTypes(companyId);
     }
 
     public Long saveLeaveType(LeaveTypeRequest leaveTypeRequest) {
@@ -46,9 +47,12 @@ public class DefinitionService {
                 .description(leaveTypeRequest.description())
                 .isPaid(leaveTypeRequest.isPaid())
                 .maxDays(leaveTypeRequest.maxDay())
+                .annualAccrualDays(leaveTypeRequest.annualAccrualDays())
+                .carryOverCap(leaveTypeRequest.carryOverCap())
                 .build();
 
         LeaveType saved = leaveTypeRepository.save(leaveType);
+        referenceDataCache.invalidateLeaveTypes(leaveTypeRequest.companyId());
         return saved.getId();
     }
 
@@ -59,19 +63,26 @@ public class DefinitionService {
         existing.setDescription(updated.description());
         existing.setMaxDays(updated.maxDay());
         existing.setPaid(updated.isPaid());
+        existing.setAnnualAccrualDays(updated.annualAccrualDays());
+        existing.setCarryOverCap(updated.carryOverCap());
         LeaveType saved = leaveTypeRepository.save(existing);
+        referenceDataCache.invalidateLeaveTypes(ReferenceDataCache.companyId(existing.getCompany()));
         return saved.getId();
     }
 
     public void deleteLeaveType(Long id) {
         // Tests expect repository.deleteById to be called directly; don't enforce exists check here
+        Long companyId = leaveTypeRepository.findById(id)
+                .map(leaveType -> ReferenceDataCache.companyId(leaveType.getCompany()))
+                .orElse(null);
         leaveTypeRepository.deleteById(id);
+        referenceDataCache.invalidateLeaveTypes(companyId);
     }
 
     // --- Departments ---
     @Transactional
-    public List<Department> findAllDepartments(Long companyId) {
-        return departmentRepository.findAllByCompanyId(companyId);
+    public List<DepartmentDto> findAllDepartments(Long companyId) {
+        return referenceDataCache.departments(companyId);
     }
 
     @Transactional
@@ -90,6 +101,7 @@ public class DefinitionService {
         department.setCompany(companyRepository.getReferenceById(companyId)); // sadece ID set yeterli
         department.setCreatedAt(LocalDateTime.now());
         Department saved = departmentRepository.save(department);
+        referenceDataCache.invalidateDepartments(companyId);
         return saved.getId();
     }
 
@@ -102,28 +114,25 @@ public class DefinitionService {
 
         Department saved = departmentRepository.save(existing);
         saved.setUpdatedAt(LocalDateTime.now());
+        referenceDataCache.invalidateDepartments(ReferenceDataCache.companyId(saved.getCompany()));
         DepartmentDto departmentDto1 = new DepartmentDto(saved.getId(), saved.getName(), saved.getCompany().getCompanyName());
         return departmentDto1;
     }
 
     public void deleteDepartment(Long id) {
         // Allow deleteById to be invoked directly; tests mock repository calls without existsById
+        Long companyId = departmentRepository.findById(id)
+                .map(department -> ReferenceDataCache.companyId(department.getCompany()))
+                .orElse(null);
         departmentRepository.deleteById(id);
+        referenceDataCache.invalidateDepartments(companyId);
     }
 
     // --- Positions ---
     @Transactional
     public List<PositionDto> findAllPositions(Long companyId) {
         // Tests expect a NoSuchElementException when repository returns Optional.empty()
-        List<Position> positions = positionRepository.findAllByCompanyId(companyId)
-                .orElseThrow(NoSuchElementException::new);
-
-        return positions.stream()
-                .map(position -> new PositionDto(
-                        position.getId(),
-                        position.getName(),
-                        position.getDescription()
-                )).toList();
+        return referenceDataCache.positions(companyId);
     }
 
     @Transactional
@@ -136,6 +145,7 @@ public class DefinitionService {
         position.setCreatedAt(LocalDateTime.now());
 
         Position saved = positionRepository.save(position);
+        referenceDataCache.invalidatePositions(positionDto.id());
         return saved.getId();
     }
 
@@ -149,12 +159,17 @@ public class DefinitionService {
         existing.setUpdatedAt(LocalDateTime.now());
 
         Position saved = positionRepository.save(existing);
+        referenceDataCache.invalidatePositions(ReferenceDataCache.companyId(existing.getCompany()));
         return new PositionDto(saved.getId(), saved.getName(), saved.getDescription());
     }
 
     @Transactional
     public void deletePosition(Long id) {
         // Tests mock deleteById directly; avoid pre-check that causes ResourceNotFoundException
+        Long companyId = positionRepository.findById(id)
+                .map(position -> ReferenceDataCache.companyId(position.getCompany()))
+                .orElse(null);
         positionRepository.deleteById(id);
+        referenceDataCache.invalidatePositions(companyId);
     }
 }
@@ -0,0 +1,485 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Şirket bazlı, bellek içi çalışan dizini (search-as-you-type).
+ * <p>
+ * İsim, e-posta ve personel numarası aksan/büyük-küçük harf duyarsız normalize edilip trigram'lara bölünür;
+ * her şirket için trigram -> sıralı slot listesi (posting) tutulur. 3+ karakterlik sorgu, sorgu trigram'larının
+ * posting'leri kesiştirilerek aday kümesine indirilir ve adaylar gerçek "contains" kontrolüyle doğrulanır.
+ * Daha kısa sorgular şirketin kayıtları üzerinde doğrudan taranır.
+ * <p>
+ * Index açılışta ve periyodik olarak baştan kurulur, arada {@link EmployeeChangedEvent} ile artımlı güncellenir.
+ * Toplam kayıt {@code app.search.directory.max-documents} ile sınırlıdır; sınırı aşan şirketlerde ve index
+ * hazır değilken arama DB sorgusuna düşer.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeDirectoryService extends CompanyShardIndex<EmployeeDirectoryRow, EmployeeDirectoryService.Shard> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    // Bellek tahmini için yaklaşık sabitler (64-bit JVM, compressed oops)
+    private static final long BYTES_PER_POSTING = 4;
+    private static final long BYTES_PER_TRIGRAM = 96;   // HashMap entry + Long key + IntList + dizi başlığı
+    private static final long BYTES_PER_DOCUMENT = 160; // DTO + HashMap entry + slot referansları
+    private static final long BYTES_PER_CHAR = 2;       // orijinal + normalize metin (Latin-1 compact string)
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${app.search.directory.max-documents:500000}")
+    private int maxDocuments = 500_000;
+
+    @Value("${app.search.directory.build-batch-size:5000}")
+    private int buildBatchSize = 5000;
+
+    @Value("${app.search.directory.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Event yayınlamayan yazma yolları (seed, kayıt akışları) periyodik kurulumla yakalanır
+    @Override
+    @Scheduled(fixedDelayString = "${app.search.directory.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.search.directory.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        super.rebuild();
+    }
+
+    // Commit sonrası okunur; commit öncesi okunsa değişiklik henüz görünmeyebilirdi
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        employeeChanged(event.employeeId());
+    }
+
+    // Toplu içe aktarmada satır başına okuma yerine yalnızca içe aktaran şirketin shard'ı yeniden okunur
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        if (isReady() && event.companyId() != null) {
+            reloadCompany(event.companyId());
+        }
+    }
+
+    @Override
+    protected Shard newShard() {
+        return new Shard();
+    }
+
+    @Override
+    protected List<EmployeeDirectoryRow> findRowsAfter(long afterId, Limit limit) {
+        return employeeRepository.findDirectoryRowsAfter(afterId, limit);
+    }
+
+    @Override
+    protected List<EmployeeDirectoryRow> findCompanyRowsAfter(Long companyId, long afterId, Limit limit) {
+        return employeeRepository.findDirectoryRowsByCompanyAfter(companyId, afterId, limit);
+    }
+
+    @Override
+    protected Optional<EmployeeDirectoryRow> findRowById(Long employeeId) {
+        return employeeRepository.findDirectoryRowById(employeeId);
+    }
+
+    @Override
+    protected int maxDocuments() {
+        return maxDocuments;
+    }
+
+    @Override
+    protected int buildBatchSize() {
+        return buildBatchSize;
+    }
+
+    @Override
+    protected String indexName() {
+        return "employee_directory";
+    }
+
+    /**
+     * Şirket içinde isim, e-posta veya personel numarasında geçen çalışanları sıralı ve sayfalı döner.
+     * Sıralama: tam eşleşme, alan başı eşleşme, isimde kelime başı eşleşme, herhangi bir yerde eşleşme.
+     */
+    public PagedResponse<EmployeeResponseDto> search(Long companyId, String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int pageIndex = Math.max(0, page);
+        String trimmed = query == null ? "" : query.trim();
+        String q = normalize(trimmed);
+        if (q.isEmpty()) {
+            return toPage(List.of(), pageIndex, pageSize);
+        }
+        if (!isReady() || isOverflow(companyId)) {
+            return searchDatabase(companyId, trimmed, pageIndex, pageSize);
+        }
+        Shard shard = shard(companyId);
+        if (shard == null) {
+            return toPage(List.of(), pageIndex, pageSize);
+        }
+        return toPage(shard.search(q), pageIndex, pageSize);
+    }
+
+    public DirectoryStats stats() {
+        long trigrams = 0;
+        long postings = 0;
+        long chars = 0;
+        Map<Long, Shard> shards = shards();
+        for (Shard shard : shards.values()) {
+            ReentrantReadWriteLock.ReadLock lock = shard.lock.readLock();
+            lock.lock();
+            try {
+                trigrams += shard.postings.size();
+                postings += shard.postingCount;
+                chars += shard.textChars;
+            } finally {
+                lock.unlock();
+            }
+        }
+        long docs = documentCount();
+        long estimatedBytes = postings * BYTES_PER_POSTING + trigrams * BYTES_PER_TRIGRAM
+                + docs * BYTES_PER_DOCUMENT + chars * BYTES_PER_CHAR;
+        return new DirectoryStats(isReady(), shards.size(), docs, maxDocuments, trigrams, postings,
+                estimatedBytes, overflowCompanyCount());
+    }
+
+    public record DirectoryStats(boolean ready, int companies, long documents, int maxDocuments,
+                                 long trigrams, long postings, long estimatedBytes, int overflowCompanies) {
+    }
+
+    // Veritabanı metni aksanlı tuttuğu için aksanı silinmiş sorgu değil, yalnızca küçük harfe çevrilmiş sorgu kullanılır
+    private PagedResponse<EmployeeResponseDto> searchDatabase(Long companyId, String query, int page, int size) {
+        Page<EmployeeResponseDto> result = employeeRepository.searchSummaries(companyId,
+                containsPattern(query.toLowerCase(Locale.ROOT)), PageRequest.of(page, size));
+        return PagedResponse.<EmployeeResponseDto>builder()
+                .content(result.getContent())
+                .page(page)
+                .size(size)
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .last(result.isLast())
+                .build();
+    }
+
+    private static PagedResponse<EmployeeResponseDto> toPage(List<EmployeeResponseDto> ranked, int page, int size) {
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        int totalPages = (ranked.size() + size - 1) / size;
+        return PagedResponse.<EmployeeResponseDto>builder()
+                .content(List.copyOf(ranked.subList(from, to)))
+                .page(page)
+                .size(size)
+                .totalElements(ranked.size())
+                .totalPages(totalPages)
+                .last(to >= ranked.size())
+                .build();
+    }
+
+    // LIKE joker karakterleri (%, _) ve kaçış karakterinin kendisi sorguda düz metin olarak eşleşir
+    static String containsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    // Aksan ve büyük/küçük harf farkını siler: "Çağrı İNCE" -> "cagri ince"
+    static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).replace('ı', 'i');
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * Tek şirketin index'i. Slotlar yalnızca sona eklenir, böylece posting listeleri eklemede sıralı kalır;
+     * silinen slotlar boşaltılır ve oranları yükselince shard yerinde sıkıştırılır.
+     */
+    static final class Shard implements CompanyShardIndex.IndexShard<EmployeeDirectoryRow> {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ArrayList<EmployeeResponseDto> docs = new ArrayList<>();
+        private final ArrayList<String> texts = new ArrayList<>();
+        private final HashMap<Long, Integer> slotById = new HashMap<>();
+        private final HashMap<Long, IntList> postings = new HashMap<>();
+        private long postingCount;
+        private long textChars;
+        private int tombstones;
+
+        @Override
+        public int liveCount() {
+            return slotById.size();
+        }
+
+        @Override
+        public Set<Long> ids() {
+            lock.readLock().lock();
+            try {
+                return Set.copyOf(slotById.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void upsert(EmployeeDirectoryRow row) {
+            lock.writeLock().lock();
+            try {
+                Integer existing = slotById.get(row.id());
+                if (existing != null) {
+                    clearSlot(existing);
+                }
+                EmployeeResponseDto doc = row.toResponse();
+                String text = normalize(doc.name()) + FIELD_SEPARATOR + normalize(doc.email())
+                        + FIELD_SEPARATOR + normalize(doc.employeeNumber());
+                int slot = docs.size();
+                docs.add(doc);
+                texts.add(text);
+                slotById.put(row.id(), slot);
+                textChars += text.length();
+                for (long key : trigrams(text)) {
+                    postings.computeIfAbsent(key, k -> new IntList()).add(slot);
+                    postingCount++;
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean remove(Long employeeId) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slotById.remove(employeeId);
+                if (slot == null) {
+                    return false;
+                }
+                clearSlot(slot);
+                compactIfNeeded();
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<EmployeeResponseDto> search(String q) {
+            List<Match> matches = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                if (q.length() < 3) {
+                    for (int slot = 0; slot < docs.size(); slot++) {
+                        collect(slot, q, matches);
+                    }
+                } else {
+                    long[] keys = trigrams(q);
+                    IntList[] lists = new IntList[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        lists[i] = postings.get(keys[i]);
+                        if (lists[i] == null) {
+                            return List.of();
+                        }
+                    }
+                    Arrays.sort(lists, Comparator.comparingInt(IntList::size));
+                    IntList smallest = lists[0];
+                    outer:
+                    for (int i = 0; i < smallest.size(); i++) {
+                        int slot = smallest.get(i);
+                        for (int j = 1; j < lists.length; j++) {
+                            if (!lists[j].contains(slot)) {
+                                continue outer;
+                            }
+                        }
+                        collect(slot, q, matches);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            matches.sort(Comparator.comparingInt(Match::rank)
+                    .thenComparing(m -> m.doc().name(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(m -> m.doc().id()));
+            return matches.stream().map(Match::doc).toList();
+        }
+
+        private void collect(int slot, String q, List<Match> out) {
+            EmployeeResponseDto doc = docs.get(slot);
+            if (doc == null) {
+                return;
+            }
+            int rank = rank(texts.get(slot), q);
+            if (rank >= 0) {
+                out.add(new Match(doc, rank));
+            }
+        }
+
+        // -1: eşleşme yok (trigram kesişimi yanlış pozitif verebilir)
+        private static int rank(String text, String q) {
+            int best = -1;
+            int fieldIndex = 0;
+            for (String field : text.split(String.valueOf(FIELD_SEPARATOR), -1)) {
+                int pos = field.indexOf(q);
+                if (pos >= 0) {
+                    int r;
+                    if (field.length() == q.length() && fieldIndex > 0) {
+                        r = 0; // e-posta veya personel numarası birebir
+                    } else if (pos == 0) {
+                        r = 1;
+                    } else if (fieldIndex == 0 && field.contains(" " + q)) {
+                        r = 2;
+                    } else {
+                        r = 3;
+                    }
+                    best = best < 0 ? r : Math.min(best, r);
+                }
+                fieldIndex++;
+            }
+            return best;
+        }
+
+        private void clearSlot(int slot) {
+            String text = texts.get(slot);
+            for (long key : trigrams(text)) {
+                IntList list = postings.get(key);
+                if (list != null && list.remove(slot)) {
+                    postingCount--;
+                    if (list.size() == 0) {
+                        postings.remove(key);
+                    }
+                }
+            }
+            textChars -= text.length();
+            docs.set(slot, null);
+            texts.set(slot, "");
+            tombstones++;
+        }
+
+        // Boş slotlar %25'i geçince slotlar yeniden numaralandırılır
+        private void compactIfNeeded() {
+            if (tombstones < 64 || tombstones * 4 < docs.size()) {
+                return;
+            }
+            List<EmployeeResponseDto> liveDocs = new ArrayList<>(slotById.size());
+            List<String> liveTexts = new ArrayList<>(slotById.size());
+            for (int slot = 0; slot < docs.size(); slot++) {
+                if (docs.get(slot) != null) {
+                    liveDocs.add(docs.get(slot));
+                    liveTexts.add(texts.get(slot));
+                }
+            }
+            docs.clear();
+            texts.clear();
+            slotById.clear();
+            postings.clear();
+            postingCount = 0;
+            tombstones = 0;
+            for (int i = 0; i < liveDocs.size(); i++) {
+                docs.add(liveDocs.get(i));
+                texts.add(liveTexts.get(i));
+                slotById.put(liveDocs.get(i).id(), i);
+                for (long key : trigrams(liveTexts.get(i))) {
+                    postings.computeIfAbsent(key, k -> new IntList()).add(i);
+                    postingCount++;
+                }
+            }
+        }
+
+        // Alan ayracını içeren pencereler atlanır; sorgu tek bir alan içinde aranır
+        private static long[] trigrams(String text) {
+            if (text.length() < 3) {
+                return new long[0];
+            }
+            long[] keys = new long[text.length() - 2];
+            int n = 0;
+            for (int i = 0; i + 2 < text.length(); i++) {
+                if (text.charAt(i) == FIELD_SEPARATOR || text.charAt(i + 1) == FIELD_SEPARATOR
+                        || text.charAt(i + 2) == FIELD_SEPARATOR) {
+                    continue;
+                }
+                keys[n++] = trigram(text, i);
+            }
+            return Arrays.stream(keys, 0, n).distinct().toArray();
+        }
+    }
+
+    private record Match(EmployeeResponseDto doc, int rank) {
+    }
+
+    /**
+     * Sıralı, büyüyebilen int dizisi (boxing olmadan posting listesi).
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        // Slotlar artan sırayla geldiği için ekleme sıralamayı bozmaz
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            int idx = Arrays.binarySearch(values, 0, size, value);
+            if (idx < 0) {
+                return false;
+            }
+            System.arraycopy(values, idx + 1, values, idx, size - idx - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
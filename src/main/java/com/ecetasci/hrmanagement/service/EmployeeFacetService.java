@@ -0,0 +1,381 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.EmployeeFacetFilter;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetResponse;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Şirket bazlı facet (bitmap) index'i: departman, pozisyon, işe giriş yılı ve kullanıcı durumu.
+ * <p>
+ * Her şirketin çalışanlarına yoğun slot numaraları verilir; her facet değeri için o değere sahip slotların
+ * {@link BitSet}'i tutulur. Filtre, seçilen değerlerin bitmap'lerinin OR'u ve facet'ler arası AND ile
+ * kelime (64 bit) bazında hesaplanır; facet sayıları da aynı şekilde bitmap kesişiminin cardinality'sidir.
+ * Maliyet şirketteki çalışan sayısı / 64 ile orantılıdır, tabloya gidilmez. Silinen slotlar yeniden kullanılır.
+ * <p>
+ * Index açılışta ve periyodik olarak kurulur, arada {@link EmployeeChangedEvent} / {@link UserChangedEvent}
+ * ile ilgili çalışan, {@link EmployeesImportedEvent} ile içe aktaran şirketin shard'ı yeniden okunarak
+ * güncellenir. Toplam slot sayısı {@code max-documents} ile sınırlıdır; sığmayan şirketler index'e alınmaz
+ * ve istek anında veritabanından okunan geçici bir shard ile yanıtlanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeFacetService extends CompanyShardIndex<EmployeeFacetRow, EmployeeFacetService.Shard> {
+
+    public static final String DEPARTMENT = "department";
+    public static final String POSITION = "position";
+    public static final String HIRE_YEAR = "hireYear";
+    public static final String STATUS = "status";
+    private static final List<String> FACETS = List.of(DEPARTMENT, POSITION, HIRE_YEAR, STATUS);
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${app.search.facets.max-documents:500000}")
+    private int maxDocuments = 500_000;
+
+    @Value("${app.search.facets.build-batch-size:5000}")
+    private int buildBatchSize = 5000;
+
+    @Value("${app.search.facets.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.search.facets.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.search.facets.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        super.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        employeeChanged(event.employeeId());
+    }
+
+    // Aktivasyon / e-posta doğrulama gibi kullanıcı durumu değişiklikleri status facet'ini etkiler
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (isReady() && event.email() != null) {
+            employeeRepository.findIdsByUserEmail(event.email()).forEach(this::employeeChanged);
+        }
+    }
+
+    // Toplu içe aktarmada yalnızca içe aktaran şirketin shard'ı yeniden okunur
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesImported(EmployeesImportedEvent event) {
+        if (isReady() && event.companyId() != null) {
+            reloadCompany(event.companyId());
+        }
+    }
+
+    @Override
+    protected Shard newShard() {
+        return new Shard();
+    }
+
+    @Override
+    protected List<EmployeeFacetRow> findRowsAfter(long afterId, Limit limit) {
+        return employeeRepository.findFacetRowsAfter(afterId, limit);
+    }
+
+    @Override
+    protected List<EmployeeFacetRow> findCompanyRowsAfter(Long companyId, long afterId, Limit limit) {
+        return employeeRepository.findFacetRowsByCompanyAfter(companyId, afterId, limit);
+    }
+
+    @Override
+    protected Optional<EmployeeFacetRow> findRowById(Long employeeId) {
+        return employeeRepository.findFacetRowById(employeeId);
+    }
+
+    @Override
+    protected int maxDocuments() {
+        return maxDocuments;
+    }
+
+    @Override
+    protected int buildBatchSize() {
+        return buildBatchSize;
+    }
+
+    @Override
+    protected String indexName() {
+        return "employee_facets";
+    }
+
+    /**
+     * Filtreye uyan çalışanların id sırasıyla sayfasını ve her facet için değer sayılarını döner.
+     */
+    public EmployeeFacetResponse filter(Long companyId, EmployeeFacetFilter filter, int page, int size) {
+        if (!isReady()) {
+            buildIfNeeded();
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int pageIndex = Math.max(0, page);
+        Shard shard = isOverflow(companyId) ? loadCompany(companyId) : shard(companyId);
+        if (shard == null) {
+            return new EmployeeFacetResponse(toPage(List.of(), 0, pageIndex, pageSize), emptyFacets());
+        }
+        Shard.Result result = shard.query(filter, (long) pageIndex * pageSize, pageSize);
+        List<EmployeeResponseDto> content = result.pageIds().isEmpty()
+                ? List.of()
+                : employeeRepository.findSummariesByIds(result.pageIds());
+        return new EmployeeFacetResponse(toPage(content, result.total(), pageIndex, pageSize), result.facets());
+    }
+
+    private static Map<String, Map<String, Integer>> emptyFacets() {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        FACETS.forEach(f -> facets.put(f, Map.of()));
+        return facets;
+    }
+
+    private static PagedResponse<EmployeeResponseDto> toPage(List<EmployeeResponseDto> content, int total, int page, int size) {
+        int totalPages = (total + size - 1) / size;
+        return PagedResponse.<EmployeeResponseDto>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .last(((long) page + 1) * size >= total)
+                .build();
+    }
+
+    private static String[] valuesOf(EmployeeFacetRow row) {
+        return new String[]{
+                row.department(),
+                row.position(),
+                row.hireDate() == null ? null : String.valueOf(row.hireDate().getYear()),
+                row.userStatus() == null ? null : row.userStatus().name()
+        };
+    }
+
+    static final class Shard implements CompanyShardIndex.IndexShard<EmployeeFacetRow> {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private long[] employeeIds = new long[64];
+        private final List<String[]> slotValues = new ArrayList<>();
+        private final HashMap<Long, Integer> slotById = new HashMap<>();
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        // facet -> değer -> slot bitmap'i (facet sırası FACETS ile aynı)
+        private final List<Map<String, BitSet>> bitmaps = List.of(
+                new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+        @Override
+        public int liveCount() {
+            return slotById.size();
+        }
+
+        @Override
+        public Set<Long> ids() {
+            lock.readLock().lock();
+            try {
+                return Set.copyOf(slotById.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void upsert(EmployeeFacetRow row) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slotById.get(row.id());
+                if (slot == null) {
+                    slot = freeSlots.isEmpty() ? slotValues.size() : freeSlots.pop();
+                    if (slot == slotValues.size()) {
+                        slotValues.add(null);
+                    }
+                    if (slot >= employeeIds.length) {
+                        employeeIds = Arrays.copyOf(employeeIds, employeeIds.length * 2);
+                    }
+                    slotById.put(row.id(), slot);
+                    employeeIds[slot] = row.id();
+                    live.set(slot);
+                } else {
+                    clearValues(slot);
+                }
+                String[] values = valuesOf(row);
+                slotValues.set(slot, values);
+                for (int f = 0; f < values.length; f++) {
+                    if (values[f] != null) {
+                        bitmaps.get(f).computeIfAbsent(values[f], v -> new BitSet()).set(slot);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean remove(Long employeeId) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slotById.remove(employeeId);
+                if (slot == null) {
+                    return false;
+                }
+                clearValues(slot);
+                slotValues.set(slot, null);
+                live.clear(slot);
+                freeSlots.push(slot);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void clearValues(int slot) {
+            String[] values = slotValues.get(slot);
+            if (values == null) {
+                return;
+            }
+            for (int f = 0; f < values.length; f++) {
+                if (values[f] == null) {
+                    continue;
+                }
+                BitSet bits = bitmaps.get(f).get(values[f]);
+                if (bits != null) {
+                    bits.clear(slot);
+                    if (bits.isEmpty()) {
+                        bitmaps.get(f).remove(values[f]);
+                    }
+                }
+            }
+        }
+
+        Result query(EmployeeFacetFilter filter, long offset, int limit) {
+            lock.readLock().lock();
+            try {
+                BitSet[] selections = new BitSet[FACETS.size()];
+                selections[0] = select(0, filter == null ? null : valuePredicate(filter.departments()));
+                selections[1] = select(1, filter == null ? null : valuePredicate(filter.positions()));
+                selections[2] = select(2, yearPredicate(filter));
+                selections[3] = select(3, statusPredicate(filter));
+
+                BitSet matched = (BitSet) live.clone();
+                for (BitSet selection : selections) {
+                    if (selection != null) {
+                        matched.and(selection);
+                    }
+                }
+
+                // Disjunctive sayım: facet f'nin sayıları f dışındaki seçimlerle hesaplanır
+                Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+                for (int f = 0; f < FACETS.size(); f++) {
+                    BitSet base = (BitSet) live.clone();
+                    for (int g = 0; g < selections.length; g++) {
+                        if (g != f && selections[g] != null) {
+                            base.and(selections[g]);
+                        }
+                    }
+                    Map<String, Integer> counts = new TreeMap<>();
+                    for (Map.Entry<String, BitSet> entry : bitmaps.get(f).entrySet()) {
+                        BitSet bits = (BitSet) entry.getValue().clone();
+                        bits.and(base);
+                        int count = bits.cardinality();
+                        if (count > 0) {
+                            counts.put(entry.getKey(), count);
+                        }
+                    }
+                    facets.put(FACETS.get(f), counts);
+                }
+
+                long[] ids = new long[matched.cardinality()];
+                int n = 0;
+                for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+                    ids[n++] = employeeIds[slot];
+                }
+                Arrays.sort(ids);
+                // Sonuç sayısını aşan sayfa boş döner; sayılar yine de hesaplanmış olur
+                int from = (int) Math.min(offset, ids.length);
+                int to = (int) Math.min((long) from + limit, ids.length);
+                List<Long> pageIds = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    pageIds.add(ids[i]);
+                }
+                return new Result(ids.length, pageIds, facets);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // null: facet filtrelenmiyor; aksi halde eşleşen değerlerin bitmap'lerinin OR'u (hiç yoksa boş)
+        private BitSet select(int facet, Predicate<String> accepts) {
+            if (accepts == null) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (Map.Entry<String, BitSet> entry : bitmaps.get(facet).entrySet()) {
+                if (accepts.test(entry.getKey())) {
+                    union.or(entry.getValue());
+                }
+            }
+            return union;
+        }
+
+        private static Predicate<String> valuePredicate(Set<String> values) {
+            return values == null || values.isEmpty() ? null : values::contains;
+        }
+
+        private static Predicate<String> yearPredicate(EmployeeFacetFilter filter) {
+            if (filter == null || (filter.hireYearFrom() == null && filter.hireYearTo() == null)) {
+                return null;
+            }
+            int from = filter.hireYearFrom() == null ? Integer.MIN_VALUE : filter.hireYearFrom();
+            int to = filter.hireYearTo() == null ? Integer.MAX_VALUE : filter.hireYearTo();
+            return year -> {
+                int y = Integer.parseInt(year);
+                return y >= from && y <= to;
+            };
+        }
+
+        private static Predicate<String> statusPredicate(EmployeeFacetFilter filter) {
+            if (filter == null || filter.statuses() == null || filter.statuses().isEmpty()) {
+                return null;
+            }
+            Set<String> names = new HashSet<>();
+            for (UserStatus status : filter.statuses()) {
+                names.add(status.name());
+            }
+            return names::contains;
+        }
+
+        private record Result(int total, List<Long> pageIds, Map<String, Map<String, Integer>> facets) {
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.EmployeeImportReport;
+import com.ecetasci.hrmanagement.dto.response.EmployeeImportReport.RowError;
+import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.CsvReader;
+import com.ecetasci.hrmanagement.utility.SequenceIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * CSV'den toplu personel içe aktarma.
+ * <p>
+ * Dosya akış olarak satır satır okunur ve doğrulanır; geçerli satırlar {@code chunk-size}'lık parçalar halinde
+ * işlenir. Her parçada parolalar sınırlı bir thread havuzunda paralel hash'lenir, {@code users},
+ * {@code employees} ve doğrulama token'ları JDBC batch ile tek transaction içinde eklenir. Doğrulama
+ * e-postaları commit sonrası ayrı bir kuyruğa bırakılır. Hatalı satırlar atlanır ve satır numarasıyla raporlanır;
+ * abonelik çalışan limitini aşan satırlar da aynı şekilde atlanır.
+ * <p>
+ * Beklenen başlık satırı (sıra serbest, büyük/küçük harf duyarsız):
+ * {@code name,email,password[,position,department,birthDate,hireDate,salary,phoneNumber,address,emergencyContact]}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportService {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "password");
+    static final String CHUNK_FAILED_MESSAGE = "Chunk rolled back due to a database error, please retry these rows";
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    // Entity'lerdeki @SequenceGenerator tanımlarıyla aynı olmalı
+    private static final String USER_SEQUENCE = "user_seq";
+    private static final String EMPLOYEE_SEQUENCE = "employee_seq";
+    private static final int ID_BLOCK = 50;
+
+    private static final String INSERT_USER = "insert into users (id, name, email, password, role, user_status, " +
+            "is_first_admin, created_at, updated_at) values (?, ?, ?, ?, ?, ?, false, ?, ?)";
+    private static final String INSERT_EMPLOYEE = "insert into employees (id, name, email, employee_number, birth_date, " +
+            "hire_date, position, department, salary, phone_number, address, emergency_contact, company_id, role, " +
+            "user_id, password, leave_balance, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeNumberAllocator employeeNumberAllocator;
+    private final EmployeeNumberResolver employeeNumberResolver;
+    private final UserTokenService userTokenService;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantContext tenantContext;
+    private final LeaveAccrualService leaveAccrualService;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.import.max-rows:100000}")
+    private int maxRows = 100_000;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    // 0 => işlemci sayısı
+    @Value("${app.import.hash-threads:0}")
+    private int hashThreads = 0;
+
+    @Value("${app.import.mail-threads:2}")
+    private int mailThreads = 2;
+
+    @Value("${app.import.mail-queue-capacity:100000}")
+    private int mailQueueCapacity = 100_000;
+
+    private ExecutorService hashPool;
+    private ThreadPoolExecutor mailPool;
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        hashPool = Executors.newFixedThreadPool(threads, daemonThreads("import-hash-"));
+        // Kuyruk dolarsa gönderim çağıran thread'de yapılır (geri basınç); e-posta kaybolmaz
+        mailPool = new ThreadPoolExecutor(mailThreads, mailThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(mailQueueCapacity), daemonThreads("import-mail-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+        mailPool.shutdown();
+    }
+
+    public EmployeeImportReport importCsv(Long companyId, InputStream input) throws IOException {
+        if (companyId == null) {
+            throw new ValidationException("companyId is required");
+        }
+        long started = System.currentTimeMillis();
+        ImportState state = new ImportState();
+        // Abonelik kotası dolmuşsa dosya hiç okunmaz; kalan kota parça parça tüketilir
+        state.seatsLeft = tenantContext.availableSeats(companyId);
+        if (state.seatsLeft == 0) {
+            throw new ForbiddenException(TenantContext.SEAT_LIMIT_MESSAGE);
+        }
+        state.initialLeaveBalance = leaveAccrualService.initialLeaveBalance(companyId);
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        try (CsvReader csv = new CsvReader(reader, ',', 4096)) {
+            Map<String, Integer> columns = readHeader(csv.next());
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            List<String> fields;
+            while ((fields = nextRecord(csv, state)) != null) {
+                if (state.totalRows >= maxRows) {
+                    state.error(csv.recordLine(), null, "Row limit exceeded (max " + maxRows + "), remaining rows skipped");
+                    break;
+                }
+                state.totalRows++;
+                ImportRow row = parse(csv.recordLine(), fields, columns, state);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(companyId, chunk, state);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(companyId, chunk, state);
+            }
+        }
+
+        if (state.imported > 0) {
+            eventPublisher.publishEvent(new EmployeesImportedEvent(companyId, state.imported));
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("employee_import company_id={} rows={} imported={} failed={} elapsed_ms={}",
+                companyId, state.totalRows, state.imported, state.failed, elapsed);
+        return new EmployeeImportReport(state.totalRows, state.imported, state.failed, elapsed,
+                state.errors, state.errorsTruncated);
+    }
+
+    private List<String> nextRecord(CsvReader csv, ImportState state) throws IOException {
+        try {
+            return csv.next();
+        } catch (ValidationException e) {
+            // Kapanmamış tırnak gibi yapısal hatalardan sonra dosyanın geri kalanı güvenilir okunamaz
+            state.error(csv.recordLine(), null, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new ValidationException("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // UTF-8 BOM
+            }
+            columns.put(name.toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new ValidationException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow parse(long line, List<String> fields, Map<String, Integer> columns, ImportState state) {
+        ImportRow row = new ImportRow(line);
+        row.email = value(fields, columns, "email");
+        try {
+            row.name = required(fields, columns, "name", 50);
+            row.email = required(fields, columns, "email", 100);
+            if (!EMAIL.matcher(row.email).matches()) {
+                throw new ValidationException("Invalid email");
+            }
+            row.password = required(fields, columns, "password", 255);
+            row.position = optional(fields, columns, "position", 255);
+            row.department = optional(fields, columns, "department", 255);
+            row.birthDate = date(fields, columns, "birthDate");
+            row.hireDate = date(fields, columns, "hireDate");
+            String salary = optional(fields, columns, "salary", 32);
+            row.salary = salary == null ? null : new BigDecimal(salary);
+            row.phoneNumber = optional(fields, columns, "phoneNumber", 20);
+            row.address = optional(fields, columns, "address", 255);
+            row.emergencyContact = optional(fields, columns, "emergencyContact", 150);
+        } catch (ValidationException e) {
+            state.error(line, row.email, e.getMessage());
+            return null;
+        } catch (NumberFormatException e) {
+            state.error(line, row.email, "Invalid salary");
+            return null;
+        }
+        if (!state.seenEmails.add(row.email.toLowerCase(Locale.ROOT))) {
+            state.error(line, row.email, "Duplicate email in file");
+            return null;
+        }
+        return row;
+    }
+
+    private void processChunk(Long companyId, List<ImportRow> chunk, ImportState state) {
+        // Dosya içi tekrar kontrolü gibi büyük/küçük harf duyarsız: "Ali@x.com" kayıtlıysa "ali@x.com" de kayıtlıdır
+        List<String> emails = chunk.stream().map(r -> r.email.toLowerCase(Locale.ROOT)).toList();
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+        existing.addAll(employeeRepository.findExistingEmails(emails));
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.email.toLowerCase(Locale.ROOT))) {
+                state.error(row.line, row.email, "Email already registered");
+            } else if (rows.size() >= state.seatsLeft) {
+                state.error(row.line, row.email, TenantContext.SEAT_LIMIT_MESSAGE);
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // BCrypt bilerek yavaştır; parça içindeki hash'ler sınırlı havuzda paralel hesaplanır
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(r -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(r.password), hashPool))
+                .toList();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            row.passwordHash = hashes.get(i).join();
+            row.password = null;
+            row.employeeNumber = employeeNumberAllocator.next();
+        }
+
+        List<String> tokens;
+        try {
+            tokens = transactionTemplate.execute(status -> insertChunk(companyId, rows, state.initialLeaveBalance));
+        } catch (DataAccessException e) {
+            // Aynı anda başka bir kayıt aynı e-postayı almış olabilir; parça geri alınır ve satırlar raporlanır
+            // Sürücü mesajı tablo/constraint adlarını içerir; rapora değil yalnızca loga yazılır
+            log.warn("employee_import chunk_failed company_id={} rows={} first_line={}", companyId, rows.size(),
+                    rows.get(0).line, e);
+            for (ImportRow row : rows) {
+                state.error(row.line, row.email, CHUNK_FAILED_MESSAGE);
+            }
+            return;
+        }
+        state.imported += rows.size();
+        state.seatsLeft -= rows.size();
+
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            employeeNumberResolver.remember(row.employeeNumber, row.employeeId);
+            String token = tokens.get(i);
+            mailPool.execute(() -> sendVerification(row.email, token));
+        }
+    }
+
+    // Id'ler entity'lerle aynı pooled sequence'lerden önceden ayrılır; batch generated-key dönüşü gerekmez
+    private List<String> insertChunk(Long companyId, List<ImportRow> rows, int initialLeaveBalance) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> userIds = SequenceIds.next(jdbcTemplate, USER_SEQUENCE, ID_BLOCK, rows.size());
+        List<Long> employeeIds = SequenceIds.next(jdbcTemplate, EMPLOYEE_SEQUENCE, ID_BLOCK, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).userId = userIds.get(i);
+            rows.get(i).employeeId = employeeIds.get(i);
+        }
+        batchInsert(INSERT_USER, rows, (ps, row) -> {
+            ps.setLong(1, row.userId);
+            ps.setString(2, row.name);
+            ps.setString(3, row.email);
+            ps.setString(4, row.passwordHash);
+            ps.setString(5, Role.EMPLOYEE.name());
+            ps.setString(6, UserStatus.PENDING_EMAIL_VERIFICATION.name());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        batchInsert(INSERT_EMPLOYEE, rows, (ps, row) -> {
+            ps.setLong(1, row.employeeId);
+            ps.setString(2, row.name);
+            ps.setString(3, row.email);
+            ps.setString(4, row.employeeNumber);
+            ps.setObject(5, row.birthDate == null ? null : Date.valueOf(row.birthDate), Types.DATE);
+            ps.setObject(6, row.hireDate == null ? null : Date.valueOf(row.hireDate), Types.DATE);
+            ps.setString(7, row.position);
+            ps.setString(8, row.department);
+            ps.setBigDecimal(9, row.salary);
+            ps.setString(10, row.phoneNumber);
+            ps.setString(11, row.address);
+            ps.setString(12, row.emergencyContact);
+            ps.setLong(13, companyId);
+            ps.setString(14, Role.EMPLOYEE.name());
+            ps.setLong(15, row.userId);
+            ps.setString(16, row.passwordHash);
+            ps.setInt(17, initialLeaveBalance);
+            ps.setTimestamp(18, now);
+            ps.setTimestamp(19, now);
+        });
+        return userTokenService.issueForNewUsers(userIds, TokenPurpose.EMAIL_VERIFICATION);
+    }
+
+    private void batchInsert(String sql, List<ImportRow> rows, RowBinder binder) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, rows.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private void sendVerification(String email, String token) {
+        try {
+            emailService.sendVerificationEmail(email, token);
+        } catch (RuntimeException e) {
+            log.warn("employee_import verification_mail_failed reason={}", e.getMessage());
+        }
+    }
+
+    private static String value(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> columns, String column, int maxLength) {
+        String value = optional(fields, columns, column, maxLength);
+        if (value == null) {
+            throw new ValidationException(column + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(List<String> fields, Map<String, Integer> columns, String column, int maxLength) {
+        String value = value(fields, columns, column);
+        if (value != null && value.length() > maxLength) {
+            throw new ValidationException(column + " exceeds " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDate date(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = value(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(column + " must be yyyy-MM-dd");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, ImportRow row) throws SQLException;
+    }
+
+    private static final class ImportRow {
+        final long line;
+        String name;
+        String email;
+        String password;
+        String passwordHash;
+        String position;
+        String department;
+        LocalDate birthDate;
+        LocalDate hireDate;
+        BigDecimal salary;
+        String phoneNumber;
+        String address;
+        String emergencyContact;
+        String employeeNumber;
+        Long userId;
+        Long employeeId;
+
+        ImportRow(long line) {
+            this.line = line;
+        }
+    }
+
+    private final class ImportState {
+        final Set<String> seenEmails = new HashSet<>();
+        final List<RowError> errors = new ArrayList<>();
+        int totalRows;
+        int imported;
+        int failed;
+        long seatsLeft;
+        int initialLeaveBalance;
+        boolean errorsTruncated;
+
+        void error(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, email, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Personel numarası üretici (hi/lo blok tahsisi).
+ * <p>
+ * Her node {@code employee_number_seq} sequence'inden bir "hi" değeri alır ve
+ * {@code [hi * blockSize, (hi + 1) * blockSize)} aralığını kendine ayırır; bu aralıktaki numaralar bellekten
+ * kilitsiz ({@link AtomicLong}) dağıtılır. Sequence node'lar arasında tekil olduğu için çakışma olmaz ve
+ * işe alım başına DB sorgusu yapılmaz. Sıradaki değer {@code A000000 .. Z999999} biçimine çevrilir.
+ * <p>
+ * Eski rastgele üretilmiş numaralarla çakışmamak için blok alınırken o aralıkta kullanılmış numaralar tek
+ * sorguyla okunup atlanır (blok başına bir sorgu).
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeNumberAllocator {
+
+    static final int NUMBERS_PER_PREFIX = 1_000_000;
+    static final long CAPACITY = 26L * NUMBERS_PER_PREFIX;
+    private static final String SEQUENCE = "employee_number_seq";
+    private static final Pattern FORMAT = Pattern.compile("[A-Z]\\d{6}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+
+    // 1.000.000'u tam bölmeli; böylece bir blok hiçbir zaman iki harf önekine taşmaz
+    @Value("${app.employee-number.block-size:100}")
+    private int blockSize = 100;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private LongSupplier hiSource;
+    private volatile boolean sequenceReady;
+
+    @PostConstruct
+    void init() {
+        if (blockSize <= 0 || NUMBERS_PER_PREFIX % blockSize != 0) {
+            throw new IllegalStateException("app.employee-number.block-size must divide " + NUMBERS_PER_PREFIX);
+        }
+        if (hiSource == null) {
+            hiSource = this::nextHiFromSequence;
+        }
+    }
+
+    void setHiSource(LongSupplier hiSource) {
+        this.hiSource = hiSource;
+    }
+
+    public String next() {
+        while (true) {
+            Block block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                if (!block.taken.contains(value)) {
+                    return format(value);
+                }
+                continue;
+            }
+            synchronized (this) {
+                // Başka bir thread blok tükenince yenisini zaten almış olabilir
+                if (current.get() == block) {
+                    current.set(reserveBlock());
+                }
+            }
+        }
+    }
+
+    static String format(long value) {
+        if (value < 0 || value >= CAPACITY) {
+            throw new IllegalStateException("Employee number space exhausted");
+        }
+        char[] out = new char[7];
+        out[0] = (char) ('A' + value / NUMBERS_PER_PREFIX);
+        long digits = value % NUMBERS_PER_PREFIX;
+        for (int i = 6; i >= 1; i--) {
+            out[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(out);
+    }
+
+    private Block reserveBlock() {
+        long hi = hiSource.getAsLong();
+        long start = hi * blockSize;
+        long end = start + blockSize;
+        if (end > CAPACITY) {
+            throw new IllegalStateException("Employee number space exhausted");
+        }
+        Set<Long> taken = new HashSet<>();
+        for (String number : employeeRepository.findEmployeeNumbersBetween(format(start), format(end - 1))) {
+            if (FORMAT.matcher(number).matches()) {
+                taken.add(parse(number));
+            }
+        }
+        return new Block(start, end, taken);
+    }
+
+    private static long parse(String number) {
+        return (long) (number.charAt(0) - 'A') * NUMBERS_PER_PREFIX + Long.parseLong(number.substring(1));
+    }
+
+    private long nextHiFromSequence() {
+        if (!sequenceReady) {
+            jdbcTemplate.execute("create sequence if not exists " + SEQUENCE + " start with 0 minvalue 0");
+            sequenceReady = true;
+        }
+        Long hi = jdbcTemplate.queryForObject("select nextval('" + SEQUENCE + "')", Long.class);
+        if (hi == null) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " returned no value");
+        }
+        return hi;
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0, Set.of());
+
+        final AtomicLong next;
+        final long end;
+        final Set<Long> taken;
+
+        Block(long start, long end, Set<Long> taken) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.taken = taken;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Personel numarasından çalışana tek adımda çözümleme.
+ * <p>
+ * Numaralar veritabanında kanonik biçimde (trim + büyük harf) tutulur, böylece her arama unique index'i
+ * kullanan tek bir eşitlik sorgusudur. {@code employeeNumber → employeeId} eşlemesi write-through bir
+ * cache'te tutulur: kayıt sırasında cache'e yazılır, okumada cache'teki id ile birincil anahtardan
+ * okunur. Silinmiş/değişmiş kayıtlar okumada fark edilir ve cache kendini düzeltir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeNumberResolver {
+
+    private final EmployeeRepository employeeRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.employee-number.id-cache.max-size:50000}")
+    private int cacheMaxSize = 50_000;
+
+    @Value("${app.employee-number.id-cache.ttl-seconds:3600}")
+    private long cacheTtlSeconds = 3600;
+
+    private TtlCache<String, Long> idCache;
+
+    // Kanonik biçime çekilemeyen eski kayıt kalmadıysa kanonik aramada bulunamayan numara için tablo taranmaz.
+    // Açılış kontrolü bitene (veya başarısız olana) kadar güvenli tarafta kalınır.
+    private volatile boolean legacyNumbersPresent = true;
+
+    @PostConstruct
+    void init() {
+        idCache = cacheRegistry.register(
+                new TtlCache<>("employeeNumberIds", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds)));
+    }
+
+    public Optional<Employee> resolve(String employeeNumber) {
+        String canonical = Employee.canonicalEmployeeNumber(employeeNumber);
+        if (canonical == null || canonical.isEmpty()) {
+            return Optional.empty();
+        }
+        Long cachedId = idCache.get(canonical);
+        if (cachedId != null) {
+            Optional<Employee> cached = employeeRepository.findById(cachedId)
+                    .filter(e -> canonical.equals(e.getEmployeeNumber()));
+            if (cached.isPresent()) {
+                return cached;
+            }
+            idCache.invalidate(canonical);
+        }
+        Optional<Employee> found = employeeRepository.findByEmployeeNumber(canonical);
+        if (found.isPresent()) {
+            remember(found.get());
+            return found;
+        }
+        if (!legacyNumbersPresent) {
+            return Optional.empty();
+        }
+        // Çakışma yüzünden kanonik biçime çekilememiş eski kayıt; index kullanamayan tarama, cache'e yazılmaz
+        return employeeRepository.findLegacyByCanonical(canonical, Limit.of(1)).stream().findFirst();
+    }
+
+    public Employee require(String employeeNumber, String label) {
+        return resolve(employeeNumber)
+                .orElseThrow(() -> new ResourceNotFoundException(label + " not found: " + trimmed(employeeNumber)));
+    }
+
+    /**
+     * Write-through: yeni kaydedilen çalışanın numarasını cache'e yazar.
+     */
+    public void remember(Employee employee) {
+        if (employee != null) {
+            remember(employee.getEmployeeNumber(), employee.getId());
+        }
+    }
+
+    public void remember(String employeeNumber, Long employeeId) {
+        if (employeeNumber == null || employeeId == null) {
+            return;
+        }
+        idCache.put(Employee.canonicalEmployeeNumber(employeeNumber), employeeId);
+    }
+
+    // Eski kayıtlar büyük/küçük harf karışık olabilir; açılışta bir kez kanonik biçime çekilir.
+    // Güncelleme repository'nin kendi transaction'ında çalışır, hata burada yakalanır ve açılışı durdurmaz.
+    // Güncelleme çakışan satırları atladığı için sonrasında kalan çakışmalar tam olarak eski kayıtlardır.
+    @EventListener(ApplicationReadyEvent.class)
+    public void canonicalizeStoredNumbers() {
+        try {
+            int updated = employeeRepository.canonicalizeEmployeeNumbers();
+            if (updated > 0) {
+                log.info("employee_numbers_canonicalized count={}", updated);
+            }
+            List<String> collisions = employeeRepository.findCanonicalCollisions();
+            if (!collisions.isEmpty()) {
+                log.warn("employee_numbers_colliding count={} numbers={}", collisions.size(),
+                        collisions.subList(0, Math.min(collisions.size(), 20)));
+            }
+            legacyNumbersPresent = !collisions.isEmpty();
+        } catch (DataAccessException e) {
+            log.warn("employee_numbers_canonicalize_failed reason={}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static String trimmed(String value) {
+        return Objects.toString(value, "").trim();
+    }
+}
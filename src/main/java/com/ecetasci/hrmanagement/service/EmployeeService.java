@@ -5,17 +5,19 @@ import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 
@@ -28,24 +30,21 @@ public class EmployeeService {
     private final EmailService emailService; // email bildirimleri için
     private final PasswordEncoder passwordEncoder;
     private final ExpenseRepository expenseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeNumberAllocator employeeNumberAllocator;
+    private final EmployeeNumberResolver employeeNumberResolver;
+    private final TenantContext tenantContext;
+    private final LeaveAccrualService leaveAccrualService;
 
     public Page<EmployeeResponseDto> getAllEmployees(Long companyId, Pageable pageable) {
-        return employeeRepository.findAllByCompanyId(companyId, pageable)
-                .map(emp -> new EmployeeResponseDto(
-                        emp.getId(),
-                        emp.getEmployeeNumber(),
-                        emp.getName(),
-
-                        emp.getEmail(),
-                        emp.getPosition(),
-                        emp.getDepartment()
-                ));
+        return employeeRepository.findSummariesByCompanyId(companyId, pageable);
     }
 
 //Managerdan bağımsız employee oluşturma seçeneği olması için yazıldı,
     public EmployeeResponseDto createEmployee(Long companyId, EmployeeRequestDto dto) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+        // Şirket ve abonelik tenant cache'inden; abonelik çalışan limiti varsa aşılamaz
+        tenantContext.requireSeats(companyId, 1);
+        Company company = companyRepository.getReferenceById(companyId);
 
         // Otomatik personel numarası üretme
         String employeeNumber = UUID.randomUUID().toString().substring(0,8);
@@ -64,10 +63,13 @@ public class EmployeeService {
                 .address(dto.address())
                 .emergencyContact(dto.emergencyContact())
                 .company(company)
+                .leaveBalance(leaveAccrualService.initialLeaveBalance(companyId))
                 .employeeNumber(employeeNumber)
                 .build();
 
         Employee saved = employeeRepository.save(employee);
+        employeeNumberResolver.remember(saved);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(saved.getId()));
 
         // Email bildirimi
         emailService.send(saved.getEmail(), "Welcome " + saved.getName(), "Hoşgeldiniz");
@@ -80,21 +82,9 @@ public class EmployeeService {
         );
     }
 
+    // Format: tek büyük harf + 6 haneli sıfır dolgulu sayı => A123456 (blok tahsisli, DB sorgusu yok)
     public String generateEmployeeNumber() {
-        // Prefix: tek büyük harf, ardından 6 haneli sıfır dolgulu sayı => A123456
-        for (int attempt = 0; attempt < 10; attempt++) {
-            char prefix = (char) ('A' + ThreadLocalRandom.current().nextInt(26));
-            int number = ThreadLocalRandom.current().nextInt(0, 1_000_000);
-            String candidate = String.format("%c%06d", prefix, number);
-
-            // repository'de var mı kontrol et (findByEmployeeNumber var varsayımıyla)
-            if (employeeRepository.findEmployeeByEmployeeNumber(candidate).isEmpty()) {
-                return candidate;
-            }
-        }
-
-        // Nadiren çakışma olursa güvenli fallback
-        return "EMP" + System.currentTimeMillis();
+        return employeeNumberAllocator.next();
     }
 
     public EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto dto) {
@@ -112,6 +102,7 @@ public class EmployeeService {
         emp.setEmergencyContact(dto.emergencyContact());
 
         Employee updated = employeeRepository.save(emp);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updated.getId()));
         return new EmployeeResponseDto(
                 updated.getId(), updated.getEmployeeNumber(),
                 updated.getName(),
@@ -125,6 +116,7 @@ public class EmployeeService {
             throw new ResourceNotFoundException("Employee not found");
         }
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id));
     }
 
     public void activateEmployee(Long id, boolean activate) {
@@ -132,6 +124,7 @@ public class EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
         emp.getUser().setUserStatus(UserStatus.ACTIVE);
         employeeRepository.save(emp);
+        eventPublisher.publishEvent(new UserChangedEvent(emp.getUser().getEmail()));
 
         String status = activate ? "activated" : "deactivated";
         emailService.send(emp.getEmail(),"aktivasyon" ,"Your account has been " + status);
@@ -139,6 +132,9 @@ public class EmployeeService {
 
 
     public Employee save(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        employeeNumberResolver.remember(saved);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(saved.getId()));
+        return saved;
     }
 }
@@ -23,15 +23,7 @@ public class ExpenseService {
 
 
     public List<ExpenseResponseDto> getEmployeeExpenses(Long employeeId) {
-        return expenseRepository.findByEmployee_Id(employeeId).stream()
-                .map(expense -> new ExpenseResponseDto(
-                        expense.getId(),
-                        expense.getDescription(),
-                        expense.getAmount(),
-                        expense.getExpenseDate(),
-                        expense.getStatus()
-                ))
-                .toList();
+        return expenseRepository.findSummariesByEmployeeId(employeeId);
     }
 
 
@@ -60,15 +52,7 @@ public class ExpenseService {
     }
 
     public List<ExpenseResponseDto> getCompanyExpenses(Long companyId) {
-        return expenseRepository.findByEmployee_Company_Id(companyId).stream()
-                .map(expense -> new ExpenseResponseDto(
-                        expense.getId(),
-                        expense.getDescription(),
-                        expense.getAmount(),
-                        expense.getExpenseDate(),
-                        expense.getStatus()
-                ))
-                .toList();
+        return expenseRepository.findSummariesByCompanyId(companyId);
     }
 
     @Transactional
@@ -0,0 +1,195 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Çalışan ve gider kayıtlarını CSV veya NDJSON olarak akış halinde dışa aktarır.
+ * <p>
+ * Entity yüklenmez: sorgu forward-only, read-only bir JDBC cursor üzerinden {@code fetch-size}'lık parçalarla
+ * okunur ve her satır okunduğu anda çıktıya yazılır. Persistence context hiç dolmadığı için temizlemeye de gerek
+ * kalmaz; bellek kullanımı satır sayısından bağımsızdır. PostgreSQL sürücüsü fetch size'ı yalnızca autocommit
+ * kapalıyken uyguladığı için sorgu read-only bir transaction içinde çalışır.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    static final List<String> EMPLOYEE_COLUMNS = List.of("id", "employeeNumber", "name", "email", "department",
+            "position", "hireDate", "salary", "phoneNumber", "status");
+    static final List<String> EXPENSE_COLUMNS = List.of("id", "employeeNumber", "employeeName", "description",
+            "amount", "expenseDate", "status", "willAdd");
+
+    private static final String EMPLOYEE_SQL = "select e.id, e.employee_number, e.name, e.email, e.department, " +
+            "e.position, e.hire_date, e.salary, e.phone_number, u.user_status " +
+            "from employees e left join users u on u.id = e.user_id where e.company_id = ? order by e.id";
+    private static final String EXPENSE_SQL = "select x.id, e.employee_number, e.name, x.description, x.amount, " +
+            "x.expense_date, x.status, x.will_add " +
+            "from expense x join employees e on e.id = x.employee_id where e.company_id = ? order by x.id";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    public long exportEmployees(Long companyId, ExportFormat format, OutputStream out) throws IOException {
+        return export(EMPLOYEE_SQL, companyId, EMPLOYEE_COLUMNS, format, out);
+    }
+
+    public long exportExpenses(Long companyId, ExportFormat format, OutputStream out) throws IOException {
+        return export(EXPENSE_SQL, companyId, EXPENSE_COLUMNS, format, out);
+    }
+
+    private long export(String sql, Long companyId, List<String> columns, ExportFormat format, OutputStream out)
+            throws IOException {
+        RowSink sink = format == ExportFormat.NDJSON ? new NdjsonSink(out, columns) : new CsvSink(out, columns);
+        long[] count = {0};
+        RowCallbackHandler handler = rs -> {
+            try {
+                sink.write(rs);
+            } catch (IOException e) {
+                // İstemci bağlantıyı kapattıysa cursor da kapanır
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        };
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        try {
+            tx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, companyId);
+                return ps;
+            }, handler));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.finish();
+        log.info("export company_id={} format={} rows={}", companyId, format, count[0]);
+        return count[0];
+    }
+
+    private interface RowSink {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+        private final int columnCount;
+
+        CsvSink(OutputStream out, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.columnCount = columns.size();
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value != null) {
+                    writeField(value instanceof BigDecimal d ? d.toPlainString() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: ayırıcı, tırnak veya satır sonu içeren alanlar tırnaklanır
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonSink implements RowSink {
+        private final JsonGenerator json;
+        private final List<String> columns;
+
+        NdjsonSink(OutputStream out, List<String> columns) throws IOException {
+            this.json = JSON.createGenerator(out, JsonEncoding.UTF8);
+            this.json.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = rs.getObject(i + 1);
+                json.writeFieldName(columns.get(i));
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof BigDecimal d) {
+                    json.writeNumber(d);
+                } else if (value instanceof Number n) {
+                    json.writeNumber(n.longValue());
+                } else if (value instanceof Boolean b) {
+                    json.writeBoolean(b);
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
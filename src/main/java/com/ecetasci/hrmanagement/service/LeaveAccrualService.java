@@ -0,0 +1,247 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.LeaveAccrualRunResponse;
+import com.ecetasci.hrmanagement.entity.LeaveAccrualAudit;
+import com.ecetasci.hrmanagement.enums.AccrualPhase;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.LeaveAccrualAuditRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Politika tabanlı izin tahakkuku.
+ * <p>
+ * Şirketin tahakkuk eden izin tiplerindeki ({@code annualAccrualDays}) yıllık hak, kıdem ({@code hireDate})
+ * eklemesiyle birlikte her ay 1/12'lik parçalar halinde bakiyeye eklenir; ay payları tam sayı bölmesiyle
+ * hesaplandığından 12 ayın toplamı yıllık hakka tam eşittir. Yılın ilk çalışmasında önce devreden bakiye
+ * {@code carryOverCap} ile sınırlanır.
+ * <p>
+ * Tüm şirketler tek geçişte, employee id aralıklarıyla ({@code chunk-size}) işlenir: her parça tek bir
+ * set tabanlı UPDATE ve bir denetim satırıdır, ikisi aynı transaction'dadır. Denetim satırları aynı zamanda
+ * devam noktasıdır; yarıda kalan bir çalışma aynı dönem için tekrar başlatıldığında işlenmiş parçaları
+ * atlar, hiçbir çalışana aynı ay iki kez tahakkuk yapılmaz. Yalnızca {@code effective-from} ile içinde
+ * bulunulan ay arasındaki dönemler çalıştırılabilir.
+ * <p>
+ * Tahakkuk eden izin tipi olan şirkette yeni çalışan 0 bakiyeyle başlar ({@link #initialLeaveBalance(Long)});
+ * aksi halde sabit varsayılan bakiyeye bir de aylık tahakkuk eklenerek hak iki kez verilmiş olurdu.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveAccrualService {
+
+    // Sıradaki parçanın üst sınırı: (after, hi] aralığında en fazla chunk-size çalışan
+    static final String NEXT_CHUNK_END =
+            "select max(id) from (select id from employees where id > ? order by id limit ?) c";
+
+    // Tahakkuk eden tiplerin tamamı sınırlıysa devir sınırı toplamdır; biri sınırsızsa şirket atlanır
+    static final String CARRY_OVER_SQL =
+            "with policy as (select company_id, sum(carry_over_cap) as cap from leave_types " +
+            "where annual_accrual_days is not null group by company_id " +
+            "having count(carry_over_cap) = count(*)) " +
+            "update employees e set leave_balance = p.cap, version = e.version + 1 " +
+            "from policy p where p.company_id = e.company_id and e.leave_balance > p.cap " +
+            "and e.id > ? and e.id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveAccrualAuditRepository auditRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    // Politikanın yürürlüğe girdiği ilk dönem; daha eski aylar için tahakkuk çalıştırılamaz
+    @Value("${app.leave-accrual.effective-from:2026-01}")
+    private String effectiveFrom = "2026-01";
+
+    // Tahakkuk eden izin tipi olmayan şirketlerde yeni çalışanın sabit başlangıç bakiyesi
+    @Value("${app.leave-accrual.fixed-initial-balance:15}")
+    private int fixedInitialBalance = 15;
+
+    @Value("${app.leave-accrual.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    // "kıdem yılı=ek gün" çiftleri; en yüksek karşılanan kademe uygulanır (varsayılan İş Kanunu 14/20/26)
+    @Value("${app.leave-accrual.tenure-bonus:5=6,15=12}")
+    private String tenureBonus = "5=6,15=12";
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Clock clock = Clock.systemDefaultZone();
+    private List<int[]> tenureTiers;
+    private String accrualSql;
+    private YearMonth firstPeriod;
+
+    @PostConstruct
+    void init() {
+        firstPeriod = YearMonth.parse(effectiveFrom);
+        tenureTiers = parseTenureTiers(tenureBonus);
+        accrualSql = buildAccrualSql(tenureTiers.size());
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public YearMonth currentPeriod() {
+        return YearMonth.now(clock);
+    }
+
+    @Scheduled(cron = "${app.leave-accrual.cron:0 0 2 1 * *}")
+    public void runScheduled() {
+        try {
+            run(currentPeriod());
+        } catch (IllegalStateException | ValidationException e) {
+            log.warn("leave_accrual_skipped reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Dönem için tahakkuku çalıştırır veya yarıda kaldığı yerden devam ettirir.
+     * Gelecek aylar ve {@code effective-from} öncesi dönemler {@link ValidationException} ile reddedilir.
+     */
+    public LeaveAccrualRunResponse run(YearMonth period) {
+        if (period.isAfter(currentPeriod())) {
+            throw new ValidationException("Leave accrual cannot run for a future period: " + period);
+        }
+        if (period.isBefore(firstPeriod)) {
+            throw new ValidationException("Leave accrual policy is effective from " + firstPeriod + ", got " + period);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Leave accrual is already running");
+        }
+        try {
+            long began = System.currentTimeMillis();
+            long[] carryOver = period.getMonthValue() == 1 ? runPhase(period, AccrualPhase.CARRY_OVER) : new long[2];
+            long[] accrual = runPhase(period, AccrualPhase.ACCRUAL);
+            LeaveAccrualRunResponse result = new LeaveAccrualRunResponse(period.toString(),
+                    (int) carryOver[0], carryOver[1], (int) accrual[0], accrual[1],
+                    System.currentTimeMillis() - began);
+            log.info("leave_accrual_finished period={} carry_over_rows={} accrual_rows={} chunks={} duration_ms={}",
+                    result.period(), result.carryOverRows(), result.accrualRows(),
+                    result.carryOverChunks() + result.accrualChunks(), result.durationMs());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Yeni çalışanın başlangıç izin bakiyesi: şirkette tahakkuk eden izin tipi varsa hak aylık biriktiği için 0.
+     */
+    public int initialLeaveBalance(Long companyId) {
+        if (companyId == null) {
+            return fixedInitialBalance;
+        }
+        boolean accruing = referenceDataCache.leaveTypes(companyId).stream()
+                .anyMatch(type -> type.annualAccrualDays() != null);
+        return accruing ? 0 : fixedInitialBalance;
+    }
+
+    // {işlenen parça, güncellenen satır}
+    private long[] runPhase(YearMonth period, AccrualPhase phase) {
+        Long checkpoint = auditRepository.findCheckpoint(period.toString(), phase);
+        long after = checkpoint != null ? checkpoint : 0L;
+        long chunks = 0;
+        long rows = 0;
+        Long hi;
+        while ((hi = jdbcTemplate.queryForObject(NEXT_CHUNK_END, Long.class, after, chunkSize)) != null) {
+            long lo = after;
+            long upper = hi;
+            long began = System.currentTimeMillis();
+            Integer updated;
+            try {
+                updated = transactionTemplate.execute(status -> {
+                    int n = phase == AccrualPhase.CARRY_OVER
+                            ? jdbcTemplate.update(CARRY_OVER_SQL, lo, upper)
+                            : jdbcTemplate.update(accrualSql, accrualArgs(period, lo, upper));
+                    LeaveAccrualAudit audit = LeaveAccrualAudit.builder()
+                            .period(period.toString())
+                            .phase(phase)
+                            .firstEmployeeId(lo)
+                            .lastEmployeeId(upper)
+                            .updatedRows(n)
+                            .durationMs(System.currentTimeMillis() - began)
+                            .build();
+                    audit.setCreatedAt(LocalDateTime.now(clock));
+                    auditRepository.save(audit);
+                    return n;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Parça başka bir node tarafından işlenmiş (uk_leave_accrual_chunk); bu parça geri alındı
+                throw new IllegalStateException("Leave accrual chunk " + lo + ".." + upper + " of " + period
+                        + " " + phase + " was processed concurrently", e);
+            }
+            chunks++;
+            rows += updated != null ? updated : 0;
+            after = upper;
+        }
+        return new long[]{chunks, rows};
+    }
+
+    /**
+     * Ay payı: {@code (yıllık * ay) / 12 - (yıllık * (ay - 1)) / 12}. Yıllık hak = tiplerin toplamı + kıdem eki;
+     * kıdem ayın ilk günü itibarıyla {@code hire_date <= kesim tarihi} karşılaştırmasıyla belirlenir.
+     */
+    private static String buildAccrualSql(int tiers) {
+        StringBuilder bonus = new StringBuilder("case");
+        for (int i = 0; i < tiers; i++) {
+            bonus.append(" when e.hire_date <= ? then ?");
+        }
+        bonus.append(" else 0 end");
+        String annual = "(p.annual_days + " + (tiers == 0 ? "0" : bonus) + ")";
+        return "with policy as (select company_id, sum(annual_accrual_days) as annual_days from leave_types " +
+                "where annual_accrual_days is not null group by company_id) " +
+                "update employees e set leave_balance = e.leave_balance + " +
+                "(" + annual + " * ?) / 12 - (" + annual + " * ?) / 12, version = e.version + 1 " +
+                "from policy p where p.company_id = e.company_id " +
+                "and (e.hire_date is null or e.hire_date <= ?) and e.id > ? and e.id <= ?";
+    }
+
+    private Object[] accrualArgs(YearMonth period, long lo, long hi) {
+        LocalDate asOf = period.atDay(1);
+        List<Object> bonus = new ArrayList<>();
+        for (int[] tier : tenureTiers) {
+            bonus.add(asOf.minusYears(tier[0]));
+            bonus.add(tier[1]);
+        }
+        List<Object> args = new ArrayList<>(bonus);
+        args.add(period.getMonthValue());
+        args.addAll(bonus);
+        args.add(period.getMonthValue() - 1);
+        args.add(asOf);
+        args.add(lo);
+        args.add(hi);
+        return args.toArray();
+    }
+
+    // En uzun kıdem önce: CASE ilk eşleşen kademede durur
+    static List<int[]> parseTenureTiers(String spec) {
+        List<int[]> tiers = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return tiers;
+        }
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid tenure bonus: " + part);
+            }
+            tiers.add(new int[]{Integer.parseInt(pair[0].trim()), Integer.parseInt(pair[1].trim())});
+        }
+        tiers.sort(Comparator.comparingInt((int[] t) -> t[0]).reversed());
+        return tiers;
+    }
+}
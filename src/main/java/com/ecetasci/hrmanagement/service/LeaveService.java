@@ -4,27 +4,34 @@ import com.ecetasci.hrmanagement.dto.request.LeaveRequestDto;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.LeaveRequest;
 import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import com.ecetasci.hrmanagement.event.LeaveDecidedEvent;
 import com.ecetasci.hrmanagement.mapper.LeaveMapper;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-import static com.ecetasci.hrmanagement.utility.HolidayUtil.calculateWorkingDays;
-
 @Service
 @RequiredArgsConstructor
 public class LeaveService {
 
+    private static final String OVERLAP_MESSAGE = "Bu tarih aralığında zaten izin talebiniz var!";
+    private static final String NOT_PENDING_MESSAGE = "Leave request is no longer pending";
+
     private final EmployeeRepository employeeRepository;
     private final LeaveMapper leaveMapper;
     private final LeaveTypeRepository leaveTypeRepository;
     private final com.ecetasci.hrmanagement.repository.LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeNumberResolver employeeNumberResolver;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -33,11 +40,8 @@ public class LeaveService {
         // Map DTO -> entity
         LeaveRequest entity = leaveMapper.toEntity(leaveRequestDto);
 
-        String empNum = leaveRequestDto.employeeNumber() != null ? leaveRequestDto.employeeNumber().trim() : null;
-        // Try exact lookup first (keeps existing tests working), then fallback to case-insensitive lookup
-        Employee employee = employeeRepository.findByEmployeeNumber(empNum)
-                .or(() -> employeeRepository.findEmployeeByEmployeeNumberIgnoreCase(empNum))
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found: " + empNum));
+        // Numara kanonik biçime çevrilip tek adımda çözülür (cache veya unique index)
+        Employee employee = employeeNumberResolver.require(leaveRequestDto.employeeNumber(), "Employee");
         var leaveType = leaveTypeRepository.findById(leaveRequestDto.leaveTypeId())
                 .orElseThrow(() -> new IllegalArgumentException("LeaveType not found: " + leaveRequestDto.leaveTypeId()));
 
@@ -51,18 +55,14 @@ public class LeaveService {
             throw new IllegalArgumentException("endDate, startDate'den önce olamaz");
         }
 
-        // Çakışma kontrolü (PENDING veya APPROVED ile)
-        boolean hasOverlap = employee.getLeaveRequests().stream()
-                .anyMatch(r ->
-                        (r.getStatus() != LeaveStatus.REJECTED) &&
-                                !(endDate.isBefore(r.getStartDate()) || startDate.isAfter(r.getEndDate()))
-                );
-
-        if (hasOverlap) {
-            throw new IllegalStateException("Bu tarih aralığında zaten izin talebiniz var!");
+        // Çakışma kontrolü (PENDING veya APPROVED ile); izin geçmişi yüklenmez, index'li aralık sorgusu
+        if (leaveRequestRepository.existsOverlapping(employee.getId(), startDate, endDate)) {
+            throw new IllegalStateException(OVERLAP_MESSAGE);
         }
 
-        int totalDays = calculateWorkingDays(startDate, endDate);
+        // Şirketin tatil takvimine göre; aralık uzunluğundan bağımsız (prefix toplam)
+        Long companyId = employee.getCompany() != null ? employee.getCompany().getId() : null;
+        int totalDays = workingDayCalendarService.countWorkingDays(companyId, startDate, endDate);
 
         if (employee.getLeaveBalance() < totalDays) {
             throw new IllegalStateException("Yetersiz izin bakiyesi!");
@@ -76,15 +76,29 @@ public class LeaveService {
         entity.setTotalDays(totalDays);
         entity.setStatus(LeaveStatus.PENDING);
 
-        return leaveRequestRepository.save(entity);
+        // Eşzamanlı iki talep sorguyu birlikte geçebilir; son sözü exclusion constraint söyler
+        try {
+            return leaveRequestRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new IllegalStateException(OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(LeaveRequest.NO_OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Transactional
     public void approveLeaveRequest(String employeeNumber, LocalDate startDate, String managerEmployeeNumber) {
-        String empNum = employeeNumber != null ? employeeNumber.trim() : null;
-        Employee employee = employeeRepository.findByEmployeeNumber(empNum)
-                .or(() -> employeeRepository.findEmployeeByEmployeeNumberIgnoreCase(empNum))
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found: " + empNum));
+        Employee employee = employeeNumberResolver.require(employeeNumber, "Employee");
 
         LeaveRequest request = employee.getLeaveRequests().stream()
                 .filter(r -> startDate.equals(r.getStartDate()))
@@ -98,10 +112,7 @@ public class LeaveService {
             throw new IllegalStateException("Leave request already rejected");
         }
 
-        String mgrNum = managerEmployeeNumber != null ? managerEmployeeNumber.trim() : null;
-        Employee manager = employeeRepository.findByEmployeeNumber(mgrNum)
-                .or(() -> employeeRepository.findEmployeeByEmployeeNumberIgnoreCase(mgrNum))
-                .orElseThrow(() -> new ResourceNotFoundException("Manager not found: " + mgrNum));
+        Employee manager = employeeNumberResolver.require(managerEmployeeNumber, "Manager");
 
         Integer totalDays = request.getTotalDays();
         if (totalDays == null) {
@@ -117,28 +128,31 @@ public class LeaveService {
         //     throw new IllegalStateException("Manager and employee are not in the same company");
         // }
 
+        // Yukarıdaki kontroller hızlı hata içindir; asıl koruma koşullu update'lerde. Eşzamanlı iki onay
+        // ikisi de geçse bile satır kilidi sonrası WHERE yeniden değerlendirilir: ikincisi 0 satır günceller
+        // ve transaction geri alınır (okuyup-yazma yok, kayıp güncelleme yok).
+        LocalDateTime approvedAt = LocalDateTime.now();
+        if (leaveRequestRepository.decidePending(request.getId(), LeaveStatus.APPROVED, manager, approvedAt,
+                request.getManagerNote()) == 0) {
+            throw new IllegalStateException(NOT_PENDING_MESSAGE);
+        }
+        if (employeeRepository.decrementLeaveBalance(employee.getId(), totalDays) == 0) {
+            throw new IllegalStateException("Yetersiz bakiye!");
+        }
+
+        // Bellekteki nesneleri de güncelle (persistence context temizlendi; tekrar flush edilmezler)
         request.setStatus(LeaveStatus.APPROVED);
         request.setApprovedBy(manager);
-        request.setApprovedAt(LocalDateTime.now());
-
+        request.setApprovedAt(approvedAt);
         employee.setLeaveBalance(employee.getLeaveBalance() - totalDays);
-
-        // Kaydet: hem request hem employee'yi açıkça kaydet
-        leaveRequestRepository.save(request);
-        employeeRepository.save(employee);
+        eventPublisher.publishEvent(decided(employee, request));
     }
 
     @Transactional
     public void rejectLeaveRequestByEmployeeNumber(String employeeNumber, String managerEmployeeNumber, String managerNote) {
-        String empNum = employeeNumber != null ? employeeNumber.trim() : null;
-        Employee employee = employeeRepository.findByEmployeeNumber(empNum)
-                .or(() -> employeeRepository.findEmployeeByEmployeeNumberIgnoreCase(empNum))
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found: " + empNum));
+        Employee employee = employeeNumberResolver.require(employeeNumber, "Employee");
 
-        String mgrNum = managerEmployeeNumber != null ? managerEmployeeNumber.trim() : null;
-        Employee managerEmployee = employeeRepository.findByEmployeeNumber(mgrNum)
-                .or(() -> employeeRepository.findEmployeeByEmployeeNumberIgnoreCase(mgrNum))
-                .orElseThrow(() -> new ResourceNotFoundException("Manager not found: " + mgrNum));
+        Employee managerEmployee = employeeNumberResolver.require(managerEmployeeNumber, "Manager");
 
         LeaveRequest request = employee.getLeaveRequests().stream()
                 .filter(r -> r.getStatus() == LeaveStatus.PENDING) // öncelikle beklemedeki talebi hedefle
@@ -152,12 +166,23 @@ public class LeaveService {
             throw new IllegalStateException("Leave request already rejected");
         }
 
+        LocalDateTime rejectedAt = LocalDateTime.now();
+        if (leaveRequestRepository.decidePending(request.getId(), LeaveStatus.REJECTED, managerEmployee, rejectedAt,
+                managerNote) == 0) {
+            throw new IllegalStateException(NOT_PENDING_MESSAGE);
+        }
+
         request.setStatus(LeaveStatus.REJECTED);
         request.setApprovedBy(managerEmployee);
-        request.setApprovedAt(LocalDateTime.now());
+        request.setApprovedAt(rejectedAt);
         request.setManagerNote(managerNote);
+        eventPublisher.publishEvent(decided(employee, request));
+    }
 
-        leaveRequestRepository.save(request);
+    // Ekip izin takvimi commit sonrası ilgili ayları yeniden kurar
+    private static LeaveDecidedEvent decided(Employee employee, LeaveRequest request) {
+        Long companyId = employee.getCompany() != null ? employee.getCompany().getId() : null;
+        return new LeaveDecidedEvent(companyId, request.getStartDate(), request.getEndDate());
     }
 
 }
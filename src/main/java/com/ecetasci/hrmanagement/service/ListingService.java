@@ -0,0 +1,160 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.CompanyResponse;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.dto.response.UserResponse;
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.LeaveRequestRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.CursorCodec;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cursor (keyset/seek) tabanlı listeleme.
+ * <p>
+ * Offset sayfalamanın aksine her sayfa son görülen anahtardan sonrasını index üzerinden okur; derin
+ * sayfalar da ilk sayfa kadar ucuzdur ve COUNT(*) sorgusu atılmaz. Bir sonraki sayfanın olup olmadığı
+ * {@code limit + 1} satır okunarak anlaşılır. Toplam kayıt sayısı yalnızca istenirse döner ve kısa süre
+ * cache'lendiği için yaklaşıktır.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListingService {
+
+    // Açık uçlu tarih filtreleri ve ilk sayfa için sınırlar (PostgreSQL date aralığı içinde)
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final CompanyRepository companyRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.listing.max-limit:200}")
+    private int maxLimit = 200;
+
+    @Value("${app.listing.count-cache.ttl-seconds:60}")
+    private long countCacheTtlSeconds = 60;
+
+    private TtlCache<String, Long> countCache;
+
+    @PostConstruct
+    void init() {
+        countCache = cacheRegistry.register(
+                new TtlCache<>("listingCounts", 10_000, Duration.ofSeconds(countCacheTtlSeconds)));
+    }
+
+    public PagedResponse<EmployeeResponseDto> employeesAfter(Long companyId, String after, int limit, boolean includeTotal) {
+        int size = clamp(limit);
+        long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        List<EmployeeResponseDto> rows = employeeRepository.findSummaryPageAfter(companyId, afterId, Limit.of(size + 1));
+        return toPage(rows, size, e -> CursorCodec.encode(e.id()), Function.identity(),
+                includeTotal ? () -> countCache.getOrLoad("employees:" + companyId,
+                        k -> employeeRepository.countByCompanyId(companyId)) : null);
+    }
+
+    public PagedResponse<UserResponse> usersAfter(String after, int limit, boolean includeTotal) {
+        int size = clamp(limit);
+        long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        List<User> rows = userRepository.findPageAfter(afterId, Limit.of(size + 1));
+        return toPage(rows, size, u -> CursorCodec.encode(u.getId()),
+                u -> new UserResponse(u.getId(), u.getName(), u.getCreatedAt(), u.getUpdatedAt(), u.getEmail(), u.getRole()),
+                includeTotal ? () -> countCache.getOrLoad("users", k -> userRepository.count()) : null);
+    }
+
+    /**
+     * @param sortBy {@code id} veya {@code companyName}; ikisi de index'li anahtarlardır
+     */
+    public PagedResponse<CompanyResponse> companiesAfter(String after, int limit, String sortBy, boolean includeTotal) {
+        int size = clamp(limit);
+        List<Company> rows;
+        Function<Company, String> cursorOf;
+        if ("companyName".equals(sortBy)) {
+            if (after == null) {
+                rows = companyRepository.findFirstPageByName(Limit.of(size + 1));
+            } else {
+                String[] keys = CursorCodec.decode(after, 2);
+                rows = companyRepository.findPageAfterName(keys[0], CursorCodec.parseId(keys[1]), Limit.of(size + 1));
+            }
+            cursorOf = c -> CursorCodec.encode(c.getCompanyName(), c.getId());
+        } else if (sortBy == null || "id".equals(sortBy)) {
+            long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+            rows = companyRepository.findPageAfterId(afterId, Limit.of(size + 1));
+            cursorOf = c -> CursorCodec.encode(c.getId());
+        } else {
+            throw new ValidationException("Unsupported sort key for cursor paging: " + sortBy);
+        }
+        return toPage(rows, size, cursorOf,
+                c -> new CompanyResponse(c.getId(), c.getCompanyName(), c.getCompanyEmail(), c.getPhoneNumber(),
+                        c.getAddress(), c.getTaxNumber(), c.getWebsite(), c.getEmployeeCount(), c.getFoundedDate()),
+                includeTotal ? () -> countCache.getOrLoad("companies", k -> companyRepository.count()) : null);
+    }
+
+    /**
+     * Şirketin izin talepleri, en yeni başlangıç tarihi önce. Tüm filtreler isteğe bağlıdır;
+     * {@code from}/{@code to} verilirse bu aralıkla kesişen talepler döner.
+     */
+    public PagedResponse<LeaveResponseDto> leavesAfter(Long companyId, LeaveStatus status, Long leaveTypeId,
+                                                       LocalDate from, LocalDate to, String after, int limit) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ValidationException("endDate, startDate'den önce olamaz");
+        }
+        int size = clamp(limit);
+        LocalDate afterDate = MAX_DATE;
+        long afterId = Long.MAX_VALUE;
+        if (after != null) {
+            String[] keys = CursorCodec.decode(after, 2);
+            afterDate = parseDate(keys[0]);
+            afterId = CursorCodec.parseId(keys[1]);
+        }
+        List<LeaveResponseDto> rows = leaveRequestRepository.findCompanyPageAfter(companyId, status, leaveTypeId,
+                from != null ? from : MIN_DATE, to != null ? to : MAX_DATE, afterDate, afterId, Limit.of(size + 1));
+        return toPage(rows, size, r -> CursorCodec.encode(r.startDate(), r.id()), Function.identity(), null);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    private <E, D> PagedResponse<D> toPage(List<E> rows, int size, Function<E, String> cursorOf,
+                                           Function<E, D> mapper, Supplier<Long> total) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        return PagedResponse.<D>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(size)
+                .last(!hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .approximateTotal(total == null ? null : total.get())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.LoginRequestDto;
+import com.ecetasci.hrmanagement.dto.response.LoginResponseDto;
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.exceptions.ServiceBusyException;
+import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.security.CallerContext;
+import com.ecetasci.hrmanagement.utility.JwtManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login akışı: kullanıcı tek sorguyla okunur, BCrypt doğrulaması Tomcat thread'lerinde değil
+ * çekirdek sayısıyla sınırlı ayrı bir havuzda yapılır. Havuz kuyruğu doluysa istek beklemeden
+ * {@link ServiceBusyException} (503 + Retry-After) ile reddedilir; böylece login yoğunluğu diğer
+ * endpoint'lerin thread ve CPU'sunu tüketmez. Saklı hash yapılandırılmış cost'tan zayıfsa
+ * başarılı girişte yeniden hash'lenir.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoginService {
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtManager jwtManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 0 => çekirdek sayısı
+    @Value("${app.security.login.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.security.login.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.login.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Value("${app.security.login.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor hashExecutor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    public LoginResponseDto login(LoginRequestDto dto) {
+        User user = userRepository.findUserByEmail(dto.email())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (!UserStatus.ACTIVE.equals(user.getUserStatus())) {
+            throw new ForbiddenException("Email not verified");
+        }
+
+        String upgradedHash = runHashing(() -> verifyAndMaybeRehash(dto.password(), user.getPassword()));
+        Employee employee = employeeRepository.findByUserId(user.getId()).orElse(null);
+        if (upgradedHash != null) {
+            storeUpgradedHash(user, employee, upgradedHash);
+        }
+
+        String token = jwtManager.generateToken(user.getEmail(), CallerContext.of(user, employee).toClaims());
+        return new LoginResponseDto(token, user.getName(), user.getEmail(), user.getRole());
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    // Hash havuzunda çalışır: parola yanlışsa UnauthorizedException, cost yükseltilecekse yeni hash, yoksa null
+    private String verifyAndMaybeRehash(String rawPassword, String storedHash) {
+        if (rawPassword == null || storedHash == null || !passwordEncoder.matches(rawPassword, storedHash)) {
+            throw new UnauthorizedException("Invalid username or password");
+        }
+        return passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null;
+    }
+
+    private void storeUpgradedHash(User user, Employee employee, String newHash) {
+        user.setPassword(newHash);
+        userRepository.save(user);
+        // Employee tablosu aynı hash'in kopyasını tutuyor
+        if (employee != null) {
+            employee.setPassword(newHash);
+            employeeRepository.save(employee);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+    }
+
+    private String runHashing(Callable<String> task) {
+        Future<String> future;
+        try {
+            future = hashExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceBusyException("Login service is busy, please retry", retryAfterSeconds);
+        }
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.incrementAndGet();
+            throw new ServiceBusyException("Login service is busy, please retry", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Login interrupted", retryAfterSeconds);
+        }
+    }
+}
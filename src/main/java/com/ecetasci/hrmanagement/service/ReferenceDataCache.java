@@ -0,0 +1,208 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.BreakResponseDto;
+import com.ecetasci.hrmanagement.dto.response.DepartmentDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PositionDto;
+import com.ecetasci.hrmanagement.dto.response.ShiftResponseDto;
+import com.ecetasci.hrmanagement.entity.Break;
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.Department;
+import com.ecetasci.hrmanagement.entity.LeaveType;
+import com.ecetasci.hrmanagement.entity.Position;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.mapper.ShiftMapper;
+import com.ecetasci.hrmanagement.repository.BreakRepository;
+import com.ecetasci.hrmanagement.repository.DepartmentRepository;
+import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
+import com.ecetasci.hrmanagement.repository.PositionRepository;
+import com.ecetasci.hrmanagement.repository.ShiftRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Şirket bazlı tanım verileri (izin türü, departman, pozisyon, vardiya, mola) için read-through cache.
+ * <p>
+ * Değerler entity değil, değiştirilemez DTO listeleridir; böylece cache'ten dönen nesne Hibernate
+ * oturumuna bağlı değildir ve çağıran tarafından değiştirilemez. Her create/update/delete yalnızca
+ * etkilenen şirketin (mola için vardiyanın) kaydını düşürür; hit oranları {@code /cache-stats}'ta görünür.
+ * Aktif bir transaction içinden çağrılan invalidation commit sonrasına ertelenir; aksi halde commit'ten
+ * önce araya giren bir okuma eski satırları yeniden cache'e yükleyebilirdi. Rollback'te cache'e dokunulmaz.
+ * Birden çok node'da başka node'un yazdığı değişiklik en geç TTL sonunda görülür.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PositionRepository positionRepository;
+    private final ShiftRepository shiftRepository;
+    private final ShiftMapper shiftMapper;
+    private final BreakRepository breakRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.reference-cache.max-size:10000}")
+    private int maxSize = 10_000;
+
+    @Value("${app.reference-cache.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    private TtlCache<Long, List<LeaveTypeResponseDto>> leaveTypes;
+    private TtlCache<Long, List<DepartmentDto>> departments;
+    private TtlCache<Long, List<PositionDto>> positions;
+    private TtlCache<Long, List<ShiftResponseDto>> companyShifts;
+    private TtlCache<Long, ShiftResponseDto> shifts;
+    private TtlCache<Long, List<BreakResponseDto>> breaks;
+
+    @PostConstruct
+    void init() {
+        leaveTypes = register("refLeaveTypes");
+        departments = register("refDepartments");
+        positions = register("refPositions");
+        companyShifts = register("refCompanyShifts");
+        shifts = register("refShifts");
+        breaks = register("refBreaks");
+    }
+
+    private <V> TtlCache<Long, V> register(String name) {
+        return cacheRegistry.register(new TtlCache<>(name, maxSize, Duration.ofSeconds(ttlSeconds)));
+    }
+
+    // --- Okuma ---
+
+    public List<LeaveTypeResponseDto> leaveTypes(Long companyId) {
+        return load(leaveTypes, companyId, id -> leaveTypeRepository.findAllByCompanyId(id).stream()
+                .map(ReferenceDataCache::toDto)
+                .toList());
+    }
+
+    public List<DepartmentDto> departments(Long companyId) {
+        return load(departments, companyId, id -> departmentRepository.findAllByCompanyId(id).stream()
+                .map(ReferenceDataCache::toDto)
+                .toList());
+    }
+
+    public List<PositionDto> positions(Long companyId) {
+        return load(positions, companyId, id -> positionRepository.findAllByCompanyId(id)
+                .orElseThrow(NoSuchElementException::new)
+                .stream()
+                .map(ReferenceDataCache::toDto)
+                .toList());
+    }
+
+    public List<ShiftResponseDto> shifts(Long companyId) {
+        return load(companyShifts, companyId, id -> shiftRepository.findByCompanyId(id).stream()
+                .map(shiftMapper::toDto)
+                .toList());
+    }
+
+    /**
+     * Tek vardiyanın anlık görüntüsü; yoksa {@link ResourceNotFoundException}.
+     */
+    public ShiftResponseDto shift(Long shiftId) {
+        return shifts.getOrLoad(shiftId, id -> shiftRepository.findById(id)
+                .map(shiftMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found")));
+    }
+
+    public List<BreakResponseDto> breaks(Long shiftId) {
+        return load(breaks, shiftId, id -> breakRepository.findByShiftId(id).stream()
+                .map(ReferenceDataCache::toDto)
+                .toList());
+    }
+
+    // --- Invalidation ---
+
+    public void invalidateLeaveTypes(Long companyId) {
+        afterCommit(() -> invalidate(leaveTypes, companyId));
+    }
+
+    public void invalidateDepartments(Long companyId) {
+        afterCommit(() -> invalidate(departments, companyId));
+    }
+
+    public void invalidatePositions(Long companyId) {
+        afterCommit(() -> invalidate(positions, companyId));
+    }
+
+    /**
+     * Vardiya değişikliği: şirketin vardiya listesi, vardiyanın kendisi ve (silmede) molaları.
+     */
+    public void invalidateShift(Long companyId, Long shiftId) {
+        afterCommit(() -> {
+            invalidate(companyShifts, companyId);
+            if (shiftId != null) {
+                shifts.invalidate(shiftId);
+                breaks.invalidate(shiftId);
+            }
+        });
+    }
+
+    public void invalidateBreaks(Long shiftId) {
+        afterCommit(() -> invalidate(breaks, shiftId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // companyId null ise (örn. filtresiz liste) cache'lenmez; ConcurrentHashMap null anahtar kabul etmez
+    private static <V> List<V> load(TtlCache<Long, List<V>> cache, Long key, Function<Long, List<V>> loader) {
+        if (key == null) {
+            return List.copyOf(loader.apply(null));
+        }
+        return cache.getOrLoad(key, id -> List.copyOf(loader.apply(id)));
+    }
+
+    // Anahtar bilinmiyorsa (silinmiş kayıt vb.) tüm tür düşürülür; yanlış veri vermektense fazladan yükleme
+    private static void invalidate(TtlCache<Long, ?> cache, Long key) {
+        if (key == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    static Long companyId(Company company) {
+        return company != null ? company.getId() : null;
+    }
+
+    private static LeaveTypeResponseDto toDto(LeaveType lt) {
+        return new LeaveTypeResponseDto(lt.getId(), lt.getName(), lt.getDescription(), lt.getMaxDays(),
+                lt.isPaid(), companyId(lt.getCompany()), lt.getAnnualAccrualDays(), lt.getCarryOverCap());
+    }
+
+    private static DepartmentDto toDto(Department d) {
+        return new DepartmentDto(d.getId(), d.getName(), d.getCompany() != null ? d.getCompany().getCompanyName() : null);
+    }
+
+    private static PositionDto toDto(Position p) {
+        return new PositionDto(p.getId(), p.getName(), p.getDescription());
+    }
+
+    private static BreakResponseDto toDto(Break b) {
+        return new BreakResponseDto(b.getId(), b.getName(), b.getStartTime(), b.getEndTime(), b.getDuration(),
+                b.getShift() != null ? b.getShift().getId() : null);
+    }
+}
@@ -2,7 +2,6 @@ package com.ecetasci.hrmanagement.service;
 
 import com.ecetasci.hrmanagement.dto.request.ShiftRequestDto;
 import com.ecetasci.hrmanagement.dto.response.ShiftResponseDto;
-import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Shift;
 import com.ecetasci.hrmanagement.exceptions.BusinessException;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
@@ -15,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -25,15 +25,14 @@ public class ShiftService {
     private final CompanyRepository companyRepository;
     private final ShiftMapper shiftMapper;
     private final EmployeeShiftRepository employeeShiftRepository; // eklendi
+    private final ReferenceDataCache referenceDataCache;
+    private final TenantContext tenantContext;
 
 
 
 
     public List<ShiftResponseDto> getShiftsByCompany(Long companyId) {
-        List<Shift> shifts = shiftRepository.findByCompanyId(companyId);
-        return shifts.stream()
-                .map(shiftMapper::toDto)
-                .toList();
+        return referenceDataCache.shifts(companyId);
     }
 
 
@@ -41,21 +40,18 @@ public class ShiftService {
         // DTO → Entity
         Shift shift = shiftMapper.toEntity(dto);
 
-        // id’den şirketi bul ve set et
-        Company company = companyRepository.findById(dto.companyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
-        shift.setCompany(company);
+        // şirket ve abonelik tenant cache'inden doğrulanır; ilişki için referans yeterli
+        TenantContext.Tenant tenant = tenantContext.requireActive(dto.companyId());
+        shift.setCompany(companyRepository.getReferenceById(tenant.companyId()));
 
         // çakışma kontrolü
         validateShiftOverlap(shift);
 
         // Kaydet ve DTO olarak geri döndür
         Shift saved = shiftRepository.save(shift);
+        referenceDataCache.invalidateShift(tenant.companyId(), saved.getId());
 
-        ShiftResponseDto dto1 = shiftMapper.toDto(saved);
-       dto1.setCompanyId(company.getId());
-
-        return dto1;
+        return toDto(saved, tenant);
 
 
 
@@ -71,20 +67,22 @@ public class ShiftService {
         updatedShift.setId(existing.getId());
 
         // Company’yi yine set et
-        Company company = companyRepository.findById(dto.companyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
-        updatedShift.setCompany(company);
+        TenantContext.Tenant tenant = tenantContext.requireActive(dto.companyId());
+        updatedShift.setCompany(companyRepository.getReferenceById(tenant.companyId()));
 
         validateShiftOverlap(updatedShift);
 
         Shift saved = shiftRepository.save(updatedShift);
-        return shiftMapper.toDto(saved);
+        // şirket değişmiş olabilir: eski ve yeni şirketin listesi düşürülür
+        referenceDataCache.invalidateShift(ReferenceDataCache.companyId(existing.getCompany()), id);
+        referenceDataCache.invalidateShift(tenant.companyId(), id);
+        return toDto(saved, tenant);
     }
 
 
     public void deleteShift(Long id) {
         // varlık yoksa hata at
-      shiftRepository.findById(id)
+        Shift existing = shiftRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shift not found"));
 
         // 1) Önce EmployeeShift tablosunda ilişkili kayıtları sil (FK kısıtlamasını önlemek için)
@@ -92,14 +90,21 @@ public class ShiftService {
 
         // 2) Sonra Shift'i sil
         shiftRepository.deleteById(id);
+        referenceDataCache.invalidateShift(ReferenceDataCache.companyId(existing.getCompany()), id);
+    }
+
+    // Şirket adı tenant'tan gelir; mapper lazy şirket referansını okuyup yüklemesin
+    private ShiftResponseDto toDto(Shift shift, TenantContext.Tenant tenant) {
+        return new ShiftResponseDto(shift.getId(), shift.getName(), shift.getStartTime(), shift.getEndTime(),
+                tenant.companyId(), tenant.companyName());
     }
 
     // ========== BUSINESS RULES ==========
     private void validateShiftOverlap(Shift newShift) {
-        List<Shift> companyShifts = shiftRepository.findByCompanyId(newShift.getCompany().getId());
+        List<ShiftResponseDto> companyShifts = referenceDataCache.shifts(newShift.getCompany().getId());
 
         boolean overlaps = companyShifts.stream()
-                .filter(s -> !s.getId().equals(newShift.getId())) // güncellemelerde kendisini hariç tut
+                .filter(s -> !Objects.equals(s.id(), newShift.getId())) // güncellemelerde kendisini hariç tut
                 .anyMatch(s -> isOverlapping(s, newShift));
 
         if (overlaps) {
@@ -107,8 +112,8 @@ public class ShiftService {
         }
     }
 
-    private boolean isOverlapping(Shift s1, Shift s2) {
-        return s1.getStartTime().isBefore(s2.getEndTime()) &&
-                s2.getStartTime().isBefore(s1.getEndTime());
+    private boolean isOverlapping(ShiftResponseDto s1, Shift s2) {
+        return s1.startTime().isBefore(s2.getEndTime()) &&
+                s2.getStartTime().isBefore(s1.endTime());
     }
 }
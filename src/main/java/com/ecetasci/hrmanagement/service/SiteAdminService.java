@@ -33,6 +33,7 @@ public class SiteAdminService {
 
     private final CompanySubscriptionRepository companySubscriptionRepository;
     private final EmailService emailService;
+    private final TenantContext tenantContext;
 
     private List<Company> getAllCompanies() {
         return companyRepository.findAll();
@@ -79,15 +80,16 @@ public class SiteAdminService {
     }
 
     public void approveCompanyApplication(Long id) {
-    Company company = companyRepository.findById(id).orElseThrow(()->new RuntimeException("Company not found"));
-    company.setCompanyStatus(CompanyStatus.APPROVED);
-    companyRepository.save(company);
-    emailService.send(
-            company.getCompanyEmail(),
-            "Company Application Approved",
-            "Congratulations! Your company application has been approved." +
-                    " Please select and create your subscription plan to get started."
-    );
+        Company company = companyRepository.findById(id).orElseThrow(()->new RuntimeException("Company not found"));
+        company.setCompanyStatus(CompanyStatus.APPROVED);
+        companyRepository.save(company);
+        tenantContext.invalidate(id);
+        emailService.send(
+                company.getCompanyEmail(),
+                "Company Application Approved",
+                "Congratulations! Your company application has been approved." +
+                        " Please select and create your subscription plan to get started."
+        );
     }
 
 
@@ -95,6 +97,7 @@ public class SiteAdminService {
         Company company = companyRepository.findById(id).orElseThrow(()->new RuntimeException("Company not found"));
         company.setCompanyStatus(CompanyStatus.REJECTED);
          companyRepository.save(company);
+        tenantContext.invalidate(id);
         emailService.send(
                 company.getCompanyEmail(),
                 "Company Application Rejected",
@@ -120,6 +123,7 @@ public class SiteAdminService {
         company.getSubscriptions().add(companySubscription);
         // companyRepository.save(company);//fetchden dolayı sanırım bu iki kayda neden oldu
         CompanySubscription saved = companySubscriptionRepository.save(companySubscription);
+        tenantContext.invalidate(company.getId());
 
         return new SubscriptionResponseDto(saved.getId(), "Subscription saved");
 
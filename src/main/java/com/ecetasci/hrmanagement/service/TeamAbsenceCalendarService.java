@@ -0,0 +1,172 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.DepartmentHeadcount;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceCalendarResponse;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceRow;
+import com.ecetasci.hrmanagement.event.LeaveDecidedEvent;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.LeaveRequestRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import com.ecetasci.hrmanagement.utility.WorkingDayCalendar;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Şirket / departman bazlı aylık izin takvimi.
+ * <p>
+ * Ayla kesişen onaylı izinler tek sorguda okunur; aralıklar ay sınırlarına kırpılıp başladıkları ve bittikleri
+ * günün kovasına konur, ardından ay baştan sona bir kez süpürülür (sweep-line): her gün önce o gün başlayan
+ * izinler aktif kümeye eklenir, günün görüntüsü alınır, sonra o gün biten izinler çıkarılır. Toplam maliyet
+ * izin sayısı + çıktı boyutu kadardır; gün başına tüm izinleri taramak gerekmez.
+ * <p>
+ * Şirket geneli sonuç (şirket, ay) anahtarıyla cache'lenir; departman görünümü bu sonucun süzülmesidir.
+ * İzin onaylanıp reddedildiğinde ({@link LeaveDecidedEvent}) ilgili aylar commit sonrası cache'ten düşer.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamAbsenceCalendarService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.team-calendar.cache.max-size:2000}")
+    private int cacheMaxSize = 2000;
+
+    @Value("${app.team-calendar.cache.ttl-seconds:600}")
+    private long cacheTtlSeconds = 600;
+
+    private TtlCache<String, MonthSnapshot> snapshots;
+
+    @PostConstruct
+    void init() {
+        snapshots = cacheRegistry.register(
+                new TtlCache<>("teamAbsenceCalendars", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds)));
+    }
+
+    /**
+     * @param department null ise şirketin tamamı
+     */
+    public TeamAbsenceCalendarResponse month(Long companyId, YearMonth month, String department) {
+        MonthSnapshot snapshot = snapshots.getOrLoad(key(companyId, month), k -> load(companyId, month));
+        if (department == null || department.isBlank()) {
+            return new TeamAbsenceCalendarResponse(month.toString(), null, snapshot.teamSize(), snapshot.days());
+        }
+        long teamSize = snapshot.headcounts().getOrDefault(department, 0L);
+        List<TeamAbsenceCalendarResponse.Day> days = new ArrayList<>(snapshot.days().size());
+        for (TeamAbsenceCalendarResponse.Day day : snapshot.days()) {
+            List<TeamAbsenceCalendarResponse.Absence> absent = day.absent().stream()
+                    .filter(a -> department.equals(a.department()))
+                    .toList();
+            int absentCount = distinctEmployees(absent);
+            days.add(new TeamAbsenceCalendarResponse.Day(day.date(), day.workingDay(), absentCount,
+                    Math.max(0, teamSize - absentCount), absent));
+        }
+        return new TeamAbsenceCalendarResponse(month.toString(), department, teamSize, days);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveDecided(LeaveDecidedEvent event) {
+        if (event.companyId() == null || event.startDate() == null || event.endDate() == null) {
+            return;
+        }
+        for (YearMonth m = YearMonth.from(event.startDate()); !m.isAfter(YearMonth.from(event.endDate())); m = m.plusMonths(1)) {
+            snapshots.invalidate(key(event.companyId(), m));
+        }
+    }
+
+    private MonthSnapshot load(Long companyId, YearMonth month) {
+        List<TeamAbsenceRow> rows = leaveRequestRepository.findApprovedAbsences(companyId, month.atDay(1), month.atEndOfMonth());
+        Map<String, Long> headcounts = new HashMap<>();
+        long teamSize = 0;
+        for (DepartmentHeadcount h : employeeRepository.countByDepartment(companyId)) {
+            if (h.department() != null) {
+                headcounts.put(h.department(), h.count());
+            }
+            teamSize += h.count();
+        }
+        List<TeamAbsenceCalendarResponse.Day> days = sweep(month, rows, teamSize, workingDayCalendarService.calendar(companyId));
+        return new MonthSnapshot(teamSize, Map.copyOf(headcounts), days);
+    }
+
+    static List<TeamAbsenceCalendarResponse.Day> sweep(YearMonth month, List<TeamAbsenceRow> rows, long teamSize,
+                                                       WorkingDayCalendar calendar) {
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        int length = month.lengthOfMonth();
+        List<List<TeamAbsenceRow>> startsOn = buckets(length);
+        List<List<TeamAbsenceRow>> endsOn = buckets(length);
+        for (TeamAbsenceRow row : rows) {
+            LocalDate start = row.startDate().isBefore(first) ? first : row.startDate();
+            LocalDate end = row.endDate().isAfter(last) ? last : row.endDate();
+            if (end.isBefore(start)) {
+                continue;
+            }
+            startsOn.get(start.getDayOfMonth() - 1).add(row);
+            endsOn.get(end.getDayOfMonth() - 1).add(row);
+        }
+
+        // Talep id'sine göre aktif izinler; ekleme sırası (başlangıç tarihi) korunur
+        Map<Long, TeamAbsenceCalendarResponse.Absence> active = new LinkedHashMap<>();
+        List<TeamAbsenceCalendarResponse.Day> days = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            for (TeamAbsenceRow row : startsOn.get(i)) {
+                active.put(row.leaveRequestId(), new TeamAbsenceCalendarResponse.Absence(row.employeeId(),
+                        row.employeeNumber(), row.name(), row.department(), row.leaveType()));
+            }
+            LocalDate date = first.plusDays(i);
+            List<TeamAbsenceCalendarResponse.Absence> absent = List.copyOf(active.values());
+            int absentCount = distinctEmployees(absent);
+            days.add(new TeamAbsenceCalendarResponse.Day(date, calendar.isWorkingDay(date), absentCount,
+                    Math.max(0, teamSize - absentCount), absent));
+            for (TeamAbsenceRow row : endsOn.get(i)) {
+                active.remove(row.leaveRequestId());
+            }
+        }
+        return List.copyOf(days);
+    }
+
+    private static List<List<TeamAbsenceRow>> buckets(int length) {
+        List<List<TeamAbsenceRow>> buckets = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            buckets.add(new ArrayList<>(2));
+        }
+        return buckets;
+    }
+
+    // Aynı çalışanın aynı güne düşen iki kaydı (çakışma kısıtı öncesi veri) tek kişi sayılır
+    private static int distinctEmployees(List<TeamAbsenceCalendarResponse.Absence> absent) {
+        if (absent.size() < 2) {
+            return absent.size();
+        }
+        Set<Long> ids = new HashSet<>();
+        for (TeamAbsenceCalendarResponse.Absence a : absent) {
+            ids.add(Objects.requireNonNullElse(a.employeeId(), -1L));
+        }
+        return ids.size();
+    }
+
+    private static String key(Long companyId, YearMonth month) {
+        return companyId + ":" + month;
+    }
+
+    private record MonthSnapshot(long teamSize, Map<String, Long> headcounts, List<TeamAbsenceCalendarResponse.Day> days) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.CompanySubscription;
+import com.ecetasci.hrmanagement.enums.CompanyStatus;
+import com.ecetasci.hrmanagement.enums.SubscriptionType;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Şirket (tenant) bilgisi ve geçerli aboneliğin tek noktadan çözümü.
+ * <p>
+ * Şirket metadata'sı ile o gün geçerli {@link CompanySubscription} (tip, bitiş tarihi, çalışan limiti)
+ * değiştirilemez bir {@link Tenant} olarak node-local, kısa TTL'li bir cache'te tutulur. HTTP isteği içinde
+ * ilk çözülen tenant request attribute'a da yazılır; aynı istekte tekrar sorulduğunda cache'e bile gidilmez
+ * ve istek boyunca tutarlı tek bir görüntü kullanılır. Şirket/abonelik değiştiğinde {@link #invalidate(Long)}
+ * çağrılır; diğer node'lar değişikliği en geç TTL sonunda görür.
+ * <p>
+ * Servisler ilişki kurmak için şirketi buradan doğrulayıp {@code getReferenceById} ile bağlar; böylece
+ * yazma yollarında şirket satırı tekrar okunmaz. Çalışan ekleyen her yol (tekil kayıt, yönetici kaydı, CSV
+ * içe aktarma) abonelik çalışan limitini {@link #requireSeats(Long, int)} / {@link #availableSeats(Long)} ile denetler.
+ */
+@Service
+@RequiredArgsConstructor
+public class TenantContext {
+
+    private static final String REQUEST_ATTRIBUTE = TenantContext.class.getName();
+    static final String SEAT_LIMIT_MESSAGE = "Employee limit of the current subscription has been reached";
+
+    private final CompanyRepository companyRepository;
+    private final CompanySubscriptionRepository companySubscriptionRepository;
+    private final EmployeeRepository employeeRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.tenant-cache.max-size:10000}")
+    private int cacheMaxSize = 10_000;
+
+    @Value("${app.tenant-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds = 60;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private TtlCache<Long, Tenant> tenants;
+
+    @PostConstruct
+    void init() {
+        tenants = cacheRegistry.register(
+                new TtlCache<>("tenants", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds)));
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public Optional<Tenant> find(Long companyId) {
+        if (companyId == null) {
+            return Optional.empty();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Tenant memo
+                && memo.companyId().equals(companyId)) {
+            return Optional.of(memo);
+        }
+        Tenant tenant = tenants.getOrLoad(companyId, this::load);
+        if (tenant != null && attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, tenant, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(tenant);
+    }
+
+    public Tenant require(Long companyId) {
+        return find(companyId).orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+    }
+
+    /**
+     * Yazma yolları için: şirket var olmalı ve aboneliği (varsa) süresi dolmamış olmalı.
+     */
+    public Tenant requireActive(Long companyId) {
+        Tenant tenant = require(companyId);
+        if (tenant.subscriptionExpired(LocalDate.now(clock))) {
+            throw new ForbiddenException("Company subscription has expired");
+        }
+        return tenant;
+    }
+
+    /**
+     * Aktif şirkette kalan çalışan kotası; abonelik limiti yoksa {@link Long#MAX_VALUE}.
+     * Sayım her çağrıda veritabanından yapılır, cache'lenmez.
+     */
+    public long availableSeats(Long companyId) {
+        Tenant tenant = requireActive(companyId);
+        if (tenant.maxEmployeeCount() == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, tenant.maxEmployeeCount() - employeeRepository.countByCompanyId(companyId));
+    }
+
+    /**
+     * {@code additional} yeni çalışan abonelik limitini aşacaksa {@link ForbiddenException} fırlatır.
+     */
+    public void requireSeats(Long companyId, int additional) {
+        if (availableSeats(companyId) < additional) {
+            throw new ForbiddenException(SEAT_LIMIT_MESSAGE);
+        }
+    }
+
+    public void invalidate(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        tenants.invalidate(companyId);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Tenant memo
+                && memo.companyId().equals(companyId)) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private Tenant load(Long companyId) {
+        Company company = companyRepository.findById(companyId).orElse(null);
+        if (company == null) {
+            return null;
+        }
+        // Bugün başlamış en güncel abonelik geçerli kabul edilir
+        List<CompanySubscription> subscriptions = companySubscriptionRepository
+                .findLatestStartedByCompanyId(companyId, LocalDate.now(clock), Limit.of(1));
+        CompanySubscription subscription = subscriptions.isEmpty() ? null : subscriptions.get(0);
+        return new Tenant(
+                company.getId(),
+                company.getCompanyName(),
+                company.getCompanyStatus(),
+                company.isActive(),
+                subscription != null ? subscription.getSubscriptionType() : null,
+                subscription != null ? subscription.getEndDate() : null,
+                subscription != null ? subscription.getMaxEmployeeCount() : null);
+    }
+
+    /**
+     * Şirket ve geçerli aboneliğinin anlık görüntüsü. Abonelik yoksa abonelik alanları null'dır.
+     */
+    public record Tenant(Long companyId,
+                         String companyName,
+                         CompanyStatus status,
+                         boolean active,
+                         SubscriptionType subscriptionType,
+                         LocalDate subscriptionEndDate,
+                         Integer maxEmployeeCount) {
+
+        public boolean subscriptionExpired(LocalDate today) {
+            return subscriptionEndDate != null && subscriptionEndDate.isBefore(today);
+        }
+    }
+}
@@ -6,18 +6,22 @@ import com.ecetasci.hrmanagement.dto.request.ResetPasswordRequestDto;
 import com.ecetasci.hrmanagement.dto.request.UpdateUserRequestDto;
 import com.ecetasci.hrmanagement.dto.response.RegisterResponseDto;
 import com.ecetasci.hrmanagement.dto.response.UserResponse;
+import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.entity.UserToken;
 import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
 import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.UserRepository;
-import com.ecetasci.hrmanagement.utility.JwtManager;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
@@ -38,14 +42,17 @@ public class UserService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
-    private final JwtManager jwtManager;
+    private final UserTokenService userTokenService;
     private final CompanyRepository companyRepository;
     private final EmployeeService employeeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantContext tenantContext;
+    private final LeaveAccrualService leaveAccrualService;
 
     public User findUserPasswordResetToken(String token) {
-        User user = userRepository.findUserByPasswordResetToken(token)
+        return userTokenService.findToken(token, TokenPurpose.PASSWORD_RESET)
+                .map(UserToken::getUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Password reset token not found"));
-        return user;
     }
 
     @Transactional
@@ -57,10 +64,9 @@ public class UserService {
                 .email(dto.getEmail())
                 .role(dto.getRole())
                 .userStatus(UserStatus.PENDING_ADMIN_APPROVAL)
-                .emailVerificationToken(jwtManager.generateToken(dto.getEmail()))
-                .tokenExpiryDate(LocalDateTime.now().plusHours(48))
                 .createdAt(LocalDateTime.now())
                 .build());
+        userTokenService.issue(savedUser, TokenPurpose.EMAIL_VERIFICATION);
 
         // Eğer rol Company Admin ise aynı zamanda bir Employee oluştur
         if (dto.getRole() == Role.COMPANY_ADMIN) {
@@ -79,16 +85,18 @@ public class UserService {
             }
             employee.setEmployeeNumber(empNumber);
             employee.setRole(Role.COMPANY_ADMIN);
-            employee.setCompany(
-                    companyRepository.findById(dto.getCompanyId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Company not found for ID: " + dto.getCompanyId()))
-            );
+            Company company = companyRepository.findById(dto.getCompanyId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Company not found for ID: " + dto.getCompanyId()));
+            // Yönetici de şirketin çalışanıdır; abonelik çalışan limitine sayılır
+            tenantContext.requireSeats(company.getId(), 1);
+            employee.setCompany(company);
+            employee.setLeaveBalance(leaveAccrualService.initialLeaveBalance(company.getId()));
             employeeRepository.save(employee);
 
         }
 
        // emailService.send(savedUser.getEmail(), "manager register",
-          //      "registering completed, please verify your email with token: " + savedUser.getEmailVerificationToken());
+          //      "registering completed, please verify your email with token: " + verificationToken);
 
         return new RegisterResponseDto(savedUser.getName(), savedUser.getId(), savedUser.getEmail());
     }
@@ -104,10 +112,9 @@ public class UserService {
                 .email(dto.email())
                 .role(dto.role())
                 .userStatus(UserStatus.PENDING_ADMIN_APPROVAL)
-                .emailVerificationToken(jwtManager.generateToken(dto.email()))
-                .tokenExpiryDate(LocalDateTime.now().plusHours(48))
                 .createdAt(LocalDateTime.now())
                 .build());
+        String verificationToken = userTokenService.issue(savedUser, TokenPurpose.EMAIL_VERIFICATION);
 
         // Eğer rol Company Admin ise aynı zamanda bir Employee oluştur
         if (dto.role() == Role.COMPANY_ADMIN) {
@@ -128,7 +135,9 @@ public class UserService {
             employee.setRole(Role.COMPANY_ADMIN);
             if (dto.companyId() != null) {
                 companyRepository.findById(dto.companyId()).ifPresent(company -> {
+                            tenantContext.requireSeats(company.getId(), 1);
                             employee.setCompany(company);
+                            employee.setLeaveBalance(leaveAccrualService.initialLeaveBalance(company.getId()));
                             employeeRepository.save(employee);
                         }
                 );
@@ -140,7 +149,7 @@ public class UserService {
         }
 
         emailService.send(savedUser.getEmail(), "user register",
-                "registering completed, please verify your email with token: " + savedUser.getEmailVerificationToken());
+                "registering completed, please verify your email with token: " + verificationToken);
 
         return new RegisterResponseDto(savedUser.getName(), savedUser.getId(), savedUser.getEmail());
     }
@@ -151,6 +160,7 @@ public class UserService {
 
     public User save(User user) {
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
         return user;
     }
 
@@ -193,7 +203,9 @@ public class UserService {
         user.setName(dto.username());
         user.setPassword(dto.password());
         user.setEmail(dto.email());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+        return saved;
     }
 
     public Optional<User> findByUsername(String username) {
@@ -202,28 +214,37 @@ public class UserService {
 
     @Transactional
     public void verifyEmail(String token) {
-        User user = userRepository.findByEmailVerificationToken(token)
+        verifyEmail(token, null);
+    }
+
+    /**
+     * Doğrulama token'ını hash'i üzerinden bulur; email verilmişse token'ın sahibiyle eşleşmesi gerekir.
+     */
+    @Transactional
+    public void verifyEmail(String token, String email) {
+        UserToken userToken = userTokenService.findToken(token, TokenPurpose.EMAIL_VERIFICATION)
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid token"));
+        User user = userToken.getUser();
+        if (email != null && !email.equalsIgnoreCase(user.getEmail())) {
+            throw new ResourceNotFoundException("Invalid token");
+        }
 
-        if (user.getTokenExpiryDate().isBefore(LocalDateTime.now())) {
+        if (userToken.isExpired(LocalDateTime.now())) {
             throw new IllegalStateException("Token expired");
         }
 
         user.setUserStatus(UserStatus.ACTIVE);
-        user.setEmailVerificationToken(token);
-        user.setTokenExpiryDate(null);
+        userTokenService.consume(userToken);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
     }
 
     public String generateResetToken(String email) {
         User user = userRepository.findUserByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        String token = jwtManager.generateToken(email);
-        user.setPasswordResetToken(token);
-        user.setTokenExpiryDate(LocalDateTime.now().plusHours(2));
-        userRepository.save(user);
+        String token = userTokenService.issue(user, TokenPurpose.PASSWORD_RESET);
         String subject = "Parola Sıfırlama";
         String body = "Parolanızı sıfırlamak için token " + token + "\n" + " 2 saat içinde geçerlidir.";
 
@@ -234,16 +255,20 @@ public class UserService {
     }
 
 
+    @Transactional
     public void resetPassword(ResetPasswordRequestDto dto) {
-        User user = userRepository.findUserByPasswordResetToken(dto.getToken())
+        UserToken resetToken = userTokenService.findToken(dto.getToken(), TokenPurpose.PASSWORD_RESET)
+                .filter(t -> !t.isExpired(LocalDateTime.now()))
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid or expired token"));
+        User user = resetToken.getUser();
 
         String encodedPassword = passwordEncoder.encode(dto.getNewPassword());
 
         // User update
         user.setPassword(encodedPassword);
-        user.setPasswordResetToken(null);
+        userTokenService.consume(resetToken);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
 
         // Eğer Employee ise, Employee tablosunu da güncelle
         // Manager da user employee olduğundan ayrı method yazmadım.
@@ -0,0 +1,103 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.entity.UserToken;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import com.ecetasci.hrmanagement.repository.UserTokenRepository;
+import com.ecetasci.hrmanagement.utility.JwtManager;
+import com.ecetasci.hrmanagement.utility.SequenceIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * E-posta doğrulama ve parola sıfırlama token'larını üretir ve çözer.
+ * Token rastgele 256 bit'tir (JWT değil, dolayısıyla API erişimi için kullanılamaz);
+ * DB'de yalnızca SHA-256 özeti tutulur ve arama unique index üzerinden yapılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UserTokenRepository userTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.user-tokens.email-verification-ttl-hours:48}")
+    private long emailVerificationTtlHours = 48;
+
+    @Value("${app.user-tokens.password-reset-ttl-hours:2}")
+    private long passwordResetTtlHours = 2;
+
+    /**
+     * Kullanıcı için yeni token üretir; aynı amaçlı önceki token'lar geçersiz olur.
+     *
+     * @return kullanıcıya gönderilecek ham token
+     */
+    public String issue(User user, TokenPurpose purpose) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        userTokenRepository.deleteByUserIdAndPurpose(user.getId(), purpose);
+        userTokenRepository.save(UserToken.builder()
+                .tokenHash(JwtManager.hashToken(rawToken))
+                .purpose(purpose)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plusHours(ttlHours(purpose)))
+                .build());
+        return rawToken;
+    }
+
+    /**
+     * Yeni oluşturulmuş (henüz token'ı olmayan) kullanıcılar için tek JDBC batch'iyle token üretir.
+     * Toplu içe aktarma gibi satır başına INSERT maliyetinin önemli olduğu akışlar içindir.
+     *
+     * @return {@code userIds} ile aynı sırada ham token'lar
+     */
+    public List<String> issueForNewUsers(List<Long> userIds, TokenPurpose purpose) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(ttlHours(purpose));
+        List<String> rawTokens = new ArrayList<>(userIds.size());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        List<Long> ids = SequenceIds.next(jdbcTemplate, "user_token_seq", 50, userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            byte[] bytes = new byte[32];
+            RANDOM.nextBytes(bytes);
+            String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            rawTokens.add(rawToken);
+            rows.add(new Object[]{ids.get(i), JwtManager.hashToken(rawToken), purpose.name(), userIds.get(i), now, expiresAt});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into user_tokens (id, token_hash, purpose, user_id, created_at, expires_at) values (?, ?, ?, ?, ?, ?)",
+                rows);
+        return rawTokens;
+    }
+
+    public Optional<UserToken> findToken(String rawToken, TokenPurpose purpose) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return userTokenRepository.findByTokenHashAndPurpose(JwtManager.hashToken(rawToken), purpose);
+    }
+
+    // Token tek kullanımlıktır
+    public void consume(UserToken token) {
+        userTokenRepository.delete(token);
+    }
+
+    private long ttlHours(TokenPurpose purpose) {
+        return purpose == TokenPurpose.PASSWORD_RESET ? passwordResetTtlHours : emailVerificationTtlHours;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.HolidayRequestDto;
+import com.ecetasci.hrmanagement.dto.response.HolidayResponseDto;
+import com.ecetasci.hrmanagement.entity.CompanyHoliday;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.CompanyHolidayRepository;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import com.ecetasci.hrmanagement.utility.WorkingDayCalendar;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Şirket bazlı iş günü takvimi.
+ * <p>
+ * Her şirket için resmi tatiller + şirket tatillerinden değiştirilemez bir {@link WorkingDayCalendar} kurulur
+ * (bu yılın {@code years-back} öncesinden {@code years-ahead} sonrasına) ve cache'te tutulur. Tatil eklenip
+ * güncellendiğinde/silindiğinde yeni takvim kurulup eskisinin yerine tek hamlede konur; o an hesap yapan
+ * okuyucular eski (tutarlı) görüntüyle işini bitirir. Diğer node'lar değişikliği en geç TTL sonunda görür.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkingDayCalendarService {
+
+    // Şirketi olmayan çağrılar için yalnızca resmi tatilleri içeren takvim
+    private static final long NATIONAL_KEY = 0L;
+
+    private final CompanyHolidayRepository holidayRepository;
+    private final CompanyRepository companyRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${app.calendar.years-back:5}")
+    private int yearsBack = 5;
+
+    @Value("${app.calendar.years-ahead:5}")
+    private int yearsAhead = 5;
+
+    // İzin talebi ve iş günü sorgusu için kabul edilen en uzun aralık (iki uç dahil)
+    @Value("${app.calendar.max-range-days:3660}")
+    private int maxRangeDays = 3660;
+
+    @Value("${app.calendar.cache.max-size:10000}")
+    private int cacheMaxSize = 10_000;
+
+    @Value("${app.calendar.cache.ttl-seconds:3600}")
+    private long cacheTtlSeconds = 3600;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private TtlCache<Long, WorkingDayCalendar> calendars;
+
+    @PostConstruct
+    void init() {
+        calendars = cacheRegistry.register(
+                new TtlCache<>("workingDayCalendars", cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds)));
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public WorkingDayCalendar calendar(Long companyId) {
+        long key = companyId != null ? companyId : NATIONAL_KEY;
+        return calendars.getOrLoad(key, this::build);
+    }
+
+    /**
+     * İki tarih (dahil) arasındaki iş günü sayısı; {@code max-range-days}'ten uzun aralıklar reddedilir.
+     */
+    public int countWorkingDays(Long companyId, LocalDate startDate, LocalDate endDate) {
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxRangeDays) {
+            throw new ValidationException("Tarih aralığı en fazla " + maxRangeDays + " gün olabilir");
+        }
+        return (int) calendar(companyId).countWorkingDays(startDate, endDate);
+    }
+
+    public List<HolidayResponseDto> listHolidays(Long companyId) {
+        return holidayRepository.findByCompanyIdOrderByStartDateAsc(companyId).stream()
+                .map(WorkingDayCalendarService::toDto)
+                .toList();
+    }
+
+    public HolidayResponseDto createHoliday(Long companyId, HolidayRequestDto dto) {
+        validate(dto);
+        CompanyHoliday holiday = CompanyHoliday.builder()
+                .name(dto.name().trim())
+                .startDate(dto.startDate())
+                .endDate(dto.endDate())
+                .recurring(Boolean.TRUE.equals(dto.recurring()))
+                .company(companyRepository.getReferenceById(companyId))
+                .build();
+        holiday.setCreatedAt(LocalDateTime.now());
+        CompanyHoliday saved = holidayRepository.save(holiday);
+        refresh(companyId);
+        return toDto(saved);
+    }
+
+    public HolidayResponseDto updateHoliday(Long companyId, Long holidayId, HolidayRequestDto dto) {
+        validate(dto);
+        CompanyHoliday holiday = holidayRepository.findByIdAndCompanyId(holidayId, companyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found"));
+        holiday.setName(dto.name().trim());
+        holiday.setStartDate(dto.startDate());
+        holiday.setEndDate(dto.endDate());
+        holiday.setRecurring(Boolean.TRUE.equals(dto.recurring()));
+        holiday.setUpdatedAt(LocalDateTime.now());
+        CompanyHoliday saved = holidayRepository.save(holiday);
+        refresh(companyId);
+        return toDto(saved);
+    }
+
+    public void deleteHoliday(Long companyId, Long holidayId) {
+        CompanyHoliday holiday = holidayRepository.findByIdAndCompanyId(holidayId, companyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found"));
+        holidayRepository.delete(holiday);
+        refresh(companyId);
+    }
+
+    // Kayıt commit edildikten sonra (repository çağrısı kendi transaction'ında) yeni takvim kurulup yerine konur
+    private void refresh(Long companyId) {
+        calendars.put(companyId, build(companyId));
+    }
+
+    private WorkingDayCalendar build(Long companyId) {
+        List<WorkingDayCalendar.Holiday> holidays = new ArrayList<>(WorkingDayCalendar.NATIONAL_HOLIDAYS);
+        if (companyId != NATIONAL_KEY) {
+            for (CompanyHoliday holiday : holidayRepository.findByCompanyIdOrderByStartDateAsc(companyId)) {
+                holidays.add(new WorkingDayCalendar.Holiday(holiday.getStartDate(), holiday.getEndDate(), holiday.isRecurring()));
+            }
+        }
+        int year = LocalDate.now(clock).getYear();
+        return WorkingDayCalendar.build(year - yearsBack, year + yearsAhead, holidays);
+    }
+
+    private static void validate(HolidayRequestDto dto) {
+        if (dto.name() == null || dto.name().isBlank()) {
+            throw new ValidationException("Holiday name cannot be blank");
+        }
+        if (dto.startDate() == null || dto.endDate() == null) {
+            throw new ValidationException("startDate ve endDate boş olamaz");
+        }
+        if (dto.endDate().isBefore(dto.startDate())) {
+            throw new ValidationException("endDate, startDate'den önce olamaz");
+        }
+        if (Boolean.TRUE.equals(dto.recurring()) && !dto.endDate().isBefore(dto.startDate().plusYears(1))) {
+            throw new ValidationException("Her yıl tekrarlanan tatil bir yıldan uzun olamaz");
+        }
+    }
+
+    private static HolidayResponseDto toDto(CompanyHoliday holiday) {
+        return new HolidayResponseDto(holiday.getId(), holiday.getName(), holiday.getStartDate(),
+                holiday.getEndDate(), holiday.isRecurring());
+    }
+}
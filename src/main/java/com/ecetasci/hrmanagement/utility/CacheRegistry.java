@@ -0,0 +1,28 @@
+package com.ecetasci.hrmanagement.utility;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Uygulamadaki {@link TtlCache} örneklerini toplar; admin endpoint'i hit/miss istatistiklerini buradan okur.
+ */
+@Component
+public class CacheRegistry {
+
+    private final List<TtlCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public <K, V> TtlCache<K, V> register(TtlCache<K, V> cache) {
+        caches.add(cache);
+        return cache;
+    }
+
+    public List<TtlCache.CacheStats> stats() {
+        return caches.stream()
+                .map(TtlCache::stats)
+                .sorted(Comparator.comparing(TtlCache.CacheStats::name))
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecetasci.hrmanagement.utility;
+
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 uyumlu, akış (streaming) tabanlı CSV okuyucu.
+ * Dosyanın tamamı belleğe alınmaz; her {@link #next()} çağrısı bir kayıt okur. Tırnaklı alanlar,
+ * alan içi {@code ""} kaçışı, satır sonları ve CRLF desteklenir. Kaydın başladığı satır
+ * {@link #recordLine()} ile okunur (hata raporları için).
+ */
+public class CsvReader implements AutoCloseable {
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxFieldLength;
+    private long line = 1;
+    private long recordLine;
+    private int pushback = -2;
+
+    public CsvReader(Reader reader, char delimiter, int maxFieldLength) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * @return sıradaki kaydın alanları; dosya sonunda {@code null}
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        // Boş satırları atla
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new ValidationException("Unterminated quoted field at line " + recordLine);
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int peek = read();
+                    if (peek != '\n') {
+                        unread(peek);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() >= maxFieldLength) {
+            throw new ValidationException("Field too long at line " + recordLine);
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
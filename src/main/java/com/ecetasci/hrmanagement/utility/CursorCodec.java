@@ -0,0 +1,59 @@
+package com.ecetasci.hrmanagement.utility;
+
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset (seek) sayfalama için opak cursor.
+ * Cursor son satırın sıralama anahtarlarını (ör. {@code companyName + id}) taşır; istemci içeriğini
+ * yorumlamaz, yalnızca {@code after} parametresi olarak geri gönderir.
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "k1";
+    private static final char SEPARATOR = '\u001F';
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            sb.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return cursor'daki anahtarlar; parça sayısı beklenenden farklıysa {@link ValidationException}
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != expectedKeys + 1 || !VERSION.equals(parts[0])) {
+            throw new ValidationException("Invalid cursor");
+        }
+        String[] keys = new String[expectedKeys];
+        System.arraycopy(parts, 1, keys, 0, expectedKeys);
+        return keys;
+    }
+
+    public static long decodeId(String cursor) {
+        return parseId(decode(cursor, 1)[0]);
+    }
+
+    public static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package com.ecetasci.hrmanagement.utility;
 
+import com.ecetasci.hrmanagement.security.TokenRevocationService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.function.Function;
 
 @Service
@@ -34,12 +40,46 @@ public class JwtManager {
 	@Value("${app.jwtSecret}")
 	private String jwtSecret;
 
+	// İmzalı token -> doğrulanmış claims cache'i (anahtar: token'ın SHA-256 özeti)
+	@Value("${app.jwt.claims-cache.max-size:10000}")
+	private int claimsCacheMaxSize;
+
+	@Value("${app.jwt.claims-cache.ttl-seconds:300}")
+	private long claimsCacheTtlSeconds;
+
+	@Autowired(required = false)
+	private CacheRegistry cacheRegistry;
+
+	@Autowired
+	private TokenRevocationService revocationService;
+
+	private SecretKey signInKey;
+	private JwtParser parser;
+	private TtlCache<String, Claims> claimsCache;
+
+	// HMAC anahtarı ve parser bir kez kurulur; her istekte yeniden üretilmez
+	@PostConstruct
+	void init() {
+		this.signInKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(signInKey).build();
+		this.claimsCache = new TtlCache<>("jwtClaims", claimsCacheMaxSize, Duration.ofSeconds(claimsCacheTtlSeconds));
+		if (cacheRegistry != null) {
+			cacheRegistry.register(claimsCache);
+		}
+	}
+
 	private SecretKey getSignInKey() {
-		return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+		return signInKey;
 	}
 
 	public String generateToken(String username) {
+		return generateToken(username, Map.of());
+	}
+
+	// Ek imzalı claim'lerle (ör. CallerContext: uid, eid, cid, role) token üretir
+	public String generateToken(String username, Map<String, ?> extraClaims) {
 		String compact = Jwts.builder()
+				.claims(extraClaims)
 				.subject(username)
 				.issuedAt(new Date(System.currentTimeMillis()))
 				.expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
@@ -60,28 +100,80 @@ public class JwtManager {
 		Claims claims = extractClaims(token);
 		return claimsResolver.apply(claims);
 	}
-	
+
+	/**
+	 * Token'ı imza + süre kontrolüyle bir kez doğrular ve claims'i döner.
+	 * Aynı token tekrar geldiğinde imza doğrulaması yapılmadan cache'ten döner.
+	 * Geçersiz/süresi dolmuş token'da {@link JwtException} fırlatır.
+	 */
 	public Claims extractClaims(String token){
-		return Jwts.parser().verifyWith(getSignInKey()).build().parseSignedClaims(token).getPayload();
+		String key = hashToken(token);
+		Claims cached = claimsCache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		Claims claims = parser.parseSignedClaims(token).getPayload();
+		Date expiration = claims.getExpiration();
+		if (expiration != null) {
+			claimsCache.put(key, claims, expiration.getTime());
+		} else {
+			claimsCache.put(key, claims);
+		}
+		return claims;
 	}
-	
-	private Boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+
+	/**
+	 * Filtre için: token'ı doğrular, geçersizse exception yerine null döner.
+	 */
+	public Claims parseToken(String token) {
+		try {
+			return extractClaims(token);
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
 	}
 	
 	//2. token doğrulama
 	public boolean verifyToken(String token, UserDetails userDetails) {
-		String username = extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		return verifyToken(extractClaims(token), userDetails);
 	}
 
-	private final Set<String> blackList = new HashSet<>();
+	// Önceden parse edilmiş claims üzerinden doğrulama (tekrar parse yok)
+	public boolean verifyToken(Claims claims, UserDetails userDetails) {
+		String username = claims.getSubject();
+		Date expiration = claims.getExpiration();
+		return username != null
+				&& username.equals(userDetails.getUsername())
+				&& (expiration == null || expiration.after(new Date()));
+	}
+
+	public TtlCache.CacheStats claimsCacheStats() {
+		return claimsCache.stats();
+	}
+
+	// Token'ın kendisi yerine sabit uzunluklu özeti saklanır
+	public static String hashToken(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
 
+	/**
+	 * Token'ı exp zamanına kadar iptal listesine ekler (tüm node'larla paylaşılır).
+	 * Geçersiz ya da süresi dolmuş token zaten reddedildiği için kaydedilmez.
+	 */
 	public void invalidateToken(String token) {
-		blackList.add(token);
+		Claims claims = parseToken(token);
+		if (claims == null || claims.getExpiration() == null) {
+			return;
+		}
+		revocationService.revoke(hashToken(token), claims.getExpiration().toInstant());
 	}
 
 	public boolean isTokenValid(String token) {
-		return !blackList.contains(token);
+		return !revocationService.isRevoked(hashToken(token));
 	}
 }
\ No newline at end of file
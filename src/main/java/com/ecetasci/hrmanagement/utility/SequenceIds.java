@@ -0,0 +1,37 @@
+package com.ecetasci.hrmanagement.utility;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate'in pooled optimizer'ı ile uyumlu id bloğu ayırma (JDBC ile toplu insert yapan yollar için).
+ * <p>
+ * Sequence her {@code nextval} çağrısında {@code increment} kadar ilerler ve dönen değer bloğun üst sınırıdır:
+ * {@code (v - increment, v]}. Hibernate de aynı aralıkları kullandığı için iki yol aynı sequence'i çakışmadan
+ * paylaşır. {@code count} id için yalnızca {@code ceil(count / increment)} değer tek sorguda çekilir.
+ */
+public final class SequenceIds {
+
+    private SequenceIds() {
+    }
+
+    public static List<Long> next(JdbcTemplate jdbcTemplate, String sequence, int increment, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count <= 0) {
+            return ids;
+        }
+        int blocks = (count + increment - 1) / increment;
+        List<Long> upperBounds = jdbcTemplate.queryForList(
+                "select nextval('" + sequence + "') from generate_series(1, ?)", Long.class, blocks);
+        for (Long upper : upperBounds) {
+            // Yeni sequence'in ilk değeri (1) tek başına bir bloktur; Hibernate de aynı şekilde davranır
+            long from = Math.max(1, upper - increment + 1);
+            for (long id = from; id <= upper && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
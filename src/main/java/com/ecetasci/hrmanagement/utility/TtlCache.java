@@ -0,0 +1,134 @@
+package com.ecetasci.hrmanagement.utility;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Boyut ve süre (TTL) sınırlı, thread-safe basit cache.
+ * Okuma yolu kilitsizdir (ConcurrentHashMap); kapasite aşıldığında önce süresi dolmuş,
+ * sonra en eski eklenmiş kayıtlar atılır. Hit/miss sayaçları {@link #stats()} ile okunur.
+ */
+public class TtlCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TtlCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, Clock.systemUTC());
+    }
+
+    public TtlCache(String name, int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.millis() + ttlMillis);
+    }
+
+    /**
+     * Kaydı verilen mutlak zamanda (epoch millis) düşecek şekilde ekler; cache TTL'inden uzun olamaz.
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        long expiresAt = Math.min(expiresAtMillis, clock.millis() + ttlMillis);
+        if (expiresAt <= clock.millis()) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAt, clock.millis()));
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, entries.size(), maxSize, hits.get(), misses.get(), evictions.get());
+    }
+
+    // Önce süresi dolanları at; hâlâ taşıyorsa en eski eklenen ~%10'luk dilimi tek seferde at (amortize maliyet)
+    private synchronized void shrink() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = clock.millis();
+        entries.entrySet().removeIf(e -> e.getValue().expiresAt <= now);
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        List<Map.Entry<K, Entry<V>>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort(Comparator.comparingLong(e -> e.getValue().createdAt));
+        for (int i = 0; i < toRemove && i < snapshot.size(); i++) {
+            Map.Entry<K, Entry<V>> e = snapshot.get(i);
+            if (entries.remove(e.getKey(), e.getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt, long createdAt) {
+    }
+
+    public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.ecetasci.hrmanagement.utility;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Değiştirilemez iş günü takvimi (bir şirketin tatilleri + resmi tatiller).
+ * <p>
+ * {@code [firstYear, lastYear]} penceresindeki her gün için bir bit (iş günü mü) ve prefix toplam dizisi
+ * önceden hesaplanır: {@code prefix[i]} pencerenin başından i. güne kadar (hariç) iş günü sayısıdır. Böylece
+ * pencere içindeki herhangi bir aralığın iş günü sayısı iki dizi okumasıdır, aralık uzunluğundan bağımsızdır.
+ * Pencere dışına taşan kısımlar kurallardan aritmetik olarak hesaplanır (nadir yol): tam haftalar 5 iş günü
+ * sayılır, aralığa düşen tatil tekrarları yıl başına bir kez listelenip birleştirilerek düşülür.
+ * <p>
+ * Tatiller çok günlü olabilir; {@code recurring} olanlar başlangıç yılından itibaren her yıl aynı
+ * tarihlerde tekrarlanır, olmayanlar (ör. yıla göre kayan dini bayramlar) yalnızca verilen tarihlerdedir.
+ */
+public final class WorkingDayCalendar {
+
+    /**
+     * Türkiye'de her yıl aynı tarihte olan resmi tatiller (yürürlük yılıyla).
+     */
+    public static final List<Holiday> NATIONAL_HOLIDAYS = List.of(
+            Holiday.recurring(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 1, 1)),     // Yılbaşı
+            Holiday.recurring(LocalDate.of(2000, 4, 23), LocalDate.of(2000, 4, 23)),   // 23 Nisan
+            Holiday.recurring(LocalDate.of(2009, 5, 1), LocalDate.of(2009, 5, 1)),     // Emek ve Dayanışma Günü
+            Holiday.recurring(LocalDate.of(2000, 5, 19), LocalDate.of(2000, 5, 19)),   // 19 Mayıs
+            Holiday.recurring(LocalDate.of(2017, 7, 15), LocalDate.of(2017, 7, 15)),   // 15 Temmuz
+            Holiday.recurring(LocalDate.of(2000, 8, 30), LocalDate.of(2000, 8, 30)),   // Zafer Bayramı
+            Holiday.recurring(LocalDate.of(2000, 10, 29), LocalDate.of(2000, 10, 29))  // Cumhuriyet Bayramı
+    );
+
+    private final int firstYear;
+    private final int lastYear;
+    private final long firstEpochDay;
+    private final long endEpochDay; // hariç
+    private final BitSet workingDays;
+    private final int[] prefix;
+    private final List<Holiday> holidays;
+
+    private WorkingDayCalendar(int firstYear, int lastYear, BitSet workingDays, int[] prefix, List<Holiday> holidays) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.endEpochDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+        this.workingDays = workingDays;
+        this.prefix = prefix;
+        this.holidays = holidays;
+    }
+
+    public static WorkingDayCalendar build(int firstYear, int lastYear, Collection<Holiday> holidays) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("lastYear must not be before firstYear");
+        }
+        List<Holiday> rules = List.copyOf(holidays);
+        long first = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        int days = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - first);
+
+        BitSet bits = new BitSet(days);
+        for (int i = 0; i < days; i++) {
+            if (isWeekday(first + i)) {
+                bits.set(i);
+            }
+        }
+        for (Holiday holiday : rules) {
+            if (holiday.recurring()) {
+                // Önceki yıldan taşan (ör. 31 Aralık - 1 Ocak) tekrarlar da pencereye düşebilir
+                for (int year = Math.max(firstYear - 1, holiday.startDate().getYear()); year <= lastYear; year++) {
+                    LocalDate start = holiday.startDate().withYear(year);
+                    clear(bits, first, days, start, start.plusDays(holiday.lengthInDays() - 1));
+                }
+            } else {
+                clear(bits, first, days, holiday.startDate(), holiday.endDate());
+            }
+        }
+
+        int[] prefix = new int[days + 1];
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + (bits.get(i) ? 1 : 0);
+        }
+        return new WorkingDayCalendar(firstYear, lastYear, bits, prefix, rules);
+    }
+
+    /**
+     * {@code [startDate, endDate]} (iki uç dahil) aralığındaki iş günü sayısı; bitiş başlangıçtan önceyse 0.
+     */
+    public long countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay() + 1;
+        if (end <= start) {
+            return 0;
+        }
+        long lo = Math.max(start, firstEpochDay);
+        long hi = Math.min(end, endEpochDay);
+        long count = lo < hi ? prefix[(int) (hi - firstEpochDay)] - prefix[(int) (lo - firstEpochDay)] : 0;
+        // Pencere dışı kalan uçlar
+        count += countFromRules(start, Math.min(end, firstEpochDay));
+        count += countFromRules(Math.max(start, endEpochDay), end);
+        return count;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day >= firstEpochDay && day < endEpochDay) {
+            return workingDays.get((int) (day - firstEpochDay));
+        }
+        return computeWorkingDay(day);
+    }
+
+    public int firstYear() {
+        return firstYear;
+    }
+
+    public int lastYear() {
+        return lastYear;
+    }
+
+    // [from, to) aralığında hafta içi günler eksi hafta içine düşen tatil günleri; maliyet yıl x tatil sayısıdır
+    private long countFromRules(long from, long to) {
+        if (from >= to) {
+            return 0;
+        }
+        int fromYear = LocalDate.ofEpochDay(from).getYear();
+        int toYear = LocalDate.ofEpochDay(to - 1).getYear();
+        List<long[]> closed = new ArrayList<>();
+        for (Holiday holiday : holidays) {
+            if (holiday.recurring()) {
+                for (int year = Math.max(fromYear - 1, holiday.startDate().getYear()); year <= toYear; year++) {
+                    long start = holiday.startDate().withYear(year).toEpochDay();
+                    addClipped(closed, start, start + holiday.lengthInDays(), from, to);
+                }
+            } else {
+                addClipped(closed, holiday.startDate().toEpochDay(), holiday.endDate().toEpochDay() + 1, from, to);
+            }
+        }
+        // Çakışan tatiller aynı günü iki kez düşmesin diye aralıklar birleştirilir
+        closed.sort(Comparator.comparingLong(range -> range[0]));
+        long count = weekdays(from, to);
+        long mergedStart = from;
+        long mergedEnd = from;
+        for (long[] range : closed) {
+            if (range[0] > mergedEnd) {
+                count -= weekdays(mergedStart, mergedEnd);
+                mergedStart = range[0];
+            }
+            mergedEnd = Math.max(mergedEnd, range[1]);
+        }
+        return count - weekdays(mergedStart, mergedEnd);
+    }
+
+    private static void addClipped(List<long[]> ranges, long start, long end, long from, long to) {
+        long lo = Math.max(start, from);
+        long hi = Math.min(end, to);
+        if (lo < hi) {
+            ranges.add(new long[]{lo, hi});
+        }
+    }
+
+    // [from, to) aralığındaki hafta içi gün sayısı: tam haftalar 5'er, kalan en fazla 6 gün tek tek
+    private static long weekdays(long from, long to) {
+        if (from >= to) {
+            return 0;
+        }
+        long weeks = (to - from) / 7;
+        long count = weeks * 5;
+        for (long day = from + weeks * 7; day < to; day++) {
+            count += isWeekday(day) ? 1 : 0;
+        }
+        return count;
+    }
+
+    private boolean computeWorkingDay(long epochDay) {
+        if (!isWeekday(epochDay)) {
+            return false;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        for (Holiday holiday : holidays) {
+            if (holiday.covers(date)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        // 1970-01-01 Perşembe
+        DayOfWeek dayOfWeek = DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7L) + 1);
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+
+    private static void clear(BitSet bits, long first, int days, LocalDate start, LocalDate end) {
+        long from = Math.max(start.toEpochDay() - first, 0);
+        long to = Math.min(end.toEpochDay() - first + 1, days);
+        if (from < to) {
+            bits.clear((int) from, (int) to);
+        }
+    }
+
+    /**
+     * Tek ya da çok günlük tatil; iki uç dahil.
+     */
+    public record Holiday(LocalDate startDate, LocalDate endDate, boolean recurring) {
+
+        public Holiday {
+            if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("Holiday dates are invalid");
+            }
+        }
+
+        public static Holiday recurring(LocalDate startDate, LocalDate endDate) {
+            return new Holiday(startDate, endDate, true);
+        }
+
+        long lengthInDays() {
+            return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        }
+
+        boolean covers(LocalDate date) {
+            if (!recurring) {
+                return !date.isBefore(startDate) && !date.isAfter(endDate);
+            }
+            for (int year = date.getYear() - 1; year <= date.getYear(); year++) {
+                if (year < startDate.getYear()) {
+                    continue;
+                }
+                LocalDate start = startDate.withYear(year);
+                if (!date.isBefore(start) && !date.isAfter(start.plusDays(lengthInDays() - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecetasci.hrmanagement.config;
+
+import com.ecetasci.hrmanagement.security.CallerContextArgumentResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebConfigTest {
+
+    @Test
+    void configureAsyncSupport_appliesExportTimeout() {
+        WebConfig config = new WebConfig(mock(CallerContextArgumentResolver.class));
+        ReflectionTestUtils.setField(config, "asyncRequestTimeoutMs", 1_800_000L);
+        AsyncSupportConfigurer configurer = mock(AsyncSupportConfigurer.class);
+
+        config.configureAsyncSupport(configurer);
+
+        verify(configurer).setDefaultTimeout(1_800_000L);
+    }
+
+    @Test
+    void applicationYml_exportTimeout_exceedsContainerDefault() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+
+        long timeoutMs = Long.parseLong(properties.getProperty("app.export.request-timeout-ms"));
+        assertTrue(timeoutMs > 30_000L, "export timeout must exceed Tomcat's 30s async default");
+    }
+}
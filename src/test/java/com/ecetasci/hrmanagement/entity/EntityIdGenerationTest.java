@@ -0,0 +1,43 @@
+package com.ecetasci.hrmanagement.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IDENTITY, Hibernate insert batching'ini sessizce kapatır; hiçbir entity'ye geri dönmemeli.
+ */
+class EntityIdGenerationTest {
+
+    @Test
+    void allGeneratedIds_useSequences() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        List<String> offenders = new ArrayList<>();
+        int checked = 0;
+        for (var candidate : scanner.findCandidateComponents(Employee.class.getPackageName())) {
+            for (Class<?> type = Class.forName(candidate.getBeanClassName()); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    GeneratedValue generated = field.getAnnotation(GeneratedValue.class);
+                    if (generated != null) {
+                        checked++;
+                        if (generated.strategy() != GenerationType.SEQUENCE) {
+                            offenders.add(type.getSimpleName() + "." + field.getName());
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(checked > 10);
+        assertEquals(List.of(), offenders);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecetasci.hrmanagement.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private ClientIpResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new ClientIpResolver();
+        resolver.init();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader(ClientIpResolver.FORWARDED_FOR, forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    void resolve_withoutTrustedProxies_ignoresSpoofedHeader() {
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", "1.2.3.4")));
+    }
+
+    @Test
+    void resolve_fromTrustedProxy_usesRightmostUntrustedHop() {
+        resolver.setTrustedProxies("10.0.0.0/8, 192.168.1.5");
+
+        // İstemcinin yazdığı sahte ilk değer atlanır; son güvenilir proxy'nin gördüğü adres alınır
+        assertEquals("198.51.100.9",
+                resolver.resolve(request("10.0.0.2", "1.2.3.4, 198.51.100.9, 192.168.1.5")));
+        assertEquals("10.0.0.2", resolver.resolve(request("10.0.0.2", null)));
+    }
+
+    @Test
+    void resolve_fromUntrustedPeer_ignoresHeaderEvenWhenProxiesConfigured() {
+        resolver.setTrustedProxies("10.0.0.0/8");
+
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", "10.0.0.3")));
+    }
+
+    @Test
+    void resolve_nonIpHop_isTreatedAsClient() {
+        resolver.setTrustedProxies("10.0.0.0/8");
+
+        assertEquals("unknown", resolver.resolve(request("10.0.0.2", "unknown")));
+    }
+}
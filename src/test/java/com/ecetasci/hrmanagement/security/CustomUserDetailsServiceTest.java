@@ -0,0 +1,74 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CacheRegistry cacheRegistry;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheRegistry = new CacheRegistry();
+        service = new CustomUserDetailsService(userRepository, cacheRegistry);
+        ReflectionTestUtils.setField(service, "principalCacheMaxSize", 100);
+        ReflectionTestUtils.setField(service, "principalCacheTtlSeconds", 60L);
+        service.init();
+    }
+
+    @Test
+    void loadUserByUsername_secondCall_servedFromCache() {
+        User user = User.builder().id(1L).email("a@x.com").password("ENC").role(Role.EMPLOYEE).build();
+        when(userRepository.findUserByEmail("a@x.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = service.loadUserByUsername("a@x.com");
+        UserDetails second = service.loadUserByUsername("a@x.com");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findUserByEmail("a@x.com");
+        assertEquals(1, service.principalCacheStats().hits());
+        assertEquals(1, cacheRegistry.stats().size());
+    }
+
+    @Test
+    void onUserChanged_evictsEntry_nextCallHitsRepository() {
+        User user = User.builder().id(1L).email("a@x.com").password("ENC").role(Role.EMPLOYEE).build();
+        when(userRepository.findUserByEmail("a@x.com")).thenReturn(Optional.of(user));
+
+        service.loadUserByUsername("a@x.com");
+        service.onUserChanged(new UserChangedEvent("a@x.com"));
+        service.loadUserByUsername("a@x.com");
+
+        verify(userRepository, times(2)).findUserByEmail("a@x.com");
+    }
+
+    @Test
+    void loadUserByUsername_unknownUser_throwsAndIsNotCached() {
+        when(userRepository.findUserByEmail("x@x.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("x@x.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("x@x.com"));
+        verify(userRepository, times(2)).findUserByEmail("x@x.com");
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter();
+        limiter.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void check_emailBucketExhausted_rejectsWithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            limiter.check("Ali@X.com", "10.0.0." + i);
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> limiter.check("ali@x.com", "10.0.0.99"));
+        assertEquals(12, ex.getRetryAfterSeconds()); // 5/dk => 12 sn'de bir token
+        assertEquals(1, limiter.stats().rejectedByEmail());
+    }
+
+    @Test
+    void check_ipBucketExhausted_rejectsAcrossDifferentEmails() {
+        for (int i = 0; i < 20; i++) {
+            limiter.check("user" + i + "@x.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("other@x.com", "10.0.0.1"));
+        assertEquals(1, limiter.stats().rejectedByIp());
+        assertEquals(20, limiter.stats().allowed());
+    }
+
+    @Test
+    void check_tokensRefillOverTime() {
+        for (int i = 0; i < 5; i++) {
+            limiter.check("a@x.com", "10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("a@x.com", "10.0.0.1"));
+
+        limiter.setClock(Clock.fixed(NOW.plusSeconds(12), ZoneOffset.UTC));
+
+        assertDoesNotThrow(() -> limiter.check("a@x.com", "10.0.0.1"));
+    }
+
+    @Test
+    void evictIdleBuckets_dropsBucketsUnusedLongerThanIdleWindow() {
+        limiter.check("a@x.com", "10.0.0.1");
+        assertEquals(2, limiter.stats().trackedBuckets());
+
+        limiter.setClock(Clock.fixed(NOW.plusSeconds(11 * 60), ZoneOffset.UTC));
+        limiter.evictIdleBuckets();
+
+        assertEquals(0, limiter.stats().trackedBuckets());
+    }
+}
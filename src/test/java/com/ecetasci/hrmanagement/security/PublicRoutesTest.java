@@ -0,0 +1,31 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.constant.Endpoints;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicRoutesTest {
+
+    @Test
+    void isPublic_prefixPatterns_matchSubpathsAndRoot() {
+        assertTrue(PublicRoutes.isPublic("POST", Endpoints.AUTH + "/login"));
+        assertTrue(PublicRoutes.isPublic("POST", Endpoints.AUTH));
+        assertTrue(PublicRoutes.isPublic("GET", "/v3/api-docs"));
+        assertTrue(PublicRoutes.isPublic("GET", "/swagger-ui/index.html"));
+    }
+
+    @Test
+    void isPublic_exactPatterns_doNotMatchSiblingsOrChildren() {
+        assertTrue(PublicRoutes.isPublic("POST", Endpoints.USER + "/register"));
+        assertFalse(PublicRoutes.isPublic("GET", Endpoints.USER + "/find-all"));
+        assertFalse(PublicRoutes.isPublic("POST", Endpoints.USER + "/register/extra"));
+        assertFalse(PublicRoutes.isPublic("GET", Endpoints.ADMIN + "/list-company"));
+    }
+
+    @Test
+    void isPublic_getOnlyPatterns_requireGet() {
+        assertTrue(PublicRoutes.isPublic("GET", "/api/v1/reviews/public"));
+        assertFalse(PublicRoutes.isPublic("POST", "/api/v1/reviews/public"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecetasci.hrmanagement.security;
+
+import com.ecetasci.hrmanagement.entity.RevokedToken;
+import com.ecetasci.hrmanagement.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void revoke_persistsAndIsVisibleLocally() {
+        service.revoke("h1", NOW.plusSeconds(60));
+
+        assertTrue(service.isRevoked("h1"));
+        assertFalse(service.isRevoked("other"));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revoke_alreadyExpiredToken_isIgnored() {
+        service.revoke("h1", NOW.minusSeconds(1));
+
+        assertFalse(service.isRevoked("h1"));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void isRevoked_afterTokenExpiry_returnsFalseAndDropsEntry() {
+        service.revoke("h1", NOW.plusSeconds(60));
+
+        service.setClock(Clock.fixed(NOW.plusSeconds(61), ZoneOffset.UTC));
+
+        assertFalse(service.isRevoked("h1"));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void syncFromStore_picksUpRevocationsFromOtherNodes() {
+        RevokedToken remote = RevokedToken.builder()
+                .tokenHash("remote")
+                .expiresAt(NOW.plusSeconds(300))
+                .revokedAt(NOW.minusSeconds(2))
+                .build();
+        when(revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(Instant.EPOCH, NOW)).thenReturn(List.of(remote));
+
+        service.syncFromStore();
+
+        assertTrue(service.isRevoked("remote"));
+    }
+
+    @Test
+    void purgeExpired_removesLocalAndStoredEntries() {
+        service.revoke("h1", NOW.plusSeconds(10));
+        service.revoke("h2", NOW.plusSeconds(100));
+        Instant later = NOW.plusSeconds(50);
+        service.setClock(Clock.fixed(later, ZoneOffset.UTC));
+
+        service.purgeExpired();
+
+        assertEquals(1, service.size());
+        assertTrue(service.isRevoked("h2"));
+        verify(revokedTokenRepository).deleteExpired(later);
+    }
+}
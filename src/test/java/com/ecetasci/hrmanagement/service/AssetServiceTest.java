@@ -11,15 +11,20 @@ import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.EmployeeAsset;
 import com.ecetasci.hrmanagement.enums.AssetType;
 import com.ecetasci.hrmanagement.enums.EmployeeAssetStatus;
+import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
 import com.ecetasci.hrmanagement.repository.AssetRepository;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeAssetRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.security.CallerContext;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -44,7 +49,9 @@ class AssetServiceTest {
     @Mock
     private CompanyRepository companyRepository;
 
-    @InjectMocks
+    @Mock
+    private CompanySubscriptionRepository companySubscriptionRepository;
+
     private AssetService assetService;
 
     private Company company1;
@@ -52,6 +59,12 @@ class AssetServiceTest {
 
     @BeforeEach
     void setUp() {
+        TenantContext tenantContext = new TenantContext(companyRepository, companySubscriptionRepository, employeeRepository,
+                new CacheRegistry());
+        tenantContext.init();
+        assetService = new AssetService(assetRepository, employeeRepository, employeeAssetRepository,
+                companyRepository, tenantContext);
+
         company1 = new Company();
         company1.setId(1L);
         company1.setCompanyName("CompA");
@@ -61,6 +74,25 @@ class AssetServiceTest {
         company2.setCompanyName("CompB");
     }
 
+    @Test
+    void getAssetsForCaller_usesCompanyFromCallerContext() {
+        Asset a1 = buildAsset(10L, "Laptop", company1);
+        when(assetRepository.findAllByCompanyId(1L)).thenReturn(List.of(a1));
+
+        List<AssetResponseDto> result = assetService.getAssetsForCaller(
+                new CallerContext(3L, 4L, 1L, Role.COMPANY_ADMIN, "m@x.com"));
+
+        assertEquals(1, result.size());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void getAssetsForCaller_anonymousOrNoCompany_throws() {
+        assertThrows(UnauthorizedException.class, () -> assetService.getAssetsForCaller(CallerContext.anonymous()));
+        assertThrows(ForbiddenException.class, () -> assetService.getAssetsForCaller(
+                new CallerContext(3L, null, null, Role.SITE_ADMIN, "a@x.com")));
+    }
+
     @Test
     void getAllAssets_returnsDtos() {
         Asset a1 = buildAsset(10L, "Laptop", company1);
@@ -90,6 +122,7 @@ class AssetServiceTest {
         AssetRequestDto dto = defaultAssetRequestDto();
         when(assetRepository.existsBySerialNumber(dto.getSerialNumber())).thenReturn(false);
         when(companyRepository.findById(dto.getCompanyId())).thenReturn(Optional.of(company1));
+        when(companyRepository.getReferenceById(dto.getCompanyId())).thenReturn(company1);
         when(assetRepository.save(any(Asset.class))).thenAnswer(inv -> {
             Asset a = inv.getArgument(0);
             a.setId(100L);
@@ -128,6 +161,7 @@ class AssetServiceTest {
         when(assetRepository.findById(7L)).thenReturn(Optional.of(existing));
         AssetRequestDto dto = defaultAssetRequestDto();
         when(companyRepository.findById(dto.getCompanyId())).thenReturn(Optional.of(company1));
+        when(companyRepository.getReferenceById(dto.getCompanyId())).thenReturn(company1);
         when(assetRepository.save(any(Asset.class))).thenAnswer(inv -> inv.getArgument(0));
 
         AssetResponseDto res = assetService.updateAsset(7L, dto);
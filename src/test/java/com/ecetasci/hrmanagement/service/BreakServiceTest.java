@@ -1,14 +1,20 @@
 package com.ecetasci.hrmanagement.service;
 
 import com.ecetasci.hrmanagement.dto.request.BreakRequestDto;
+import com.ecetasci.hrmanagement.dto.response.ShiftResponseDto;
 import com.ecetasci.hrmanagement.entity.Break;
 import com.ecetasci.hrmanagement.entity.Shift;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.mapper.ShiftMapper;
 import com.ecetasci.hrmanagement.repository.BreakRepository;
+import com.ecetasci.hrmanagement.repository.DepartmentRepository;
+import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
+import com.ecetasci.hrmanagement.repository.PositionRepository;
 import com.ecetasci.hrmanagement.repository.ShiftRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,13 +29,25 @@ class BreakServiceTest {
 
     @Mock private BreakRepository breakRepository;
     @Mock private ShiftRepository shiftRepository;
+    @Mock private ShiftMapper shiftMapper;
 
-    @InjectMocks private BreakService service;
+    private BreakService service;
+
+    @BeforeEach
+    void setUp() {
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(mock(LeaveTypeRepository.class),
+                mock(DepartmentRepository.class), mock(PositionRepository.class), shiftRepository, shiftMapper,
+                breakRepository, new CacheRegistry());
+        referenceDataCache.init();
+        service = new BreakService(breakRepository, shiftRepository, referenceDataCache);
+    }
 
     @Test
     void createBreak_success() {
         Shift shift = new Shift(); shift.setId(1L); shift.setStartTime(LocalTime.of(9,0)); shift.setEndTime(LocalTime.of(17,0));
         when(shiftRepository.findById(1L)).thenReturn(Optional.of(shift));
+        when(shiftMapper.toDto(shift)).thenReturn(new ShiftResponseDto(1L, "Day", LocalTime.of(9,0), LocalTime.of(17,0), 2L, "C"));
+        when(shiftRepository.getReferenceById(1L)).thenReturn(shift);
         when(breakRepository.save(any(Break.class))).thenAnswer(inv -> inv.getArgument(0));
 
         BreakRequestDto dto = new BreakRequestDto("Lunch", LocalTime.of(12,0), LocalTime.of(12,30), null, 1L);
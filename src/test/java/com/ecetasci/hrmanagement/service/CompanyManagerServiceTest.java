@@ -5,10 +5,11 @@ import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
 import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.UserRepository;
-import com.ecetasci.hrmanagement.utility.JwtManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
@@ -51,7 +53,16 @@ class CompanyManagerServiceTest {
     private EmployeeService employeeService;
 
     @Mock
-    private JwtManager jwtManager;
+    private UserTokenService userTokenService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TenantContext tenantContext;
+
+    @Mock
+    private LeaveAccrualService leaveAccrualService;
 
     @InjectMocks
     private CompanyManagerService companyManagerService;
@@ -93,13 +104,12 @@ class CompanyManagerServiceTest {
         );
 
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPass");
-        when(jwtManager.generateToken(anyString())).thenReturn("token123");
+        when(userTokenService.issue(any(User.class), eq(TokenPurpose.EMAIL_VERIFICATION))).thenReturn("token123");
 
         User savedUser = new User();
         savedUser.setId(10L);
         savedUser.setEmail(dto.email());
         savedUser.setPassword("encodedPass");
-        savedUser.setEmailVerificationToken("token123");
 
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
 
@@ -124,6 +134,19 @@ class CompanyManagerServiceTest {
         assertEquals("encodedPass", captured.getPassword());
         assertEquals(dto.email(), captured.getEmail());
         verify(emailService).sendVerificationEmail(eq(dto.email()), eq("token123"));
+        verify(tenantContext).requireSeats(1L, 1);
+    }
+
+    @Test
+    void createEmployee_whenSeatLimitReached_createsNothing() {
+        RegisterEmployeeRequestDto dto = new RegisterEmployeeRequestDto("John Doe", 1L, "password123", Role.EMPLOYEE,
+                "john@example.com", "Developer", "IT", LocalDate.of(1990, 1, 1), LocalDate.of(2020, 1, 1),
+                BigDecimal.valueOf(5000), "555-1234", "Somewhere", "Jane:555-0000");
+        doThrow(new ForbiddenException("Employee limit of the current subscription has been reached"))
+                .when(tenantContext).requireSeats(1L, 1);
+
+        assertThrows(ForbiddenException.class, () -> companyManagerService.createEmployee(dto));
+        verifyNoInteractions(userRepository, employeeRepository, emailService);
     }
 
     @Test
@@ -3,9 +3,12 @@ package com.ecetasci.hrmanagement.service;
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -20,15 +23,26 @@ class CompanyServiceTest {
     @Mock
     private CompanyRepository companyRepository;
 
-    @InjectMocks
+    @Mock
+    private CompanySubscriptionRepository companySubscriptionRepository;
+
     private CompanyService companyService;
 
+    @BeforeEach
+    void setUp() {
+        TenantContext tenantContext = new TenantContext(companyRepository, companySubscriptionRepository,
+                mock(EmployeeRepository.class), new CacheRegistry());
+        tenantContext.init();
+        companyService = new CompanyService(companyRepository, tenantContext);
+    }
+
     @Test
     void findById_whenExists_returnsCompany() {
         Company company = new Company();
         company.setId(1L);
         company.setCompanyName("ACME");
         when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companyRepository.getReferenceById(1L)).thenReturn(company);
 
         Company result = companyService.findById(1L);
 
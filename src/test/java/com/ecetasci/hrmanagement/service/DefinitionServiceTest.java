@@ -2,21 +2,25 @@ package com.ecetasci.hrmanagement.service;
 
 import com.ecetasci.hrmanagement.dto.request.LeaveTypeRequest;
 import com.ecetasci.hrmanagement.dto.response.DepartmentDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
 import com.ecetasci.hrmanagement.dto.response.PositionDto;
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Department;
 import com.ecetasci.hrmanagement.entity.LeaveType;
 import com.ecetasci.hrmanagement.entity.Position;
 import com.ecetasci.hrmanagement.exceptions.LeaveTypeExistException;
+import com.ecetasci.hrmanagement.mapper.ShiftMapper;
+import com.ecetasci.hrmanagement.repository.BreakRepository;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.DepartmentRepository;
 import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
 import com.ecetasci.hrmanagement.repository.PositionRepository;
+import com.ecetasci.hrmanagement.repository.ShiftRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -36,13 +40,19 @@ class DefinitionServiceTest {
     @Mock private PositionRepository positionRepository;
     @Mock private CompanyRepository companyRepository;
 
-    @InjectMocks
     private DefinitionService service;
 
     private Company company;
 
     @BeforeEach
     void setUp() {
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(leaveTypeRepository, departmentRepository,
+                positionRepository, mock(ShiftRepository.class), mock(ShiftMapper.class), mock(BreakRepository.class),
+                new CacheRegistry());
+        referenceDataCache.init();
+        service = new DefinitionService(departmentRepository, leaveTypeRepository, positionRepository,
+                companyRepository, referenceDataCache);
+
         company = new Company();
         company.setId(1L);
         company.setCompanyName("ACME");
@@ -55,10 +65,11 @@ class DefinitionServiceTest {
         LeaveType lt2 = LeaveType.builder().name("Sick").company(company).build();
         when(leaveTypeRepository.findAllByCompanyId(1L)).thenReturn(List.of(lt1, lt2));
 
-        List<LeaveType> result = service.findAllLeaveTypes(1L);
+        List<LeaveTypeResponseDto> result = service.findAllLeaveTypes(1L);
 
         assertEquals(2, result.size());
-        assertEquals("Annual", result.get(0).getName());
+        assertEquals("Annual", result.get(0).name());
+        assertEquals(1L, result.get(0).companyId());
         verify(leaveTypeRepository).findAllByCompanyId(1L);
     }
 
@@ -134,10 +145,11 @@ class DefinitionServiceTest {
         Department d2 = Department.builder().name("IT").company(company).build();
         when(departmentRepository.findAllByCompanyId(1L)).thenReturn(List.of(d1, d2));
 
-        List<Department> list = service.findAllDepartments(1L);
+        List<DepartmentDto> list = service.findAllDepartments(1L);
 
         assertEquals(2, list.size());
-        assertEquals("HR", list.get(0).getName());
+        assertEquals("HR", list.get(0).name());
+        assertEquals("ACME", list.get(0).companyName());
         verify(departmentRepository).findAllByCompanyId(1L);
     }
 
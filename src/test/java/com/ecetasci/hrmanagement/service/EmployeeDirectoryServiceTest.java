@@ -0,0 +1,169 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.EmployeeDirectoryRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDirectoryServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeDirectoryService service;
+
+    private static EmployeeDirectoryRow row(long companyId, long id, String number, String name, String email) {
+        return new EmployeeDirectoryRow(companyId, id, number, name, email, null, null);
+    }
+
+    private void build(EmployeeDirectoryRow... rows) {
+        when(employeeRepository.findDirectoryRowsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(rows));
+        service.rebuild();
+    }
+
+    private static List<Long> ids(PagedResponse<EmployeeResponseDto> page) {
+        return page.getContent().stream().map(EmployeeResponseDto::id).toList();
+    }
+
+    @Test
+    void search_isAccentAndCaseInsensitive_andScopedToCompany() {
+        build(row(1, 10, "A000010", "Çağrı İnce", "cagri@x.com"),
+                row(1, 11, "A000011", "Mehmet Yılmaz", "mehmet@x.com"),
+                row(2, 20, "B000020", "Cagri Other", "other@y.com"));
+
+        assertEquals(List.of(10L), ids(service.search(1L, "CAGRI", 0, 10)));
+        assertEquals(List.of(11L), ids(service.search(1L, "yilm", 0, 10)));
+        assertEquals(List.of(20L), ids(service.search(2L, "cag", 0, 10)));
+    }
+
+    @Test
+    void search_ranksExactAndPrefixMatchesFirst_andPaginates() {
+        build(row(1, 1, "X000001", "Zeynep Alan", "zeynep@x.com"),
+                row(1, 2, "X000002", "Alan Turing", "turing@x.com"),
+                row(1, 3, "X000003", "Kalan Kişi", "alan@x.com"));
+
+        PagedResponse<EmployeeResponseDto> all = service.search(1L, "alan", 0, 10);
+        // e-posta öneki / isim öneki, sonra isimde kelime başı, en son herhangi bir yerde
+        assertEquals(List.of(2L, 3L, 1L), ids(all));
+        assertEquals(3, all.getTotalElements());
+
+        PagedResponse<EmployeeResponseDto> second = service.search(1L, "alan", 1, 2);
+        assertEquals(List.of(1L), ids(second));
+        assertTrue(second.isLast());
+
+        assertEquals(List.of(2L), ids(service.search(1L, "x000002", 0, 10)));
+    }
+
+    @Test
+    void shortQuery_scansCompanyDocuments() {
+        build(row(1, 1, "A1", "Ali", "ali@x.com"), row(1, 2, "B2", "Veli", "veli@x.com"));
+
+        assertEquals(List.of(1L), ids(service.search(1L, "al", 0, 10)));
+    }
+
+    @Test
+    void employeeChangedEvent_updatesAndRemovesEntries() {
+        build(row(1, 1, "A1", "Ali Kaya", "ali@x.com"));
+
+        when(employeeRepository.findDirectoryRowById(1L))
+                .thenReturn(Optional.of(row(1, 1, "A1", "Ayşe Demir", "ayse@x.com")));
+        service.onEmployeeChanged(new EmployeeChangedEvent(1L));
+        assertTrue(ids(service.search(1L, "kaya", 0, 10)).isEmpty());
+        assertEquals(List.of(1L), ids(service.search(1L, "demir", 0, 10)));
+
+        when(employeeRepository.findDirectoryRowById(2L))
+                .thenReturn(Optional.of(row(1, 2, "B2", "Deniz Demirci", "deniz@x.com")));
+        service.onEmployeeChanged(new EmployeeChangedEvent(2L));
+        assertEquals(List.of(1L, 2L), ids(service.search(1L, "demir", 0, 10)));
+
+        when(employeeRepository.findDirectoryRowById(1L)).thenReturn(Optional.empty());
+        service.onEmployeeChanged(new EmployeeChangedEvent(1L));
+        assertEquals(List.of(2L), ids(service.search(1L, "demir", 0, 10)));
+        assertEquals(1, service.stats().documents());
+    }
+
+    @Test
+    void companiesBeyondCapacity_fallBackToDatabase() {
+        ReflectionTestUtils.setField(service, "maxDocuments", 2);
+        build(row(1, 1, "A1", "Ali", "ali@x.com"),
+                row(1, 2, "A2", "Can", "can@x.com"),
+                row(2, 3, "B3", "Ece", "ece@x.com"));
+        EmployeeResponseDto fromDb = new EmployeeResponseDto(3L, "B3", "Ece", "ece@x.com", null, null);
+        when(employeeRepository.searchSummaries(eq(2L), eq("%ece%"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(fromDb)));
+
+        assertEquals(List.of(3L), ids(service.search(2L, "Ece", 0, 10)));
+        assertEquals(List.of(1L), ids(service.search(1L, "ali", 0, 10)));
+
+        EmployeeDirectoryService.DirectoryStats stats = service.stats();
+        assertEquals(2, stats.documents());
+        assertEquals(1, stats.overflowCompanies());
+        assertTrue(stats.estimatedBytes() > 0);
+    }
+
+    @Test
+    void beforeFirstBuild_searchUsesDatabase() {
+        when(employeeRepository.searchSummaries(eq(1L), eq("%ali%"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        assertTrue(service.search(1L, "Ali", 0, 10).getContent().isEmpty());
+        verify(employeeRepository).searchSummaries(eq(1L), eq("%ali%"), any(Pageable.class));
+    }
+
+    @Test
+    void databaseFallback_keepsAccentsAndEscapesWildcards() {
+        when(employeeRepository.searchSummaries(eq(1L), eq("%çağrı%"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+        when(employeeRepository.searchSummaries(eq(1L), eq("%a\\_b\\%%"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        service.search(1L, "Çağrı", 0, 10);
+        service.search(1L, "a_b%", 0, 10);
+
+        verify(employeeRepository).searchSummaries(eq(1L), eq("%çağrı%"), any(Pageable.class));
+        verify(employeeRepository).searchSummaries(eq(1L), eq("%a\\_b\\%%"), any(Pageable.class));
+    }
+
+    @Test
+    void containsPattern_escapesLikeMetacharacters() {
+        assertEquals("%ali%", EmployeeDirectoryService.containsPattern("ali"));
+        assertEquals("%100\\%%", EmployeeDirectoryService.containsPattern("100%"));
+        assertEquals("%a\\\\b%", EmployeeDirectoryService.containsPattern("a\\b"));
+    }
+
+    @Test
+    void employeesImported_reloadsOnlyTheImportingCompany() {
+        build(row(1, 10, "A000010", "Ali Kaya", "ali@x.com"),
+                row(2, 20, "B000020", "Ali Other", "other@y.com"));
+        when(employeeRepository.findDirectoryRowsByCompanyAfter(eq(1L), eq(0L), any(Limit.class))).thenReturn(List.of(
+                row(1, 10, "A000010", "Ali Kaya", "ali@x.com"),
+                row(1, 11, "A000011", "Ali Yeni", "yeni@x.com")));
+
+        service.onEmployeesImported(new EmployeesImportedEvent(1L, 1));
+
+        assertEquals(List.of(10L, 11L), ids(service.search(1L, "ali", 0, 10)));
+        assertEquals(List.of(20L), ids(service.search(2L, "ali", 0, 10)));
+        assertEquals(3, service.stats().documents());
+        verify(employeeRepository, times(1)).findDirectoryRowsAfter(anyLong(), any(Limit.class));
+    }
+}
@@ -0,0 +1,231 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.EmployeeFacetFilter;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetResponse;
+import com.ecetasci.hrmanagement.dto.response.EmployeeFacetRow;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.EmployeeChangedEvent;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeFacetServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeFacetService service;
+
+    private static EmployeeFacetRow row(long id, String department, String position, int hireYear, UserStatus status) {
+        return new EmployeeFacetRow(1L, id, department, position, LocalDate.of(hireYear, 3, 1), status);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                row(1, "IT", "Dev", 2020, UserStatus.ACTIVE),
+                row(2, "IT", "QA", 2021, UserStatus.ACTIVE),
+                row(3, "HR", "Specialist", 2021, UserStatus.INACTIVE),
+                row(4, "IT", "Dev", 2023, UserStatus.PENDING_ADMIN_APPROVAL)));
+        service.rebuild();
+    }
+
+    private void stubSummaries() {
+        when(employeeRepository.findSummariesByIds(anyList())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(0);
+            return ids.stream().map(id -> new EmployeeResponseDto(id, "E" + id, "n" + id, null, null, null)).toList();
+        });
+    }
+
+    private static List<Long> ids(EmployeeFacetResponse response) {
+        return response.employees().getContent().stream().map(EmployeeResponseDto::id).toList();
+    }
+
+    @Test
+    void noFilter_returnsAllWithFacetCounts() {
+        stubSummaries();
+
+        EmployeeFacetResponse response = service.filter(1L, null, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(response));
+        assertEquals(Map.of("IT", 3, "HR", 1), response.facets().get("department"));
+        assertEquals(Map.of("2020", 1, "2021", 2, "2023", 1), response.facets().get("hireYear"));
+    }
+
+    @Test
+    void filtersAreOrWithinAndAndAcrossFacets_countsAreDisjunctive() {
+        stubSummaries();
+        EmployeeFacetFilter filter = new EmployeeFacetFilter(Set.of("IT"), Set.of("Dev", "QA"), 2020, 2021, null);
+
+        EmployeeFacetResponse response = service.filter(1L, filter, 0, 10);
+
+        assertEquals(List.of(1L, 2L), ids(response));
+        assertEquals(2, response.employees().getTotalElements());
+        // department sayıları department seçimi hariç diğer filtrelerle hesaplanır: HR'de Dev/QA yok
+        assertEquals(Map.of("IT", 2), response.facets().get("department"));
+        // position sayıları position seçimi hariç: IT + 2020..2021
+        assertEquals(Map.of("Dev", 1, "QA", 1), response.facets().get("position"));
+        assertEquals(Map.of("ACTIVE", 2), response.facets().get("status"));
+    }
+
+    @Test
+    void noMatch_skipsDatabaseFetch() {
+        EmployeeFacetFilter filter = new EmployeeFacetFilter(Set.of("Finance"), null, null, null, null);
+
+        EmployeeFacetResponse response = service.filter(1L, filter, 0, 10);
+
+        assertTrue(response.employees().getContent().isEmpty());
+        assertEquals(0, response.employees().getTotalElements());
+        verify(employeeRepository, never()).findSummariesByIds(anyList());
+    }
+
+    @Test
+    void events_updateBitmapsIncrementally() {
+        EmployeeFacetFilter hr = new EmployeeFacetFilter(Set.of("HR"), null, null, null, null);
+        stubSummaries();
+
+        when(employeeRepository.findFacetRowById(1L)).thenReturn(Optional.of(row(1, "HR", "Dev", 2020, UserStatus.ACTIVE)));
+        service.onEmployeeChanged(new EmployeeChangedEvent(1L));
+        assertEquals(List.of(1L, 3L), ids(service.filter(1L, hr, 0, 10)));
+
+        when(employeeRepository.findIdsByUserEmail("hr3@x.com")).thenReturn(List.of(3L));
+        when(employeeRepository.findFacetRowById(3L)).thenReturn(Optional.empty());
+        service.onUserChanged(new UserChangedEvent("hr3@x.com"));
+        EmployeeFacetResponse afterDelete = service.filter(1L, hr, 0, 10);
+        assertEquals(List.of(1L), ids(afterDelete));
+        assertEquals(Map.of("HR", 1, "IT", 2), afterDelete.facets().get("department"));
+    }
+
+    @Test
+    void changesDuringRebuild_areReappliedAfterSwap() {
+        when(employeeRepository.findFacetRowById(1L)).thenReturn(Optional.of(row(1, "HR", "Dev", 2020, UserStatus.ACTIVE)));
+        when(employeeRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenAnswer(inv -> {
+            // Kurulum okumayı bitirmeden commit edilen değişiklik
+            service.onEmployeeChanged(new EmployeeChangedEvent(1L));
+            return List.of(
+                    row(1, "IT", "Dev", 2020, UserStatus.ACTIVE),
+                    row(2, "IT", "QA", 2021, UserStatus.ACTIVE));
+        });
+        stubSummaries();
+
+        service.rebuild();
+
+        EmployeeFacetResponse response = service.filter(1L, new EmployeeFacetFilter(Set.of("HR"), null, null, null, null), 0, 10);
+        assertEquals(List.of(1L), ids(response));
+        assertEquals(Map.of("HR", 1, "IT", 1), response.facets().get("department"));
+    }
+
+    @Test
+    void pageBeyondResults_returnsEmptyPageWithCounts() {
+        EmployeeFacetResponse response = service.filter(1L, null, Integer.MAX_VALUE, 100);
+
+        assertTrue(response.employees().getContent().isEmpty());
+        assertEquals(4, response.employees().getTotalElements());
+        assertTrue(response.employees().isLast());
+        assertEquals(Map.of("IT", 3, "HR", 1), response.facets().get("department"));
+        verify(employeeRepository, never()).findSummariesByIds(anyList());
+    }
+
+    @Test
+    void unknownCompany_returnsEmptyFacets() {
+        EmployeeFacetResponse response = service.filter(99L, null, 0, 10);
+
+        assertTrue(response.employees().getContent().isEmpty());
+        assertEquals(Map.of(), response.facets().get("status"));
+    }
+
+    @Test
+    void concurrentFirstRequests_buildIndexOnce() throws Exception {
+        EmployeeFacetService cold = new EmployeeFacetService(employeeRepository);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<EmployeeFacetResponse>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cold.filter(99L, null, 0, 10);
+                }));
+            }
+            start.countDown();
+            for (Future<EmployeeFacetResponse> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).employees().getContent().isEmpty());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // setUp'taki kurulum + soğuk servisin tek kurulumu
+        verify(employeeRepository, times(2)).findFacetRowsAfter(eq(0L), any(Limit.class));
+    }
+
+    @Test
+    void companiesBeyondCapacity_areServedFromDatabase() {
+        EmployeeFacetRow other = new EmployeeFacetRow(2L, 5L, "Ops", "Lead", LocalDate.of(2022, 1, 1), UserStatus.ACTIVE);
+        List<EmployeeFacetRow> company1 = List.of(
+                row(1, "IT", "Dev", 2020, UserStatus.ACTIVE),
+                row(2, "IT", "QA", 2021, UserStatus.ACTIVE),
+                row(3, "HR", "Specialist", 2021, UserStatus.INACTIVE),
+                row(4, "IT", "Dev", 2023, UserStatus.PENDING_ADMIN_APPROVAL));
+        List<EmployeeFacetRow> all = new ArrayList<>(company1);
+        all.add(other);
+        when(employeeRepository.findFacetRowsAfter(eq(0L), any(Limit.class))).thenReturn(all);
+        when(employeeRepository.findFacetRowsByCompanyAfter(eq(1L), eq(0L), any(Limit.class))).thenReturn(company1);
+        ReflectionTestUtils.setField(service, "maxDocuments", 3);
+        service.rebuild();
+        stubSummaries();
+
+        EmployeeFacetResponse overflow = service.filter(1L, new EmployeeFacetFilter(Set.of("IT"), null, null, null, null), 0, 10);
+        EmployeeFacetResponse indexed = service.filter(2L, null, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 4L), ids(overflow));
+        assertEquals(Map.of("HR", 1, "IT", 3), overflow.facets().get("department"));
+        assertEquals(List.of(5L), ids(indexed));
+        verify(employeeRepository, never()).findFacetRowsByCompanyAfter(eq(2L), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void employeesImported_reloadsOnlyTheImportingCompany() {
+        when(employeeRepository.findFacetRowsByCompanyAfter(eq(1L), eq(0L), any(Limit.class))).thenReturn(List.of(
+                row(1, "IT", "Dev", 2020, UserStatus.ACTIVE),
+                row(2, "IT", "QA", 2021, UserStatus.ACTIVE),
+                row(3, "HR", "Specialist", 2021, UserStatus.INACTIVE),
+                row(4, "IT", "Dev", 2023, UserStatus.PENDING_ADMIN_APPROVAL),
+                row(6, "HR", "Dev", 2025, UserStatus.PENDING_ADMIN_APPROVAL)));
+        stubSummaries();
+
+        service.onEmployeesImported(new EmployeesImportedEvent(1L, 1));
+
+        EmployeeFacetResponse response = service.filter(1L, new EmployeeFacetFilter(Set.of("HR"), null, null, null, null), 0, 10);
+        assertEquals(List.of(3L, 6L), ids(response));
+        // Tam kurulum yalnızca setUp'ta
+        verify(employeeRepository, times(1)).findFacetRowsAfter(anyLong(), any(Limit.class));
+    }
+}
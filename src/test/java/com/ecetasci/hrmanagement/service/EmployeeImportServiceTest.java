@@ -0,0 +1,201 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.EmployeeImportReport;
+import com.ecetasci.hrmanagement.dto.response.EmployeeImportReport.RowError;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
+import com.ecetasci.hrmanagement.event.EmployeesImportedEvent;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private UserRepository userRepository;
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private EmployeeNumberAllocator employeeNumberAllocator;
+    @Mock private EmployeeNumberResolver employeeNumberResolver;
+    @Mock private UserTokenService userTokenService;
+    @Mock private EmailService emailService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private TenantContext tenantContext;
+    @Mock private LeaveAccrualService leaveAccrualService;
+
+    private EmployeeImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeImportService(jdbcTemplate, transactionTemplate, passwordEncoder, userRepository,
+                employeeRepository, employeeNumberAllocator, employeeNumberResolver, userTokenService, emailService,
+                eventPublisher, tenantContext, leaveAccrualService);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "hashThreads", 2);
+        ReflectionTestUtils.setField(service, "mailThreads", 1);
+        service.init();
+        lenient().when(tenantContext.availableSeats(anyLong())).thenReturn(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    // Pooled sequence blokları: user_seq -> 1..50, employee_seq -> 101..150
+    private void allocateIds() {
+        when(jdbcTemplate.queryForList(contains("user_seq"), eq(Long.class), anyInt())).thenReturn(List.of(50L));
+        when(jdbcTemplate.queryForList(contains("employee_seq"), eq(Long.class), anyInt())).thenReturn(List.of(150L));
+    }
+
+    @Test
+    void importCsv_insertsValidRows_inChunks_andReportsInvalidOnes() throws Exception {
+        String content = "name,email,password,hireDate,salary\r\n" +
+                "\"Doe, Jane\",jane@x.com,secret1,2024-01-02,1000.50\r\n" +
+                "Bob,bob@x.com,pw,not-a-date,\r\n" +
+                ",noname@x.com,pw,,\r\n" +
+                "Ann,JANE@x.com,pw,,\r\n" +
+                "Cem,cem@x.com,pw,,\r\n" +
+                "Dup,taken@x.com,pw,,\r\n";
+
+        when(userRepository.findExistingEmails(anyCollection())).thenAnswer(inv ->
+                inv.<Collection<String>>getArgument(0).stream().filter(e -> e.startsWith("taken")).toList());
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        when(employeeNumberAllocator.next()).thenReturn("A000001", "A000002");
+        runTransactionsInline();
+        allocateIds();
+        when(userTokenService.issueForNewUsers(anyList(), eq(TokenPurpose.EMAIL_VERIFICATION)))
+                .thenAnswer(inv -> {
+                    List<String> tokens = new ArrayList<>();
+                    for (Object id : (List<?>) inv.getArgument(0)) {
+                        tokens.add("tok" + id);
+                    }
+                    return tokens;
+                });
+
+        EmployeeImportReport report = service.importCsv(5L, csv(content));
+
+        assertEquals(6, report.totalRows());
+        assertEquals(2, report.imported());
+        assertEquals(4, report.failed());
+        assertFalse(report.errorsTruncated());
+        assertEquals(List.of(3L, 4L, 5L, 7L), report.errors().stream().map(RowError::line).toList());
+        assertEquals("hireDate must be yyyy-MM-dd", report.errors().get(0).message());
+        assertEquals("Duplicate email in file", report.errors().get(2).message());
+        assertEquals("Email already registered", report.errors().get(3).message());
+
+        // Bir parça = users + employees için iki batch; taken@x.com'lu parça DB'ye hiç gitmez
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(passwordEncoder, times(2)).encode(anyString());
+        verify(employeeNumberResolver).remember("A000001", 101L);
+        verify(employeeNumberResolver).remember("A000002", 102L);
+        verify(emailService, timeout(2000)).sendVerificationEmail("jane@x.com", "tok1");
+        verify(emailService, timeout(2000)).sendVerificationEmail("cem@x.com", "tok2");
+        verify(eventPublisher).publishEvent(new EmployeesImportedEvent(5L, 2));
+    }
+
+    @Test
+    void importCsv_registeredEmailInDifferentCase_isRejected() throws Exception {
+        // Sorgular küçük harfli e-posta alır ve döner
+        when(userRepository.findExistingEmails(List.of("taken@x.com"))).thenReturn(List.of("taken@x.com"));
+        when(employeeRepository.findExistingEmails(List.of("taken@x.com"))).thenReturn(List.of());
+
+        EmployeeImportReport report = service.importCsv(5L, csv("name,email,password\nA,Taken@X.com,pw\n"));
+
+        assertEquals(0, report.imported());
+        assertEquals("Email already registered", report.errors().get(0).message());
+        verifyNoInteractions(jdbcTemplate, passwordEncoder);
+    }
+
+    @Test
+    void importCsv_missingRequiredColumn_isRejected() {
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> service.importCsv(5L, csv("name,email\nA,a@x.com\n")));
+        assertEquals("Missing required column: password", ex.getMessage());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void importCsv_chunkFailure_reportsRows_withoutMailOrEvent() throws Exception {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(employeeNumberAllocator.next()).thenReturn("A000001");
+        when(transactionTemplate.execute(any())).thenThrow(new DuplicateKeyException("users_email_key"));
+
+        EmployeeImportReport report = service.importCsv(5L, csv("name,email,password\nA,a@x.com,pw\n"));
+
+        assertEquals(0, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(EmployeeImportService.CHUNK_FAILED_MESSAGE, report.errors().get(0).message());
+        assertFalse(report.errors().get(0).message().contains("users_email_key"));
+        verifyNoInteractions(emailService, eventPublisher);
+    }
+
+    @Test
+    void importCsv_rowsBeyondSeatLimit_areReportedNotInserted() throws Exception {
+        when(tenantContext.availableSeats(5L)).thenReturn(2L);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(employeeNumberAllocator.next()).thenReturn("A000001", "A000002");
+        runTransactionsInline();
+        allocateIds();
+        when(userTokenService.issueForNewUsers(anyList(), eq(TokenPurpose.EMAIL_VERIFICATION)))
+                .thenReturn(List.of("tok1", "tok2"));
+
+        EmployeeImportReport report = service.importCsv(5L,
+                csv("name,email,password\nA,a@x.com,pw\nB,b@x.com,pw\nC,c@x.com,pw\n"));
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(4L), report.errors().stream().map(RowError::line).toList());
+        assertEquals(TenantContext.SEAT_LIMIT_MESSAGE, report.errors().get(0).message());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    void importCsv_noSeatsLeft_isRejectedBeforeReading() {
+        when(tenantContext.availableSeats(5L)).thenReturn(0L);
+
+        assertThrows(ForbiddenException.class, () -> service.importCsv(5L, csv("name,email,password\nA,a@x.com,pw\n")));
+        verifyNoInteractions(userRepository, jdbcTemplate, transactionTemplate);
+    }
+}
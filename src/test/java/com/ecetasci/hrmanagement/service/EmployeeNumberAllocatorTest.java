@@ -0,0 +1,118 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeNumberAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeNumberAllocator allocator;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        allocator = new EmployeeNumberAllocator(jdbcTemplate, employeeRepository);
+        allocator.setHiSource(sequence::getAndIncrement);
+    }
+
+    @Test
+    void format_isLetterPlusSixDigits() {
+        assertEquals("A000000", EmployeeNumberAllocator.format(0));
+        assertEquals("A999999", EmployeeNumberAllocator.format(999_999));
+        assertEquals("B000000", EmployeeNumberAllocator.format(1_000_000));
+        assertEquals("Z999999", EmployeeNumberAllocator.format(EmployeeNumberAllocator.CAPACITY - 1));
+        assertThrows(IllegalStateException.class, () -> EmployeeNumberAllocator.format(EmployeeNumberAllocator.CAPACITY));
+    }
+
+    @Test
+    void next_handsOutSequentialNumbers_andQueriesOncePerBlock() {
+        ReflectionTestUtils.setField(allocator, "blockSize", 10);
+        allocator.init();
+        when(employeeRepository.findEmployeeNumbersBetween(anyString(), anyString())).thenReturn(List.of());
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            numbers.add(allocator.next());
+        }
+
+        assertEquals("A000000", numbers.get(0));
+        assertEquals("A000024", numbers.get(24));
+        verify(employeeRepository).findEmployeeNumbersBetween("A000000", "A000009");
+        verify(employeeRepository).findEmployeeNumbersBetween("A000020", "A000029");
+        verify(employeeRepository, times(3)).findEmployeeNumbersBetween(anyString(), anyString());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void next_skipsNumbersAlreadyTakenByLegacyRows() {
+        ReflectionTestUtils.setField(allocator, "blockSize", 10);
+        allocator.init();
+        when(employeeRepository.findEmployeeNumbersBetween("A000000", "A000009"))
+                .thenReturn(List.of("A000000", "A000002", "A00000X"));
+
+        assertEquals("A000001", allocator.next());
+        assertEquals("A000003", allocator.next());
+    }
+
+    @Test
+    void invalidBlockSize_isRejected() {
+        ReflectionTestUtils.setField(allocator, "blockSize", 300);
+        assertThrows(IllegalStateException.class, () -> allocator.init());
+    }
+
+    @Test
+    void concurrentAllocation_producesOneMillionUniqueNumbers() throws Exception {
+        ReflectionTestUtils.setField(allocator, "blockSize", 1000);
+        allocator.init();
+        when(employeeRepository.findEmployeeNumbersBetween(anyString(), anyString())).thenReturn(List.of());
+
+        int threads = 8;
+        int perThread = 125_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet(threads * perThread);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(allocator.next());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+        // Hiçbir blok boşa harcanmadıysa 1000 blok yeterli olmalı (yarışta kaybedilen blok yok)
+        assertEquals(1000, sequence.get());
+    }
+}
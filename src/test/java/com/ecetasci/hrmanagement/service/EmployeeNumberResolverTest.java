@@ -0,0 +1,138 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeNumberResolverTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeNumberResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new EmployeeNumberResolver(employeeRepository, new CacheRegistry());
+        resolver.init();
+    }
+
+    private Employee employee(long id, String number) {
+        Employee e = new Employee();
+        e.setId(id);
+        e.setEmployeeNumber(number);
+        return e;
+    }
+
+    @Test
+    void resolve_canonicalizesInput_andUsesSingleIndexedLookup() {
+        Employee e = employee(7L, "A000123");
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.of(e));
+
+        assertSame(e, resolver.resolve("  a000123 ").orElseThrow());
+        verify(employeeRepository, times(1)).findByEmployeeNumber(anyString());
+    }
+
+    @Test
+    void resolve_cacheHit_readsByPrimaryKey() {
+        Employee e = employee(7L, "A000123");
+        resolver.remember(e);
+        when(employeeRepository.findById(7L)).thenReturn(Optional.of(e));
+
+        assertSame(e, resolver.resolve("a000123").orElseThrow());
+        verify(employeeRepository, never()).findByEmployeeNumber(anyString());
+    }
+
+    @Test
+    void resolve_staleCacheEntry_fallsBackAndHeals() {
+        resolver.remember(employee(7L, "A000123"));
+        when(employeeRepository.findById(7L)).thenReturn(Optional.empty());
+        Employee rehired = employee(9L, "A000123");
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.of(rehired));
+
+        assertSame(rehired, resolver.resolve("A000123").orElseThrow());
+
+        when(employeeRepository.findById(9L)).thenReturn(Optional.of(rehired));
+        assertSame(rehired, resolver.resolve("A000123").orElseThrow());
+        verify(employeeRepository, times(1)).findByEmployeeNumber("A000123");
+    }
+
+    @Test
+    void require_missing_throwsNotFound() {
+        when(employeeRepository.findByEmployeeNumber("M404")).thenReturn(Optional.empty());
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> resolver.require(" m404", "Manager"));
+        assertEquals("Manager not found: m404", ex.getMessage());
+    }
+
+    @Test
+    void canonicalEmployeeNumber_trimsAndUppercases() {
+        assertEquals("ABC123", Employee.canonicalEmployeeNumber(" abc123 "));
+        assertNull(Employee.canonicalEmployeeNumber(null));
+    }
+
+    @Test
+    void resolve_legacyNonCanonicalRow_isFoundButNotCached() {
+        Employee legacy = employee(3L, "a000123");
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.empty());
+        when(employeeRepository.findLegacyByCanonical("A000123", Limit.of(1))).thenReturn(List.of(legacy));
+
+        assertSame(legacy, resolver.resolve("a000123").orElseThrow());
+        assertSame(legacy, resolver.resolve("a000123").orElseThrow());
+        verify(employeeRepository, never()).findById(3L);
+    }
+
+    @Test
+    void canonicalizeStoredNumbers_failure_doesNotAbortStartup_andKeepsFallback() {
+        when(employeeRepository.canonicalizeEmployeeNumbers())
+                .thenThrow(new DataIntegrityViolationException("employees_employee_number_key"));
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> resolver.canonicalizeStoredNumbers());
+
+        assertTrue(resolver.resolve("a000123").isEmpty());
+        verify(employeeRepository).findLegacyByCanonical("A000123", Limit.of(1));
+    }
+
+    @Test
+    void resolve_withoutLegacyRowsAfterStartup_skipsFallbackScan() {
+        when(employeeRepository.canonicalizeEmployeeNumbers()).thenReturn(2);
+        when(employeeRepository.findCanonicalCollisions()).thenReturn(List.of());
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.empty());
+
+        resolver.canonicalizeStoredNumbers();
+
+        assertTrue(resolver.resolve("a000123").isEmpty());
+        verify(employeeRepository, never()).findLegacyByCanonical(anyString(), any(Limit.class));
+    }
+
+    @Test
+    void resolve_withRemainingCollisions_keepsFallbackScan() {
+        Employee legacy = employee(3L, "a000123");
+        when(employeeRepository.canonicalizeEmployeeNumbers()).thenReturn(0);
+        when(employeeRepository.findCanonicalCollisions()).thenReturn(List.of("A000123"));
+        when(employeeRepository.findByEmployeeNumber("A000123")).thenReturn(Optional.empty());
+        when(employeeRepository.findLegacyByCanonical("A000123", Limit.of(1))).thenReturn(List.of(legacy));
+
+        resolver.canonicalizeStoredNumbers();
+
+        assertSame(legacy, resolver.resolve("a000123").orElseThrow());
+    }
+}
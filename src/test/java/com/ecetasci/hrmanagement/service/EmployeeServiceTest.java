@@ -3,24 +3,29 @@ package com.ecetasci.hrmanagement.service;
 import com.ecetasci.hrmanagement.dto.request.EmployeeRequestDto;
 import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
 import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.CompanySubscription;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.SubscriptionType;
 import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.ExpenseRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
@@ -40,39 +45,36 @@ class EmployeeServiceTest {
     @Mock private EmailService emailService;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private ExpenseRepository expenseRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private EmployeeNumberAllocator employeeNumberAllocator;
+    @Mock private EmployeeNumberResolver employeeNumberResolver;
+    @Mock private CompanySubscriptionRepository companySubscriptionRepository;
+    @Mock private LeaveAccrualService leaveAccrualService;
 
-    @InjectMocks
     private EmployeeService service;
 
     private Company company;
 
     @BeforeEach
     void setup() {
+        TenantContext tenantContext = new TenantContext(companyRepository, companySubscriptionRepository, employeeRepository,
+                new CacheRegistry());
+        tenantContext.init();
+        service = new EmployeeService(employeeRepository, companyRepository, emailService, passwordEncoder,
+                expenseRepository, eventPublisher, employeeNumberAllocator, employeeNumberResolver, tenantContext,
+                leaveAccrualService);
+
         company = new Company();
         company.setId(1L);
         company.setCompanyName("ACME");
     }
 
     @Test
-    void getAllEmployees_returnsMappedPage() {
-        Employee e1 = Employee.builder()
-                .id(10L)
-                .employeeNumber("E001")
-                .name("John")
-                .email("j@x.com")
-                .position("Dev")
-                .department("IT")
-                .build();
-        Employee e2 = Employee.builder()
-                .id(11L)
-                .employeeNumber("E002")
-                .name("Jane")
-                .email("j2@x.com")
-                .position("QA")
-                .department("QA")
-                .build();
+    void getAllEmployees_returnsProjectedPage() {
+        EmployeeResponseDto e1 = new EmployeeResponseDto(10L, "E001", "John", "j@x.com", "Dev", "IT");
+        EmployeeResponseDto e2 = new EmployeeResponseDto(11L, "E002", "Jane", "j2@x.com", "QA", "QA");
         Pageable pageable = PageRequest.of(0, 10);
-        when(employeeRepository.findAllByCompanyId(1L, pageable))
+        when(employeeRepository.findSummariesByCompanyId(1L, pageable))
                 .thenReturn(new PageImpl<>(List.of(e1, e2), pageable, 2));
 
         Page<EmployeeResponseDto> page = service.getAllEmployees(1L, pageable);
@@ -80,7 +82,8 @@ class EmployeeServiceTest {
         assertEquals(2, page.getTotalElements());
         assertEquals("E001", page.getContent().get(0).employeeNumber());
         assertEquals("Jane", page.getContent().get(1).name());
-        verify(employeeRepository).findAllByCompanyId(1L, pageable);
+        verify(employeeRepository).findSummariesByCompanyId(1L, pageable);
+        verify(employeeRepository, never()).findAllByCompanyId(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -97,7 +100,9 @@ class EmployeeServiceTest {
     @Test
     void createEmployee_success_savesAndSendsEmail_andReturnsDto() {
         when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companyRepository.getReferenceById(1L)).thenReturn(company);
         when(passwordEncoder.encode("rawpass")).thenReturn("ENCODED");
+        when(leaveAccrualService.initialLeaveBalance(1L)).thenReturn(0);
         when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> {
             Employee emp = inv.getArgument(0);
             emp.setId(100L);
@@ -120,10 +125,26 @@ class EmployeeServiceTest {
         Employee saved = captor.getValue();
         assertEquals(company, saved.getCompany());
         assertEquals("ENCODED", saved.getPassword());
+        assertEquals(0, saved.getLeaveBalance()); // tahakkuk eden şirket: hak aylık birikir
 
         verify(emailService).send(eq(dto.email()), startsWith("Welcome "+dto.name()), eq("Hoşgeldiniz"));
     }
 
+    @Test
+    void createEmployee_subscriptionSeatLimitReached_throws() {
+        CompanySubscription subscription = new CompanySubscription();
+        subscription.setSubscriptionType(SubscriptionType.MONTHLY);
+        subscription.setEndDate(LocalDate.now().plusDays(10));
+        subscription.setMaxEmployeeCount(3);
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companySubscriptionRepository.findLatestStartedByCompanyId(eq(1L), any(LocalDate.class), any()))
+                .thenReturn(List.of(subscription));
+        when(employeeRepository.countByCompanyId(1L)).thenReturn(3L);
+
+        assertThrows(ForbiddenException.class, () -> service.createEmployee(1L, defaultRequest()));
+        verify(employeeRepository, never()).save(any());
+    }
+
     @Test
     void updateEmployee_notFound_throws() {
         when(employeeRepository.findById(5L)).thenReturn(Optional.empty());
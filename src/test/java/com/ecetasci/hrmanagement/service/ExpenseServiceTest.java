@@ -41,14 +41,10 @@ class ExpenseServiceTest {
     }
 
     @Test
-    void getEmployeeExpenses_returnsMappedDtos() {
-        Expense e1 = Expense.builder()
-                .id(10L).description("Taxi").amount(BigDecimal.TEN)
-                .expenseDate(LocalDate.of(2025,1,2)).status(ExpenseStatus.PENDING).build();
-        Expense e2 = Expense.builder()
-                .id(11L).description("Meal").amount(BigDecimal.ONE)
-                .expenseDate(LocalDate.of(2025,1,3)).status(ExpenseStatus.APPROVED).build();
-        when(expenseRepository.findByEmployee_Id(1L)).thenReturn(List.of(e1, e2));
+    void getEmployeeExpenses_returnsProjectedDtos() {
+        ExpenseResponseDto e1 = new ExpenseResponseDto(10L, "Taxi", BigDecimal.TEN, LocalDate.of(2025,1,2), ExpenseStatus.PENDING);
+        ExpenseResponseDto e2 = new ExpenseResponseDto(11L, "Meal", BigDecimal.ONE, LocalDate.of(2025,1,3), ExpenseStatus.APPROVED);
+        when(expenseRepository.findSummariesByEmployeeId(1L)).thenReturn(List.of(e1, e2));
 
         List<ExpenseResponseDto> list = service.getEmployeeExpenses(1L);
 
@@ -56,20 +52,20 @@ class ExpenseServiceTest {
         assertEquals(10L, list.get(0).id());
         assertEquals("Meal", list.get(1).description());
         assertEquals(ExpenseStatus.APPROVED, list.get(1).status());
-        verify(expenseRepository).findByEmployee_Id(1L);
+        verify(expenseRepository, never()).findByEmployee_Id(anyLong());
     }
 
     @Test
-    void getCompanyExpenses_returnsMappedDtos() {
-        Expense e1 = Expense.builder().id(20L).description("Laptop bag").amount(BigDecimal.valueOf(50)).expenseDate(LocalDate.now()).status(ExpenseStatus.PENDING).build();
-        when(expenseRepository.findByEmployee_Company_Id(7L)).thenReturn(List.of(e1));
+    void getCompanyExpenses_returnsProjectedDtos() {
+        ExpenseResponseDto e1 = new ExpenseResponseDto(20L, "Laptop bag", BigDecimal.valueOf(50), LocalDate.now(), ExpenseStatus.PENDING);
+        when(expenseRepository.findSummariesByCompanyId(7L)).thenReturn(List.of(e1));
 
         List<ExpenseResponseDto> list = service.getCompanyExpenses(7L);
 
         assertEquals(1, list.size());
         assertEquals(20L, list.get(0).id());
         assertEquals("Laptop bag", list.get(0).description());
-        verify(expenseRepository).findByEmployee_Company_Id(7L);
+        verify(expenseRepository, never()).findByEmployee_Company_Id(anyLong());
     }
 
     @Test
@@ -0,0 +1,157 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.enums.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.function.BiFunction;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ExportService(jdbcTemplate, transactionManager);
+    }
+
+    // JDBC cursor yerine satırları anında üreten forward-only ResultSet; hiçbir satır bellekte tutulmaz
+    private void streamRows(long rows, BiFunction<Long, Integer, Object> cell, LongConsumer onRow) {
+        doAnswer(inv -> {
+            long[] current = {0};
+            ResultSet rs = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> "getObject".equals(method.getName())
+                            ? cell.apply(current[0], (Integer) args[0]) : null);
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (current[0] = 1; current[0] <= rows; current[0]++) {
+                handler.processRow(rs);
+                onRow.accept(current[0]);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static Object employeeCell(long row, int column) {
+        return switch (column) {
+            case 1 -> row;
+            case 2 -> "A" + String.format("%06d", row % 1_000_000);
+            case 3 -> row == 1 ? "Doe, \"JJ\" Jane" : "Employee " + row;
+            case 4 -> "e" + row + "@x.com";
+            case 5 -> "IT";
+            case 6 -> null;
+            case 7 -> Date.valueOf(LocalDate.of(2024, 1, 2));
+            case 8 -> new BigDecimal("1000.50");
+            case 9 -> null;
+            default -> "ACTIVE";
+        };
+    }
+
+    @Test
+    void exportEmployees_csv_quotesFields_andUsesForwardOnlyCursorWithFetchSize() throws Exception {
+        streamRows(2, ExportServiceTest::employeeCell, row -> { });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportEmployees(7L, ExportFormat.CSV, out);
+
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(String.join(",", ExportService.EMPLOYEE_COLUMNS), lines[0]);
+        assertEquals("1,A000001,\"Doe, \"\"JJ\"\" Jane\",e1@x.com,IT,,2024-01-02,1000.50,,ACTIVE", lines[1]);
+        assertEquals("2,A000002,Employee 2,e2@x.com,IT,,2024-01-02,1000.50,,ACTIVE", lines[2]);
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection con = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(con.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(ps);
+        creator.getValue().createPreparedStatement(con);
+        verify(ps).setFetchSize(1000);
+        verify(ps).setLong(1, 7L);
+    }
+
+    @Test
+    void exportEmployees_ndjson_writesOneTypedObjectPerLine() throws Exception {
+        streamRows(2, ExportServiceTest::employeeCell, row -> { });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportEmployees(7L, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"employeeNumber\":\"A000001\",\"name\":\"Doe, \\\"JJ\\\" Jane\",\"email\":\"e1@x.com\"," +
+                "\"department\":\"IT\",\"position\":null,\"hireDate\":\"2024-01-02\",\"salary\":1000.50," +
+                "\"phoneNumber\":null,\"status\":\"ACTIVE\"}", lines[0]);
+    }
+
+    @Test
+    void exportEmployees_heapStaysFlat_from1kTo1mRows() throws Exception {
+        long rows = 1_000_000;
+        long[] heapAt = new long[2];
+        streamRows(rows, ExportServiceTest::employeeCell, row -> {
+            if (row == 1_000) {
+                heapAt[0] = usedHeapAfterGc();
+            } else if (row == rows) {
+                heapAt[1] = usedHeapAfterGc();
+            }
+        });
+        CountingOutputStream out = new CountingOutputStream();
+
+        long count = service.exportEmployees(7L, ExportFormat.CSV, out);
+
+        assertEquals(rows, count);
+        assertTrue(out.bytes > 50L * rows, "all rows should have been written");
+        // 1M satırın bellekte tutulması yüzlerce MB demektir; akışta fark birkaç MB'ı geçmemeli
+        long growth = heapAt[1] - heapAt[0];
+        assertTrue(growth < 16L * 1024 * 1024, "heap grew by " + growth + " bytes between 1k and 1M rows");
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.LeaveAccrualRunResponse;
+import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
+import com.ecetasci.hrmanagement.entity.LeaveAccrualAudit;
+import com.ecetasci.hrmanagement.enums.AccrualPhase;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.LeaveAccrualAuditRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveAccrualServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private LeaveAccrualAuditRepository auditRepository;
+    @Mock private ReferenceDataCache referenceDataCache;
+
+    private LeaveAccrualService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LeaveAccrualService(jdbcTemplate, transactionTemplate, auditRepository, referenceDataCache);
+        service.init();
+        service.setClock(Clock.fixed(LocalDate.of(2027, 1, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    // Ardışık id'li employees tablosu: (after, after + limit] aralığının üst sınırı
+    private void employeeIds(long count) {
+        when(jdbcTemplate.queryForObject(eq(LeaveAccrualService.NEXT_CHUNK_END), eq(Long.class), any(Object[].class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(2);
+                    int limit = inv.getArgument(3);
+                    return after >= count ? null : Math.min(after + limit, count);
+                });
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void run_millionEmployees_updatesInChunksWithOneAuditRowEach() {
+        employeeIds(1_000_000);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(5_000);
+
+        LeaveAccrualRunResponse result = service.run(YearMonth.of(2026, 10));
+
+        // Ekim: devir aşaması yok, 200 parça; her parça tek UPDATE + tek denetim satırı
+        assertEquals(0, result.carryOverChunks());
+        assertEquals(200, result.accrualChunks());
+        assertEquals(1_000_000L, result.accrualRows());
+        verify(jdbcTemplate, times(200)).update(anyString(), any(Object[].class));
+        ArgumentCaptor<LeaveAccrualAudit> audits = ArgumentCaptor.forClass(LeaveAccrualAudit.class);
+        verify(auditRepository, times(200)).save(audits.capture());
+        LeaveAccrualAudit last = audits.getValue();
+        assertEquals("2026-10", last.getPeriod());
+        assertEquals(AccrualPhase.ACCRUAL, last.getPhase());
+        assertEquals(995_000L, last.getFirstEmployeeId());
+        assertEquals(1_000_000L, last.getLastEmployeeId());
+    }
+
+    @Test
+    void run_resumesAfterCheckpoint() {
+        employeeIds(12_000);
+        when(auditRepository.findCheckpoint("2026-10", AccrualPhase.ACCRUAL)).thenReturn(10_000L);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2_000);
+
+        LeaveAccrualRunResponse result = service.run(YearMonth.of(2026, 10));
+
+        assertEquals(1, result.accrualChunks());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        List<Object> bound = Arrays.asList(args.getValue());
+        assertEquals(List.of(10_000L, 12_000L), bound.subList(bound.size() - 2, bound.size()));
+    }
+
+    @Test
+    void run_january_capsCarryOverBeforeAccrual() {
+        employeeIds(3_000);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(10);
+
+        LeaveAccrualRunResponse result = service.run(YearMonth.of(2027, 1));
+
+        assertEquals(1, result.carryOverChunks());
+        assertEquals(1, result.accrualChunks());
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(eq(LeaveAccrualService.CARRY_OVER_SQL), any(Object[].class));
+        inOrder.verify(jdbcTemplate).update(argThat((String sql) -> sql.contains("annual_days")), any(Object[].class));
+    }
+
+    @Test
+    void run_bindsTenureCutoffsAndMonthShares() {
+        employeeIds(10);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(10);
+
+        service.run(YearMonth.of(2026, 3));
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        LocalDate asOf = LocalDate.of(2026, 3, 1);
+        // En uzun kıdem önce (15 yıl +12, 5 yıl +6), ay payı için 3 ve 2, sonra işe giriş sınırı ve id aralığı
+        assertEquals(List.of(asOf.minusYears(15), 12, asOf.minusYears(5), 6, 3,
+                        asOf.minusYears(15), 12, asOf.minusYears(5), 6, 2,
+                        asOf, 0L, 10L),
+                Arrays.asList(args.getValue()));
+    }
+
+    @Test
+    void run_chunkProcessedByAnotherNode_stopsWithoutCountingIt() {
+        when(jdbcTemplate.queryForObject(eq(LeaveAccrualService.NEXT_CHUNK_END), eq(Long.class), any(Object[].class)))
+                .thenReturn(5_000L);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("uk_leave_accrual_chunk"));
+
+        assertThrows(IllegalStateException.class, () -> service.run(YearMonth.of(2026, 10)));
+        // Kilit bırakılır; sonraki çalışma "already running" değil aynı parça hatasıyla durur
+        IllegalStateException again = assertThrows(IllegalStateException.class, () -> service.run(YearMonth.of(2026, 10)));
+        assertTrue(again.getMessage().contains("processed concurrently"));
+        verify(auditRepository, never()).save(any());
+    }
+
+    @Test
+    void parseTenureTiers_sortsLongestTenureFirst() {
+        List<int[]> tiers = LeaveAccrualService.parseTenureTiers("5=6, 15=12");
+
+        assertArrayEquals(new int[]{15, 12}, tiers.get(0));
+        assertArrayEquals(new int[]{5, 6}, tiers.get(1));
+        assertTrue(LeaveAccrualService.parseTenureTiers("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LeaveAccrualService.parseTenureTiers("5"));
+    }
+
+    @Test
+    void run_futureOrPrePolicyPeriod_isRejectedWithoutTouchingRows() {
+        assertThrows(ValidationException.class, () -> service.run(YearMonth.of(2027, 2)));
+        assertThrows(ValidationException.class, () -> service.run(YearMonth.of(2025, 12)));
+        assertEquals(YearMonth.of(2027, 1), service.currentPeriod());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, auditRepository);
+    }
+
+    @Test
+    void initialLeaveBalance_isZeroOnlyForCompaniesWithAccruingTypes() {
+        when(referenceDataCache.leaveTypes(1L)).thenReturn(List.of(
+                new LeaveTypeResponseDto(1L, "Yıllık İzin", null, 30, true, 1L, 14, 5)));
+        when(referenceDataCache.leaveTypes(2L)).thenReturn(List.of(
+                new LeaveTypeResponseDto(2L, "Mazeret", null, 5, true, 2L, null, null)));
+
+        assertEquals(0, service.initialLeaveBalance(1L));
+        assertEquals(15, service.initialLeaveBalance(2L));
+        assertEquals(15, service.initialLeaveBalance(null));
+    }
+}
@@ -5,24 +5,39 @@ import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.LeaveRequest;
 import com.ecetasci.hrmanagement.entity.LeaveType;
 import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import com.ecetasci.hrmanagement.event.LeaveDecidedEvent;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import com.ecetasci.hrmanagement.mapper.LeaveMapper;
+import com.ecetasci.hrmanagement.repository.CompanyHolidayRepository;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.LeaveRequestRepository;
 import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,8 +50,10 @@ class LeaveServiceTest {
     @Mock private LeaveMapper leaveMapper;
     @Mock private LeaveTypeRepository leaveTypeRepository;
     @Mock private LeaveRequestRepository leaveRequestRepository;
+    @Mock private CompanyHolidayRepository companyHolidayRepository;
+    @Mock private CompanyRepository companyRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
     private LeaveService service;
 
     private Employee employee;
@@ -44,6 +61,13 @@ class LeaveServiceTest {
 
     @BeforeEach
     void setUp() {
+        EmployeeNumberResolver resolver = new EmployeeNumberResolver(employeeRepository, new CacheRegistry());
+        resolver.init();
+        WorkingDayCalendarService calendarService = new WorkingDayCalendarService(companyHolidayRepository, companyRepository, new CacheRegistry());
+        calendarService.init();
+        service = new LeaveService(employeeRepository, leaveMapper, leaveTypeRepository, leaveRequestRepository, resolver, calendarService,
+                eventPublisher);
+
         employee = new Employee();
         employee.setId(1L);
         employee.setEmployeeNumber("E001");
@@ -64,7 +88,8 @@ class LeaveServiceTest {
         when(leaveMapper.toEntity(dto)).thenReturn(new LeaveRequest());
         when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
         when(leaveTypeRepository.findById(99L)).thenReturn(Optional.of(leaveType));
-        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(inv -> {
+        when(leaveRequestRepository.existsOverlapping(1L, start, end)).thenReturn(false);
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class))).thenAnswer(inv -> {
             LeaveRequest lr = inv.getArgument(0);
             lr.setId(123L);
             return lr;
@@ -82,7 +107,7 @@ class LeaveServiceTest {
 
         // capture to ensure repository received correctly populated entity
         ArgumentCaptor<LeaveRequest> captor = ArgumentCaptor.forClass(LeaveRequest.class);
-        verify(leaveRequestRepository).save(captor.capture());
+        verify(leaveRequestRepository).saveAndFlush(captor.capture());
         LeaveRequest toSave = captor.getValue();
         assertEquals(5, toSave.getTotalDays());
         assertEquals(LeaveStatus.PENDING, toSave.getStatus());
@@ -98,7 +123,7 @@ class LeaveServiceTest {
         when(employeeRepository.findByEmployeeNumber("E404")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> service.leaveRequestCreate(dto));
-        verify(leaveRequestRepository, never()).save(any());
+        verify(leaveRequestRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -141,13 +166,7 @@ class LeaveServiceTest {
 
     @Test
     void leaveRequestCreate_overlap_throwsRuntime() {
-        // Existing PENDING request from 2025-02-05 to 2025-02-06
-        LeaveRequest existing = new LeaveRequest();
-        existing.setStartDate(LocalDate.of(2025, 2, 5));
-        existing.setEndDate(LocalDate.of(2025, 2, 6));
-        existing.setStatus(LeaveStatus.PENDING);
-        employee.getLeaveRequests().add(existing);
-
+        // Existing PENDING request from 2025-02-05 to 2025-02-06 is found by the range query
         LocalDate start = LocalDate.of(2025, 2, 4);
         LocalDate end = LocalDate.of(2025, 2, 7);
         LeaveRequestDto dto = new LeaveRequestDto("E001", 1L, start, end, null);
@@ -155,9 +174,44 @@ class LeaveServiceTest {
         when(leaveMapper.toEntity(dto)).thenReturn(new LeaveRequest());
         when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
         when(leaveTypeRepository.findById(1L)).thenReturn(Optional.of(leaveType));
+        when(leaveRequestRepository.existsOverlapping(1L, start, end)).thenReturn(true);
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> service.leaveRequestCreate(dto));
         assertEquals("Bu tarih aralığında zaten izin talebiniz var!", ex.getMessage());
+        verify(leaveRequestRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void leaveRequestCreate_doesNotLoadLeaveHistory() {
+        Employee lazyHistory = spy(employee);
+        LocalDate start = LocalDate.of(2025, 2, 3);
+        LocalDate end = LocalDate.of(2025, 2, 7);
+        LeaveRequestDto dto = new LeaveRequestDto("E001", 1L, start, end, null);
+
+        when(leaveMapper.toEntity(dto)).thenReturn(new LeaveRequest());
+        when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(lazyHistory));
+        when(leaveTypeRepository.findById(1L)).thenReturn(Optional.of(leaveType));
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.leaveRequestCreate(dto);
+
+        verify(lazyHistory, never()).getLeaveRequests();
+    }
+
+    @Test
+    void leaveRequestCreate_concurrentOverlapRejectedByConstraint_throwsRuntime() {
+        LocalDate start = LocalDate.of(2025, 2, 3);
+        LocalDate end = LocalDate.of(2025, 2, 7);
+        LeaveRequestDto dto = new LeaveRequestDto("E001", 1L, start, end, null);
+
+        when(leaveMapper.toEntity(dto)).thenReturn(new LeaveRequest());
+        when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
+        when(leaveTypeRepository.findById(1L)).thenReturn(Optional.of(leaveType));
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class))).thenThrow(new DataIntegrityViolationException(
+                "insert failed", new RuntimeException("conflicting key value violates exclusion constraint \"leave_requests_no_overlap\"")));
+
+        RuntimeException ex = assertThrows(IllegalStateException.class, () -> service.leaveRequestCreate(dto));
+        assertEquals("Bu tarih aralığında zaten izin talebiniz var!", ex.getMessage());
     }
 
     @Test
@@ -260,8 +314,9 @@ class LeaveServiceTest {
     }
 
     @Test
-    void approveLeaveRequest_success_updatesStatusSavesAndDecrementsBalance() {
+    void approveLeaveRequest_success_updatesStatusAndDecrementsBalanceConditionally() {
         LeaveRequest req = new LeaveRequest();
+        req.setId(50L);
         req.setStartDate(LocalDate.of(2025,1,3));
         req.setStatus(LeaveStatus.PENDING);
         req.setTotalDays(3);
@@ -273,6 +328,8 @@ class LeaveServiceTest {
 
         when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
         when(employeeRepository.findByEmployeeNumber("M001")).thenReturn(Optional.of(manager));
+        when(leaveRequestRepository.decidePending(eq(50L), eq(LeaveStatus.APPROVED), eq(manager), any(), isNull())).thenReturn(1);
+        when(employeeRepository.decrementLeaveBalance(1L, 3)).thenReturn(1);
 
         service.approveLeaveRequest("E001", req.getStartDate(), "M001");
 
@@ -280,8 +337,126 @@ class LeaveServiceTest {
         assertEquals(manager, req.getApprovedBy());
         assertNotNull(req.getApprovedAt());
         assertEquals(4, employee.getLeaveBalance());
-        verify(leaveRequestRepository).save(req);
-        verify(employeeRepository).save(employee);
+        // Okuyup-yazma yok: entity kaydedilmez, yalnızca koşullu update'ler
+        verify(leaveRequestRepository, never()).save(any());
+        verify(employeeRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new LeaveDecidedEvent(null, req.getStartDate(), null));
+    }
+
+    @Test
+    void approveLeaveRequest_decidedConcurrently_throws() {
+        LeaveRequest req = new LeaveRequest();
+        req.setId(50L);
+        req.setStartDate(LocalDate.of(2025,1,3));
+        req.setStatus(LeaveStatus.PENDING);
+        req.setTotalDays(3);
+        employee.setLeaveRequests(List.of(req));
+        when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByEmployeeNumber("M001")).thenReturn(Optional.of(new Employee()));
+        when(leaveRequestRepository.decidePending(eq(50L), eq(LeaveStatus.APPROVED), any(), any(), any())).thenReturn(0);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> service.approveLeaveRequest("E001", req.getStartDate(), "M001"));
+        assertEquals("Leave request is no longer pending", ex.getMessage());
+        verify(employeeRepository, never()).decrementLeaveBalance(anyLong(), anyInt());
+    }
+
+    @Test
+    void approveLeaveRequest_balanceSpentConcurrently_throws() {
+        LeaveRequest req = new LeaveRequest();
+        req.setId(50L);
+        req.setStartDate(LocalDate.of(2025,1,3));
+        req.setStatus(LeaveStatus.PENDING);
+        req.setTotalDays(3);
+        employee.setLeaveRequests(List.of(req));
+        when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByEmployeeNumber("M001")).thenReturn(Optional.of(new Employee()));
+        when(leaveRequestRepository.decidePending(eq(50L), eq(LeaveStatus.APPROVED), any(), any(), any())).thenReturn(1);
+        when(employeeRepository.decrementLeaveBalance(1L, 3)).thenReturn(0);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> service.approveLeaveRequest("E001", req.getStartDate(), "M001"));
+        assertEquals("Yetersiz bakiye!", ex.getMessage());
+        assertEquals(10, employee.getLeaveBalance());
+    }
+
+    /**
+     * Aynı çalışanın talepleri birden çok yönetici tarafından eşzamanlı onaylanır. Repository'ler
+     * veritabanının koşullu update semantiğiyle (karşılaştır-ve-değiştir) taklit edilir; her işlem
+     * çalışanı ve taleplerini kendi kopyası olarak okur.
+     */
+    @Test
+    void approveLeaveRequest_concurrentApprovals_loseNoUpdates() throws Exception {
+        int requests = 40;
+        int balance = 30;
+        AtomicInteger storedBalance = new AtomicInteger(balance);
+        Map<Long, AtomicReference<LeaveStatus>> storedStatus = new ConcurrentHashMap<>();
+        for (long id = 1; id <= requests; id++) {
+            storedStatus.put(id, new AtomicReference<>(LeaveStatus.PENDING));
+        }
+        Supplier<Employee> loadEmployee = () -> {
+            Employee copy = new Employee();
+            copy.setId(1L);
+            copy.setEmployeeNumber("E001");
+            copy.setLeaveBalance(storedBalance.get());
+            List<LeaveRequest> rows = new ArrayList<>();
+            storedStatus.forEach((id, status) -> {
+                LeaveRequest row = new LeaveRequest();
+                row.setId(id);
+                row.setStartDate(LocalDate.of(2025, 1, 1).plusDays(id));
+                row.setTotalDays(1);
+                row.setStatus(status.get());
+                rows.add(row);
+            });
+            copy.setLeaveRequests(rows);
+            return copy;
+        };
+        Employee manager = new Employee();
+        manager.setId(2L);
+        when(employeeRepository.findByEmployeeNumber(anyString())).thenAnswer(inv ->
+                Optional.of("E001".equals(inv.getArgument(0)) ? loadEmployee.get() : manager));
+        lenient().when(employeeRepository.findById(anyLong())).thenAnswer(inv ->
+                Optional.of(inv.getArgument(0).equals(1L) ? loadEmployee.get() : manager));
+        when(leaveRequestRepository.decidePending(anyLong(), eq(LeaveStatus.APPROVED), any(), any(), any()))
+                .thenAnswer(inv -> storedStatus.get(inv.<Long>getArgument(0))
+                        .compareAndSet(LeaveStatus.PENDING, LeaveStatus.APPROVED) ? 1 : 0);
+        when(employeeRepository.decrementLeaveBalance(eq(1L), anyInt())).thenAnswer(inv -> {
+            int days = inv.getArgument(1);
+            int current;
+            do {
+                current = storedBalance.get();
+                if (current < days) {
+                    return 0;
+                }
+            } while (!storedBalance.compareAndSet(current, current - days));
+            return 1;
+        });
+
+        // Her talep iki yönetici tarafından aynı anda onaylanmaya çalışılır
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int attempt = 0; attempt < requests * 2; attempt++) {
+            LocalDate startDate = LocalDate.of(2025, 1, 1).plusDays(attempt % requests + 1);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    service.approveLeaveRequest("E001", startDate, "M001");
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException expected) {
+                    // talep zaten karara bağlanmış veya bakiye bitmiş
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Her başarılı onay bakiyeden tam bir kez düşülür: ne fazla onay ne kayıp güncelleme
+        assertEquals(balance, succeeded.get());
+        assertEquals(0, storedBalance.get());
     }
 
     // ---- rejectLeaveRequestByEmployeeNumber ----
@@ -313,13 +488,16 @@ class LeaveServiceTest {
     }
 
     @Test
-    void rejectLeaveRequest_success_setsRejectedAndSaves() {
+    void rejectLeaveRequest_success_setsRejectedConditionally() {
         LeaveRequest pending = new LeaveRequest();
+        pending.setId(60L);
         pending.setStatus(LeaveStatus.PENDING);
         employee.setLeaveRequests(List.of(pending));
         when(employeeRepository.findByEmployeeNumber("E001")).thenReturn(Optional.of(employee));
         Employee manager = new Employee(); manager.setEmployeeNumber("M001");
         when(employeeRepository.findByEmployeeNumber("M001")).thenReturn(Optional.of(manager));
+        when(leaveRequestRepository.decidePending(eq(60L), eq(LeaveStatus.REJECTED), eq(manager), any(), eq("Too many requests")))
+                .thenReturn(1);
 
         service.rejectLeaveRequestByEmployeeNumber("E001", "M001", "Too many requests");
 
@@ -327,7 +505,6 @@ class LeaveServiceTest {
         assertEquals(manager, pending.getApprovedBy());
         assertNotNull(pending.getApprovedAt());
         assertEquals("Too many requests", pending.getManagerNote());
-        verify(leaveRequestRepository).save(pending);
+        verify(leaveRequestRepository, never()).save(any());
     }
 }
-
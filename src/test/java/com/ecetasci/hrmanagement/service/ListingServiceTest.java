@@ -0,0 +1,148 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.CompanyResponse;
+import com.ecetasci.hrmanagement.dto.response.EmployeeResponseDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveResponseDto;
+import com.ecetasci.hrmanagement.dto.response.PagedResponse;
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.enums.LeaveStatus;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.LeaveRequestRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.CursorCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private ListingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ListingService(employeeRepository, userRepository, companyRepository, leaveRequestRepository,
+                new CacheRegistry());
+        service.init();
+    }
+
+    private static EmployeeResponseDto employee(long id) {
+        return new EmployeeResponseDto(id, "E" + id, "e" + id, null, null, null);
+    }
+
+    @Test
+    void employeesAfter_readsOneExtraRow_andReturnsCursorOfLastItem() {
+        when(employeeRepository.findSummaryPageAfter(5L, 0L, Limit.of(3)))
+                .thenReturn(List.of(employee(1), employee(2), employee(3)));
+
+        PagedResponse<EmployeeResponseDto> page = service.employeesAfter(5L, null, 2, false);
+
+        assertEquals(List.of(1L, 2L), page.getContent().stream().map(EmployeeResponseDto::id).toList());
+        assertFalse(page.isLast());
+        assertEquals(2L, CursorCodec.decodeId(page.getNextCursor()));
+        assertNull(page.getApproximateTotal());
+        verify(employeeRepository, never()).countByCompanyId(anyLong());
+    }
+
+    @Test
+    void employeesAfter_lastPage_hasNoCursor_andTotalIsCached() {
+        String after = CursorCodec.encode(2L);
+        when(employeeRepository.findSummaryPageAfter(5L, 2L, Limit.of(3))).thenReturn(List.of(employee(3)));
+        when(employeeRepository.countByCompanyId(5L)).thenReturn(3L);
+
+        PagedResponse<EmployeeResponseDto> first = service.employeesAfter(5L, after, 2, true);
+        PagedResponse<EmployeeResponseDto> second = service.employeesAfter(5L, after, 2, true);
+
+        assertTrue(first.isLast());
+        assertNull(first.getNextCursor());
+        assertEquals(3L, first.getApproximateTotal());
+        assertEquals(3L, second.getApproximateTotal());
+        verify(employeeRepository, times(1)).countByCompanyId(5L);
+    }
+
+    @Test
+    void companiesAfter_byName_usesCompositeCursor() {
+        Company c = Company.builder().id(9L).companyName("Acme").build();
+        when(companyRepository.findPageAfterName("Ab", 4L, Limit.of(2))).thenReturn(List.of(c, c));
+
+        PagedResponse<CompanyResponse> page = service.companiesAfter(CursorCodec.encode("Ab", 4L), 1, "companyName", false);
+
+        assertArrayEquals(new String[]{"Acme", "9"}, CursorCodec.decode(page.getNextCursor(), 2));
+    }
+
+    @Test
+    void malformedCursor_isRejected() {
+        assertThrows(ValidationException.class, () -> service.usersAfter("not-a-cursor", 10, false));
+        assertThrows(ValidationException.class, () -> service.companiesAfter(null, 10, "email", false));
+    }
+
+    private static LeaveResponseDto leave(long id, LocalDate startDate) {
+        return new LeaveResponseDto(id, "E1", "Yıllık İzin", startDate, startDate.plusDays(2), null, "PENDING");
+    }
+
+    @Test
+    void leavesAfter_firstPage_issuesSingleQuery_withOpenBounds() {
+        LocalDate may = LocalDate.of(2026, 5, 4);
+        when(leaveRequestRepository.findCompanyPageAfter(5L, LeaveStatus.PENDING, null,
+                LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(9999, 12, 31), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(leave(9, may), leave(7, may), leave(8, may.minusDays(1))));
+
+        PagedResponse<LeaveResponseDto> page = service.leavesAfter(5L, LeaveStatus.PENDING, null, null, null, null, 2);
+
+        assertEquals(List.of(9L, 7L), page.getContent().stream().map(LeaveResponseDto::id).toList());
+        assertArrayEquals(new String[]{"2026-05-04", "7"}, CursorCodec.decode(page.getNextCursor(), 2));
+        // Tek statement: çalışanlar ve lazy koleksiyonları ayrıca yüklenmez
+        verify(leaveRequestRepository, times(1)).findCompanyPageAfter(any(), any(), any(), any(), any(), any(), anyLong(), any());
+        verifyNoMoreInteractions(leaveRequestRepository);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void leavesAfter_cursor_seeksFromLastStartDateAndId() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        when(leaveRequestRepository.findCompanyPageAfter(5L, null, 3L, from, to,
+                LocalDate.of(2026, 5, 4), 7L, Limit.of(3)))
+                .thenReturn(List.of(leave(8, LocalDate.of(2026, 5, 3))));
+
+        PagedResponse<LeaveResponseDto> page = service.leavesAfter(5L, null, 3L, from, to,
+                CursorCodec.encode(LocalDate.of(2026, 5, 4), 7L), 2);
+
+        assertTrue(page.isLast());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void leavesAfter_invalidRangeOrCursor_throwsValidation() {
+        LocalDate day = LocalDate.of(2026, 5, 4);
+
+        assertThrows(ValidationException.class,
+                () -> service.leavesAfter(5L, null, null, day, day.minusDays(1), null, 10));
+        assertThrows(ValidationException.class,
+                () -> service.leavesAfter(5L, null, null, null, null, CursorCodec.encode("not-a-date", 1L), 10));
+        verifyNoInteractions(leaveRequestRepository);
+    }
+}
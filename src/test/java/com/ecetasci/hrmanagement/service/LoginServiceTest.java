@@ -0,0 +1,166 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.LoginRequestDto;
+import com.ecetasci.hrmanagement.dto.response.LoginResponseDto;
+import com.ecetasci.hrmanagement.entity.Employee;
+import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ServiceBusyException;
+import com.ecetasci.hrmanagement.exceptions.UnauthorizedException;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.UserRepository;
+import com.ecetasci.hrmanagement.utility.JwtManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private JwtManager jwtManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LoginService loginService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginService, "hashThreads", 1);
+        ReflectionTestUtils.setField(loginService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(loginService, "waitTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(loginService, "retryAfterSeconds", 2L);
+        loginService.init();
+
+        user = User.builder().id(1L).name("ali").email("ali@x.com").password("OLD")
+                .role(Role.EMPLOYEE).userStatus(UserStatus.ACTIVE).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.shutdown();
+    }
+
+    @Test
+    void login_validPassword_returnsTokenWithoutRehash() {
+        when(userRepository.findUserByEmail("ali@x.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("pw", "OLD")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("OLD")).thenReturn(false);
+        when(employeeRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(jwtManager.generateToken(eq("ali@x.com"), anyMap())).thenReturn("TOKEN");
+
+        LoginResponseDto result = loginService.login(new LoginRequestDto(null, "ali@x.com", "pw"));
+
+        assertEquals("TOKEN", result.token());
+        verify(userRepository, times(1)).findUserByEmail("ali@x.com");
+        verify(userRepository, never()).save(any());
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    @Test
+    void login_weakerStoredHash_rehashesUserAndEmployee() {
+        Employee employee = new Employee();
+        when(userRepository.findUserByEmail("ali@x.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("pw", "OLD")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("OLD")).thenReturn(true);
+        when(passwordEncoder.encode("pw")).thenReturn("NEW");
+        when(employeeRepository.findByUserId(1L)).thenReturn(Optional.of(employee));
+        when(jwtManager.generateToken(eq("ali@x.com"), anyMap())).thenReturn("TOKEN");
+
+        loginService.login(new LoginRequestDto(null, "ali@x.com", "pw"));
+
+        assertEquals("NEW", user.getPassword());
+        assertEquals("NEW", employee.getPassword());
+        verify(userRepository).save(user);
+        verify(employeeRepository).save(employee);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("ali@x.com"));
+    }
+
+    @Test
+    void login_wrongPassword_throwsUnauthorized() {
+        when(userRepository.findUserByEmail("ali@x.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("bad", "OLD")).thenReturn(false);
+
+        assertThrows(UnauthorizedException.class,
+                () -> loginService.login(new LoginRequestDto(null, "ali@x.com", "bad")));
+        verify(jwtManager, never()).generateToken(anyString(), anyMap());
+    }
+
+    @Test
+    void login_inactiveUser_rejectedBeforeHashing() {
+        user.setUserStatus(UserStatus.PENDING_EMAIL_VERIFICATION);
+        when(userRepository.findUserByEmail("ali@x.com")).thenReturn(Optional.of(user));
+
+        assertThrows(ForbiddenException.class,
+                () -> loginService.login(new LoginRequestDto(null, "ali@x.com", "pw")));
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void login_hashPoolSaturated_throwsServiceBusyWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findUserByEmail("ali@x.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(anyString(), eq("OLD"))).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // 1 çalışan + 1 kuyrukta => havuz dolu
+            callers.submit(() -> loginService.login(new LoginRequestDto(null, "ali@x.com", "a")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> loginService.login(new LoginRequestDto(null, "ali@x.com", "b")));
+            waitForQueue(1);
+
+            ServiceBusyException ex = assertThrows(ServiceBusyException.class,
+                    () -> loginService.login(new LoginRequestDto(null, "ali@x.com", "c")));
+            assertEquals(2L, ex.getRetryAfterSeconds());
+            assertEquals(1, loginService.rejectedCount());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void waitForQueue(int expected) throws InterruptedException {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(loginService, "hashExecutor");
+        for (int i = 0; i < 100 && pool.getQueue().size() < expected; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, pool.getQueue().size());
+    }
+}
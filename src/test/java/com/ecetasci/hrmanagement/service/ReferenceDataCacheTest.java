@@ -0,0 +1,164 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.DepartmentDto;
+import com.ecetasci.hrmanagement.dto.response.LeaveTypeResponseDto;
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.Department;
+import com.ecetasci.hrmanagement.entity.LeaveType;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.mapper.ShiftMapper;
+import com.ecetasci.hrmanagement.repository.BreakRepository;
+import com.ecetasci.hrmanagement.repository.DepartmentRepository;
+import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
+import com.ecetasci.hrmanagement.repository.PositionRepository;
+import com.ecetasci.hrmanagement.repository.ShiftRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.TtlCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock private LeaveTypeRepository leaveTypeRepository;
+    @Mock private DepartmentRepository departmentRepository;
+    @Mock private PositionRepository positionRepository;
+    @Mock private ShiftRepository shiftRepository;
+    @Mock private ShiftMapper shiftMapper;
+    @Mock private BreakRepository breakRepository;
+
+    private CacheRegistry cacheRegistry;
+    private ReferenceDataCache cache;
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        cacheRegistry = new CacheRegistry();
+        cache = new ReferenceDataCache(leaveTypeRepository, departmentRepository, positionRepository,
+                shiftRepository, shiftMapper, breakRepository, cacheRegistry);
+        cache.init();
+        company = new Company();
+        company.setId(1L);
+        company.setCompanyName("ACME");
+    }
+
+    @Test
+    void leaveTypes_secondReadIsServedFromCache() {
+        LeaveType annual = LeaveType.builder().name("Annual").company(company).build();
+        when(leaveTypeRepository.findAllByCompanyId(1L)).thenReturn(List.of(annual));
+
+        List<LeaveTypeResponseDto> first = cache.leaveTypes(1L);
+        List<LeaveTypeResponseDto> second = cache.leaveTypes(1L);
+
+        assertSame(first, second);
+        verify(leaveTypeRepository, times(1)).findAllByCompanyId(1L);
+        TtlCache.CacheStats stats = stats("refLeaveTypes");
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void invalidate_dropsOnlyTheAffectedCompany() {
+        Company other = new Company();
+        other.setId(2L);
+        when(departmentRepository.findAllByCompanyId(1L))
+                .thenReturn(List.of(Department.builder().name("HR").company(company).build()))
+                .thenReturn(List.of(Department.builder().name("IT").company(company).build()));
+        when(departmentRepository.findAllByCompanyId(2L))
+                .thenReturn(List.of(Department.builder().name("Ops").company(other).build()));
+        cache.departments(1L);
+        cache.departments(2L);
+
+        cache.invalidateDepartments(1L);
+
+        assertEquals("IT", cache.departments(1L).get(0).name());
+        assertEquals("Ops", cache.departments(2L).get(0).name());
+        verify(departmentRepository, times(2)).findAllByCompanyId(1L);
+        verify(departmentRepository, times(1)).findAllByCompanyId(2L);
+    }
+
+    @Test
+    void invalidate_insideTransaction_waitsForCommit() {
+        when(departmentRepository.findAllByCompanyId(1L))
+                .thenReturn(List.of(Department.builder().name("HR").company(company).build()))
+                .thenReturn(List.of(Department.builder().name("IT").company(company).build()));
+        cache.departments(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateDepartments(1L);
+            // Commit'ten önce okuyan eski kaydı görür, yeniden yükleme yapılmaz
+            assertEquals("HR", cache.departments(1L).get(0).name());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("IT", cache.departments(1L).get(0).name());
+        verify(departmentRepository, times(2)).findAllByCompanyId(1L);
+    }
+
+    @Test
+    void invalidate_rolledBackTransaction_keepsEntry() {
+        when(departmentRepository.findAllByCompanyId(1L))
+                .thenReturn(List.of(Department.builder().name("HR").company(company).build()));
+        cache.departments(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateDepartments(1L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.departments(1L);
+        verify(departmentRepository, times(1)).findAllByCompanyId(1L);
+    }
+
+    @Test
+    void snapshots_areImmutable() {
+        when(departmentRepository.findAllByCompanyId(1L))
+                .thenReturn(List.of(Department.builder().name("HR").company(company).build()));
+
+        List<DepartmentDto> list = cache.departments(1L);
+
+        assertThrows(UnsupportedOperationException.class, () -> list.add(new DepartmentDto(9L, "X", "ACME")));
+    }
+
+    @Test
+    void shift_missing_throwsAndIsNotCached() {
+        when(shiftRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.shift(5L));
+        assertThrows(ResourceNotFoundException.class, () -> cache.shift(5L));
+        verify(shiftRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    void nullCompany_bypassesCache() {
+        when(leaveTypeRepository.findAllByCompanyId(null)).thenReturn(List.of());
+
+        cache.leaveTypes(null);
+        cache.leaveTypes(null);
+
+        verify(leaveTypeRepository, times(2)).findAllByCompanyId(null);
+    }
+
+    private TtlCache.CacheStats stats(String name) {
+        return cacheRegistry.stats().stream().filter(s -> s.name().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -6,11 +6,19 @@ import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Shift;
 import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
 import com.ecetasci.hrmanagement.mapper.ShiftMapper;
+import com.ecetasci.hrmanagement.repository.BreakRepository;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.DepartmentRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeShiftRepository;
+import com.ecetasci.hrmanagement.repository.LeaveTypeRepository;
+import com.ecetasci.hrmanagement.repository.PositionRepository;
 import com.ecetasci.hrmanagement.repository.ShiftRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -31,9 +39,26 @@ class ShiftServiceTest {
     @Mock
     private ShiftMapper shiftMapper;
 
-    @InjectMocks
+    @Mock
+    private EmployeeShiftRepository employeeShiftRepository;
+    @Mock
+    private CompanySubscriptionRepository companySubscriptionRepository;
+
     private ShiftService service;
 
+    @BeforeEach
+    void setUp() {
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(mock(LeaveTypeRepository.class),
+                mock(DepartmentRepository.class), mock(PositionRepository.class), shiftRepository, shiftMapper,
+                mock(BreakRepository.class), new CacheRegistry());
+        referenceDataCache.init();
+        TenantContext tenantContext = new TenantContext(companyRepository, companySubscriptionRepository,
+                mock(EmployeeRepository.class), new CacheRegistry());
+        tenantContext.init();
+        service = new ShiftService(shiftRepository, companyRepository, shiftMapper, employeeShiftRepository,
+                referenceDataCache, tenantContext);
+    }
+
     @Test
     void getShiftsByCompany_returnsDtos() {
         Company c = new Company(); c.setId(1L);
@@ -35,6 +35,7 @@ class SiteAdminServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private CompanySubscriptionRepository companySubscriptionRepository;
     @Mock private EmailService emailService;
+    @Mock private TenantContext tenantContext;
 
     @InjectMocks
     private SiteAdminService service;
@@ -0,0 +1,130 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.response.DepartmentHeadcount;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceCalendarResponse;
+import com.ecetasci.hrmanagement.dto.response.TeamAbsenceRow;
+import com.ecetasci.hrmanagement.event.LeaveDecidedEvent;
+import com.ecetasci.hrmanagement.repository.CompanyHolidayRepository;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.repository.LeaveRequestRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.WorkingDayCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamAbsenceCalendarServiceTest {
+
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+
+    @Mock private LeaveRequestRepository leaveRequestRepository;
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private CompanyHolidayRepository companyHolidayRepository;
+    @Mock private CompanyRepository companyRepository;
+
+    private TeamAbsenceCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        WorkingDayCalendarService calendarService =
+                new WorkingDayCalendarService(companyHolidayRepository, companyRepository, new CacheRegistry());
+        calendarService.init();
+        service = new TeamAbsenceCalendarService(leaveRequestRepository, employeeRepository, calendarService, new CacheRegistry());
+        service.init();
+    }
+
+    private static TeamAbsenceRow row(long leaveId, long employeeId, String department, LocalDate start, LocalDate end) {
+        return new TeamAbsenceRow(leaveId, employeeId, "E" + employeeId, "Emp " + employeeId, department, "Yıllık İzin", start, end);
+    }
+
+    private void stubMonth(List<TeamAbsenceRow> rows) {
+        when(leaveRequestRepository.findApprovedAbsences(1L, MAY.atDay(1), MAY.atEndOfMonth())).thenReturn(rows);
+        when(employeeRepository.countByDepartment(1L)).thenReturn(List.of(
+                new DepartmentHeadcount("IT", 4), new DepartmentHeadcount("HR", 2)));
+        when(companyHolidayRepository.findByCompanyIdOrderByStartDateAsc(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    void month_clipsIntervalsToMonth_andCountsPerDay() {
+        stubMonth(List.of(
+                row(1, 10, "IT", LocalDate.of(2026, 4, 28), LocalDate.of(2026, 5, 2)),
+                row(2, 11, "IT", LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 4)),
+                row(3, 20, "HR", LocalDate.of(2026, 5, 30), LocalDate.of(2026, 6, 5))));
+
+        TeamAbsenceCalendarResponse calendar = service.month(1L, MAY, null);
+
+        assertEquals(31, calendar.days().size());
+        assertEquals(6, calendar.teamSize());
+        assertEquals(1, calendar.days().get(0).absentCount());
+        assertEquals(2, calendar.days().get(1).absentCount()); // 2 Mayıs: 10 ve 11
+        assertEquals(4, calendar.days().get(1).availableCount());
+        assertEquals(List.of(11L), calendar.days().get(2).absent().stream().map(TeamAbsenceCalendarResponse.Absence::employeeId).toList());
+        assertEquals(0, calendar.days().get(4).absentCount());
+        assertEquals(1, calendar.days().get(30).absentCount());
+        // 1 Mayıs resmi tatil, 4 Mayıs Pazartesi
+        assertFalse(calendar.days().get(0).workingDay());
+        assertTrue(calendar.days().get(3).workingDay());
+    }
+
+    @Test
+    void month_departmentView_filtersCachedCompanyMonth() {
+        stubMonth(List.of(
+                row(1, 10, "IT", LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 2)),
+                row(2, 20, "HR", LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 2))));
+
+        service.month(1L, MAY, null);
+        TeamAbsenceCalendarResponse hr = service.month(1L, MAY, "HR");
+
+        assertEquals(2, hr.teamSize());
+        assertEquals(1, hr.days().get(1).absentCount());
+        assertEquals(1, hr.days().get(1).availableCount());
+        assertEquals("HR", hr.days().get(1).absent().get(0).department());
+        // Tek aralık sorgusu; ikinci görünüm cache'ten
+        verify(leaveRequestRepository, times(1)).findApprovedAbsences(1L, MAY.atDay(1), MAY.atEndOfMonth());
+    }
+
+    @Test
+    void onLeaveDecided_invalidatesEveryMonthTheLeaveSpans() {
+        stubMonth(List.of());
+        service.month(1L, MAY, null);
+
+        service.onLeaveDecided(new LeaveDecidedEvent(1L, LocalDate.of(2026, 4, 29), LocalDate.of(2026, 5, 3)));
+        service.month(1L, MAY, null);
+
+        verify(leaveRequestRepository, times(2)).findApprovedAbsences(1L, MAY.atDay(1), MAY.atEndOfMonth());
+    }
+
+    @Test
+    void sweep_matchesPerDayScan_onRandomIntervals() {
+        Random random = new Random(11);
+        List<TeamAbsenceRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDate start = LocalDate.of(2026, 4, 15).plusDays(random.nextInt(60));
+            rows.add(row(id, id, "IT", start, start.plusDays(random.nextInt(10))));
+        }
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2026, 2026, List.of());
+
+        List<TeamAbsenceCalendarResponse.Day> days = TeamAbsenceCalendarService.sweep(MAY, rows, 1000, calendar);
+
+        for (TeamAbsenceCalendarResponse.Day day : days) {
+            long expected = rows.stream()
+                    .filter(r -> !r.startDate().isAfter(day.date()) && !r.endDate().isBefore(day.date()))
+                    .count();
+            assertEquals(expected, day.absentCount(), day.date().toString());
+            assertEquals(1000 - expected, day.availableCount());
+        }
+    }
+}
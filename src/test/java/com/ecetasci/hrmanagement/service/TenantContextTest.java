@@ -0,0 +1,156 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.CompanySubscription;
+import com.ecetasci.hrmanagement.enums.SubscriptionType;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.repository.CompanySubscriptionRepository;
+import com.ecetasci.hrmanagement.repository.EmployeeRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantContextTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Mock private CompanyRepository companyRepository;
+    @Mock private CompanySubscriptionRepository companySubscriptionRepository;
+    @Mock private EmployeeRepository employeeRepository;
+
+    private TenantContext tenantContext;
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        tenantContext = new TenantContext(companyRepository, companySubscriptionRepository, employeeRepository,
+                new CacheRegistry());
+        tenantContext.init();
+        tenantContext.setClock(Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        company = new Company();
+        company.setId(1L);
+        company.setCompanyName("ACME");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void find_loadsCompanyAndSubscriptionOnce() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companySubscriptionRepository.findLatestStartedByCompanyId(1L, TODAY, Limit.of(1)))
+                .thenReturn(List.of(subscription(TODAY.plusMonths(1), 25)));
+
+        TenantContext.Tenant first = tenantContext.require(1L);
+        TenantContext.Tenant second = tenantContext.require(1L);
+
+        assertSame(first, second);
+        assertEquals("ACME", first.companyName());
+        assertEquals(SubscriptionType.YEARLY, first.subscriptionType());
+        assertEquals(25, first.maxEmployeeCount());
+        verify(companyRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void requireActive_expiredSubscription_throwsForbidden() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companySubscriptionRepository.findLatestStartedByCompanyId(1L, TODAY, Limit.of(1)))
+                .thenReturn(List.of(subscription(TODAY.minusDays(1), null)));
+
+        assertThrows(ForbiddenException.class, () -> tenantContext.requireActive(1L));
+    }
+
+    @Test
+    void requireActive_withoutSubscription_isAllowed() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+
+        TenantContext.Tenant tenant = tenantContext.requireActive(1L);
+
+        assertNull(tenant.subscriptionType());
+    }
+
+    @Test
+    void require_unknownCompany_throwsAndIsNotCached() {
+        when(companyRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> tenantContext.require(9L));
+        assertThrows(ResourceNotFoundException.class, () -> tenantContext.require(9L));
+        verify(companyRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    void invalidate_reloadsOnNextRead() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        tenantContext.require(1L);
+
+        tenantContext.invalidate(1L);
+        tenantContext.require(1L);
+
+        verify(companyRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void find_insideRequest_resolvesCompanyOncePerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+
+        TenantContext.Tenant tenant = tenantContext.require(1L);
+
+        assertSame(tenant, request.getAttribute(TenantContext.class.getName()));
+        tenantContext.invalidate(1L);
+        assertNull(request.getAttribute(TenantContext.class.getName()));
+    }
+
+    @Test
+    void availableSeats_subtractsCurrentHeadcount() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companySubscriptionRepository.findLatestStartedByCompanyId(1L, TODAY, Limit.of(1)))
+                .thenReturn(List.of(subscription(TODAY.plusMonths(1), 25)));
+        when(employeeRepository.countByCompanyId(1L)).thenReturn(20L, 25L);
+
+        assertEquals(5, tenantContext.availableSeats(1L));
+        assertThrows(ForbiddenException.class, () -> tenantContext.requireSeats(1L, 1));
+    }
+
+    @Test
+    void availableSeats_withoutLimit_isUnbounded() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+
+        assertEquals(Long.MAX_VALUE, tenantContext.availableSeats(1L));
+        tenantContext.requireSeats(1L, 1000);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private CompanySubscription subscription(LocalDate endDate, Integer maxEmployeeCount) {
+        CompanySubscription subscription = new CompanySubscription();
+        subscription.setSubscriptionType(SubscriptionType.YEARLY);
+        subscription.setStartDate(TODAY.minusYears(1));
+        subscription.setEndDate(endDate);
+        subscription.setMaxEmployeeCount(maxEmployeeCount);
+        subscription.setCompany(company);
+        return subscription;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecetasci.hrmanagement.service;
 
+import com.ecetasci.hrmanagement.dto.request.RegisterCompanyManagerRequestDto;
 import com.ecetasci.hrmanagement.dto.request.RegisterRequestDto;
 import com.ecetasci.hrmanagement.dto.request.ResetPasswordRequestDto;
 import com.ecetasci.hrmanagement.dto.request.UpdateUserRequestDto;
@@ -8,19 +9,24 @@ import com.ecetasci.hrmanagement.dto.response.UserResponse;
 import com.ecetasci.hrmanagement.entity.Company;
 import com.ecetasci.hrmanagement.entity.Employee;
 import com.ecetasci.hrmanagement.entity.User;
+import com.ecetasci.hrmanagement.entity.UserToken;
 import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.enums.TokenPurpose;
 import com.ecetasci.hrmanagement.enums.UserStatus;
+import com.ecetasci.hrmanagement.exceptions.ForbiddenException;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.event.UserChangedEvent;
 import com.ecetasci.hrmanagement.repository.CompanyRepository;
 import com.ecetasci.hrmanagement.repository.EmployeeRepository;
 import com.ecetasci.hrmanagement.repository.UserRepository;
 import com.ecetasci.hrmanagement.repository.ExpenseRepository;
-import com.ecetasci.hrmanagement.utility.JwtManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -47,11 +53,21 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
     @Mock
-    private JwtManager jwtManager;
+    private UserTokenService userTokenService;
     @Mock
     private CompanyRepository companyRepository;
     @Mock
     private ExpenseRepository expenseRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmployeeNumberAllocator employeeNumberAllocator;
+    @Mock
+    private EmployeeNumberResolver employeeNumberResolver;
+    @Mock
+    private TenantContext tenantContext;
+    @Mock
+    private LeaveAccrualService leaveAccrualService;
 
     // employeeService will be a real instance created in setup so its generateEmployeeNumber() works
     private EmployeeService employeeService;
@@ -67,10 +83,10 @@ class UserServiceTest {
         company = Company.builder().id(1L).companyName("ACME").build();
 
         // create a real EmployeeService backed by mocked repositories/deps
-        employeeService = new EmployeeService(employeeRepository, companyRepository, emailService, passwordEncoder, expenseRepository);
+        employeeService = new EmployeeService(employeeRepository, companyRepository, emailService, passwordEncoder, expenseRepository, eventPublisher, employeeNumberAllocator, employeeNumberResolver, tenantContext, leaveAccrualService);
 
         // construct the UserService with mocks and the real employeeService
-        service = new UserService(userRepository, employeeRepository, passwordEncoder, emailService, jwtManager, companyRepository, employeeService);
+        service = new UserService(userRepository, employeeRepository, passwordEncoder, emailService, userTokenService, companyRepository, employeeService, eventPublisher, tenantContext, leaveAccrualService);
     }
 
     // register
@@ -78,7 +94,7 @@ class UserServiceTest {
     void register_companyAdmin_withCompany_createsUserAndEmployee_andSendsEmail() {
         RegisterRequestDto dto = new RegisterRequestDto("john", "Rawpass1!", "Rawpass1!", Role.COMPANY_ADMIN, "john@ex.com", 1L);
         when(passwordEncoder.encode("Rawpass1!")).thenReturn("ENC");
-        when(jwtManager.generateToken(anyString())).thenReturn("jwtTok");
+        when(userTokenService.issue(any(User.class), eq(TokenPurpose.EMAIL_VERIFICATION))).thenReturn("verifyTok");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
             u.setId(10L);
@@ -87,8 +103,8 @@ class UserServiceTest {
         when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
         //when(employeeRepository.findByEmployeeNumber(anyString())).thenReturn(Optional.empty());
         when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
-        // use the real employeeService, but stub its internal call to repository if needed
-        when(employeeRepository.findEmployeeByEmployeeNumber(anyString())).thenReturn(Optional.empty());
+        when(employeeNumberAllocator.next()).thenReturn("A000001");
+        when(leaveAccrualService.initialLeaveBalance(1L)).thenReturn(0);
 
         RegisterResponseDto res = service.register(dto);
 
@@ -103,8 +119,7 @@ class UserServiceTest {
         assertEquals(UserStatus.PENDING_ADMIN_APPROVAL, savedUser.getUserStatus());
         assertEquals("ENC", savedUser.getPassword());
         assertEquals(Role.COMPANY_ADMIN, savedUser.getRole());
-        assertEquals("jwtTok", savedUser.getEmailVerificationToken());
-        assertNotNull(savedUser.getTokenExpiryDate());
+        verify(userTokenService).issue(savedUser, TokenPurpose.EMAIL_VERIFICATION);
 
         // employee kaydı ve alanlar
         ArgumentCaptor<Employee> empCap = ArgumentCaptor.forClass(Employee.class);
@@ -113,18 +128,19 @@ class UserServiceTest {
         assertEquals(savedUser, savedEmp.getUser());
         assertEquals(Role.COMPANY_ADMIN, savedEmp.getRole());
         assertEquals(company, savedEmp.getCompany());
+        // Şirkette tahakkuk eden izin tipi var; bakiye varsayılan 15 değil tahakkuktan gelir
+        assertEquals(0, savedEmp.getLeaveBalance());
         // savedEmp.setEmployeeNumber(employeeService.generateEmployeeNumber()); // no need to set here
         assertNotNull(savedEmp.getEmployeeNumber());
 
         // email gönderildi
-        verify(emailService).send(eq("john@ex.com"), eq("user register"), contains("jwtTok"));
+        verify(emailService).send(eq("john@ex.com"), eq("user register"), contains("verifyTok"));
     }
 
     @Test
     void register_companyAdmin_companyIdNull_throwsAndDoesNotCreateEmployeeOrSendEmail() {
         RegisterRequestDto dto = new RegisterRequestDto("john", "Rawpass1!", "Rawpass1!", Role.COMPANY_ADMIN, "john@ex.com", null);
         when(passwordEncoder.encode(anyString())).thenReturn("ENC");
-        when(jwtManager.generateToken(anyString())).thenReturn("tok");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> service.register(dto));
@@ -138,7 +154,6 @@ class UserServiceTest {
     void register_companyAdmin_companyNotFound_employeeSavedWithoutCompany() {
         RegisterRequestDto dto = new RegisterRequestDto("john", "Rawpass1!", "Rawpass1!", Role.COMPANY_ADMIN, "john@ex.com", 99L);
         when(passwordEncoder.encode(anyString())).thenReturn("ENC");
-        when(jwtManager.generateToken(anyString())).thenReturn("tok");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
         when(companyRepository.findById(99L)).thenReturn(Optional.empty());
        // when(employeeRepository.findByEmployeeNumber(anyString())).thenReturn(Optional.empty());
@@ -152,11 +167,57 @@ class UserServiceTest {
         assertNull(emp.getCompany());
     }
 
+    @Test
+    void register_companyAdmin_seatLimitReached_throwsAndDoesNotCreateEmployee() {
+        RegisterRequestDto dto = new RegisterRequestDto("john", "Rawpass1!", "Rawpass1!", Role.COMPANY_ADMIN, "john@ex.com", 1L);
+        when(passwordEncoder.encode(anyString())).thenReturn("ENC");
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(employeeNumberAllocator.next()).thenReturn("A000001");
+        doThrow(new ForbiddenException(TenantContext.SEAT_LIMIT_MESSAGE)).when(tenantContext).requireSeats(1L, 1);
+
+        assertThrows(ForbiddenException.class, () -> service.register(dto));
+
+        verify(employeeRepository, never()).save(any());
+        verify(emailService, never()).send(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void registerForManager_setsInitialLeaveBalanceFromAccrualPolicy() {
+        RegisterCompanyManagerRequestDto dto = new RegisterCompanyManagerRequestDto("john", "Rawpass1!", "john@ex.com", Role.COMPANY_ADMIN, 1L);
+        when(passwordEncoder.encode(anyString())).thenReturn("ENC");
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(employeeNumberAllocator.next()).thenReturn("A000001");
+        when(leaveAccrualService.initialLeaveBalance(1L)).thenReturn(0);
+
+        service.registerForManager(dto);
+
+        ArgumentCaptor<Employee> cap = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeRepository).save(cap.capture());
+        assertEquals(0, cap.getValue().getLeaveBalance());
+        verify(tenantContext).requireSeats(1L, 1);
+    }
+
+    @Test
+    void registerForManager_seatLimitReached_throwsAndDoesNotCreateEmployee() {
+        RegisterCompanyManagerRequestDto dto = new RegisterCompanyManagerRequestDto("john", "Rawpass1!", "john@ex.com", Role.COMPANY_ADMIN, 1L);
+        when(passwordEncoder.encode(anyString())).thenReturn("ENC");
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(employeeNumberAllocator.next()).thenReturn("A000001");
+        doThrow(new ForbiddenException(TenantContext.SEAT_LIMIT_MESSAGE)).when(tenantContext).requireSeats(1L, 1);
+
+        assertThrows(ForbiddenException.class, () -> service.registerForManager(dto));
+
+        verify(employeeRepository, never()).save(any());
+    }
+
     @Test
     void register_nonAdminRole_doesNotCreateEmployee() {
         RegisterRequestDto dto = new RegisterRequestDto("jane", "Rawpass1!", "Rawpass1!", Role.EMPLOYEE, "jane@ex.com", 1L);
         when(passwordEncoder.encode(anyString())).thenReturn("ENC");
-        when(jwtManager.generateToken(anyString())).thenReturn("tok");
+        when(userTokenService.issue(any(User.class), eq(TokenPurpose.EMAIL_VERIFICATION))).thenReturn("tok");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         RegisterResponseDto res = service.register(dto);
@@ -174,10 +235,10 @@ class UserServiceTest {
     //}
 
     @Test
-    void generateEmployeeNumber_fallback_returnsEMPWithTimestamp() {
-        when(employeeRepository.findEmployeeByEmployeeNumber(anyString())).thenReturn(Optional.of(new Employee()));
-        String num = employeeService.generateEmployeeNumber();
-        assertTrue(num.startsWith("EMP"));
+    void generateEmployeeNumber_usesBlockAllocator_withoutLookups() {
+        when(employeeNumberAllocator.next()).thenReturn("A000042");
+        assertEquals("A000042", employeeService.generateEmployeeNumber());
+        verify(employeeRepository, never()).findEmployeeByEmployeeNumber(anyString());
     }
 
     // save overloads
@@ -261,44 +322,55 @@ class UserServiceTest {
 
     // verifyEmail
     @Test
-    void verifyEmail_success_activatesAndClearsToken() {
+    void verifyEmail_success_activatesAndConsumesToken() {
         User u = new User();
-        u.setEmailVerificationToken("t");
-        u.setTokenExpiryDate(LocalDateTime.now().plusHours(1));
-        when(userRepository.findByEmailVerificationToken("t")).thenReturn(Optional.of(u));
+        u.setEmail("e@x.com");
+        UserToken token = UserToken.builder().user(u).purpose(TokenPurpose.EMAIL_VERIFICATION)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        when(userTokenService.findToken("t", TokenPurpose.EMAIL_VERIFICATION)).thenReturn(Optional.of(token));
 
-        service.verifyEmail("t");
+        service.verifyEmail("t", "e@x.com");
 
         assertEquals(UserStatus.ACTIVE, u.getUserStatus());
-        // Service currently sets the token field to the provided token (doesn't clear it)
-        assertEquals("t", u.getEmailVerificationToken());
-        assertNull(u.getTokenExpiryDate());
+        verify(userTokenService).consume(token);
         verify(userRepository).save(u);
     }
 
     @Test
     void verifyEmail_expired_throws() {
         User u = new User();
-        u.setEmailVerificationToken("t");
-        u.setTokenExpiryDate(LocalDateTime.now().minusHours(1));
-        when(userRepository.findByEmailVerificationToken("t")).thenReturn(Optional.of(u));
+        UserToken token = UserToken.builder().user(u).purpose(TokenPurpose.EMAIL_VERIFICATION)
+                .expiresAt(LocalDateTime.now().minusHours(1)).build();
+        when(userTokenService.findToken("t", TokenPurpose.EMAIL_VERIFICATION)).thenReturn(Optional.of(token));
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> service.verifyEmail("t"));
         assertEquals("Token expired", ex.getMessage());
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void verifyEmail_tokenOfAnotherUser_throws() {
+        User u = new User();
+        u.setEmail("owner@x.com");
+        UserToken token = UserToken.builder().user(u).purpose(TokenPurpose.EMAIL_VERIFICATION)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        when(userTokenService.findToken("t", TokenPurpose.EMAIL_VERIFICATION)).thenReturn(Optional.of(token));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.verifyEmail("t", "other@x.com"));
+        verify(userTokenService, never()).consume(any());
+    }
+
     // generateResetToken
     @Test
-    void generateResetToken_setsTokenAndSaves() {
+    void generateResetToken_issuesTokenAndSendsEmail() {
         User u = new User();
+        u.setEmail("e@x.com");
         when(userRepository.findUserByEmail("e@x.com")).thenReturn(Optional.of(u));
-        when(jwtManager.generateToken("e@x.com")).thenReturn("resetTok");
+        when(userTokenService.issue(u, TokenPurpose.PASSWORD_RESET)).thenReturn("resetTok");
 
-        service.generateResetToken("e@x.com");
+        assertEquals("resetTok", service.generateResetToken("e@x.com"));
 
-        assertEquals("resetTok", u.getPasswordResetToken());
-        verify(userRepository).save(u);
+        verify(emailService).send(eq("e@x.com"), anyString(), contains("resetTok"));
     }
 
     // resetPassword
@@ -307,7 +379,10 @@ class UserServiceTest {
         User u = new User();
         u.setRole(Role.EMPLOYEE);
         u.setId(7L);
-        when(userRepository.findUserByPasswordResetToken("tok")).thenReturn(Optional.of(u));
+        u.setEmail("emp@x.com");
+        UserToken token = UserToken.builder().user(u).purpose(TokenPurpose.PASSWORD_RESET)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        when(userTokenService.findToken("tok", TokenPurpose.PASSWORD_RESET)).thenReturn(Optional.of(token));
         when(passwordEncoder.encode("Newpass1!"))
                 .thenReturn("ENC-PASS");
         Employee emp = new Employee();
@@ -316,10 +391,11 @@ class UserServiceTest {
         service.resetPassword(new ResetPasswordRequestDto("tok", "Newpass1!"));
 
         assertEquals("ENC-PASS", u.getPassword());
-        assertNull(u.getPasswordResetToken());
+        verify(userTokenService).consume(token);
         verify(userRepository).save(u);
         assertEquals("ENC-PASS", emp.getPassword());
         verify(employeeRepository).save(emp);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("emp@x.com"));
     }
 
     @Test
@@ -327,15 +403,28 @@ class UserServiceTest {
         User u = new User();
         u.setRole(Role.COMPANY_ADMIN);
         u.setId(8L);
-        when(userRepository.findUserByPasswordResetToken("tok")).thenReturn(Optional.of(u));
+        UserToken token = UserToken.builder().user(u).purpose(TokenPurpose.PASSWORD_RESET)
+                .expiresAt(LocalDateTime.now().plusHours(1)).build();
+        when(userTokenService.findToken("tok", TokenPurpose.PASSWORD_RESET)).thenReturn(Optional.of(token));
         when(passwordEncoder.encode("Newpass1!"))
                 .thenReturn("ENC-PASS");
 
         service.resetPassword(new ResetPasswordRequestDto("tok", "Newpass1!"));
 
         assertEquals("ENC-PASS", u.getPassword());
-        assertNull(u.getPasswordResetToken());
+        verify(userTokenService).consume(token);
         verify(userRepository).save(u);
         verify(employeeRepository, never()).save(any());
     }
+
+    @Test
+    void resetPassword_expiredToken_throws() {
+        UserToken token = UserToken.builder().user(new User()).purpose(TokenPurpose.PASSWORD_RESET)
+                .expiresAt(LocalDateTime.now().minusMinutes(1)).build();
+        when(userTokenService.findToken("tok", TokenPurpose.PASSWORD_RESET)).thenReturn(Optional.of(token));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.resetPassword(new ResetPasswordRequestDto("tok", "Newpass1!")));
+        verify(userRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,108 @@
+package com.ecetasci.hrmanagement.service;
+
+import com.ecetasci.hrmanagement.dto.request.HolidayRequestDto;
+import com.ecetasci.hrmanagement.entity.Company;
+import com.ecetasci.hrmanagement.entity.CompanyHoliday;
+import com.ecetasci.hrmanagement.exceptions.ResourceNotFoundException;
+import com.ecetasci.hrmanagement.exceptions.ValidationException;
+import com.ecetasci.hrmanagement.repository.CompanyHolidayRepository;
+import com.ecetasci.hrmanagement.repository.CompanyRepository;
+import com.ecetasci.hrmanagement.utility.CacheRegistry;
+import com.ecetasci.hrmanagement.utility.WorkingDayCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingDayCalendarServiceTest {
+
+    @Mock private CompanyHolidayRepository holidayRepository;
+    @Mock private CompanyRepository companyRepository;
+
+    private WorkingDayCalendarService service;
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        service = new WorkingDayCalendarService(holidayRepository, companyRepository, new CacheRegistry());
+        service.init();
+        service.setClock(Clock.fixed(LocalDate.of(2026, 1, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        company = new Company();
+        company.setId(1L);
+    }
+
+    @Test
+    void calendar_isBuiltOncePerCompany() {
+        when(holidayRepository.findByCompanyIdOrderByStartDateAsc(1L)).thenReturn(List.of());
+
+        WorkingDayCalendar first = service.calendar(1L);
+
+        assertSame(first, service.calendar(1L));
+        assertEquals(2021, first.firstYear());
+        assertEquals(2031, first.lastYear());
+        verify(holidayRepository, times(1)).findByCompanyIdOrderByStartDateAsc(1L);
+    }
+
+    @Test
+    void createHoliday_swapsInNewSnapshot() {
+        // 20-22 Mart 2026 Cuma-Pazar; yalnızca Cuma iş gününden düşer
+        LocalDate start = LocalDate.of(2026, 3, 20);
+        LocalDate end = LocalDate.of(2026, 3, 22);
+        CompanyHoliday bayram = CompanyHoliday.builder().name("Ramazan Bayramı").startDate(start).endDate(end).company(company).build();
+        when(holidayRepository.findByCompanyIdOrderByStartDateAsc(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(bayram));
+        when(companyRepository.getReferenceById(1L)).thenReturn(company);
+        when(holidayRepository.save(any(CompanyHoliday.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        WorkingDayCalendar before = service.calendar(1L);
+        service.createHoliday(1L, new HolidayRequestDto("Ramazan Bayramı", start, end, false));
+        WorkingDayCalendar after = service.calendar(1L);
+
+        assertNotSame(before, after);
+        assertEquals(1, before.countWorkingDays(start, end));
+        assertEquals(0, after.countWorkingDays(start, end));
+    }
+
+    @Test
+    void companyWithoutId_usesNationalCalendar() {
+        assertEquals(0, service.countWorkingDays(null, LocalDate.of(2026, 10, 29), LocalDate.of(2026, 10, 29)));
+        verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    void countWorkingDays_overLongRange_throwsValidationBeforeBuildingCalendar() {
+        assertThrows(ValidationException.class,
+                () -> service.countWorkingDays(1L, LocalDate.of(2026, 1, 1), LocalDate.MAX));
+        assertEquals(2559, service.countWorkingDays(null, LocalDate.of(2026, 1, 1), LocalDate.of(2035, 12, 31)));
+        verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    void createHoliday_endBeforeStart_throwsValidation() {
+        HolidayRequestDto dto = new HolidayRequestDto("X", LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 1), false);
+
+        assertThrows(ValidationException.class, () -> service.createHoliday(1L, dto));
+        verify(holidayRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteHoliday_ofAnotherCompany_throwsNotFound() {
+        when(holidayRepository.findByIdAndCompanyId(5L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteHoliday(1L, 5L));
+        verify(holidayRepository, never()).delete(any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecetasci.hrmanagement.utility;
+
+import com.ecetasci.hrmanagement.enums.Role;
+import com.ecetasci.hrmanagement.security.CallerContext;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtManagerTest {
+
+    private JwtManager jwtManager;
+
+    @BeforeEach
+    void setUp() {
+        jwtManager = new JwtManager();
+        ReflectionTestUtils.setField(jwtManager, "jwtSecret", "test-secret-key-which-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtManager, "claimsCacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtManager, "claimsCacheTtlSeconds", 60L);
+        jwtManager.init();
+    }
+
+    @Test
+    void extractClaims_sameToken_servedFromCacheAfterFirstParse() {
+        String token = jwtManager.generateToken("user@x.com");
+
+        Claims first = jwtManager.extractClaims(token);
+        Claims second = jwtManager.extractClaims(token);
+
+        assertSame(first, second);
+        assertEquals("user@x.com", second.getSubject());
+        assertEquals(1, jwtManager.claimsCacheStats().hits());
+        assertEquals(1, jwtManager.claimsCacheStats().misses());
+    }
+
+    @Test
+    void parseToken_tamperedToken_returnsNull() {
+        String token = jwtManager.generateToken("user@x.com");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertNull(jwtManager.parseToken(tampered));
+        assertThrows(JwtException.class, () -> jwtManager.extractClaims(tampered));
+    }
+
+    @Test
+    void verifyToken_withParsedClaims_matchesUsername() {
+        String token = jwtManager.generateToken("user@x.com");
+        Claims claims = jwtManager.parseToken(token);
+        UserDetails owner = new User("user@x.com", "pw", List.of());
+        UserDetails other = new User("other@x.com", "pw", List.of());
+
+        assertTrue(jwtManager.verifyToken(claims, owner));
+        assertFalse(jwtManager.verifyToken(claims, other));
+        assertTrue(jwtManager.verifyToken(token, owner));
+    }
+
+    @Test
+    void generateToken_withCallerClaims_roundTripsToCallerContext() {
+        CallerContext caller = new CallerContext(5L, 7L, 9L, Role.COMPANY_ADMIN, "boss@x.com");
+
+        String token = jwtManager.generateToken("boss@x.com", caller.toClaims());
+
+        assertEquals(caller, CallerContext.fromClaims(jwtManager.extractClaims(token)));
+    }
+
+    @Test
+    void fromClaims_legacyTokenWithoutUid_returnsNull() {
+        String token = jwtManager.generateToken("user@x.com");
+
+        assertNull(CallerContext.fromClaims(jwtManager.extractClaims(token)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecetasci.hrmanagement.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceIdsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void next_expandsEachSequenceValueIntoItsPooledBlock() {
+        when(jdbcTemplate.queryForList(contains("nextval('employee_seq')"), eq(Long.class), eq(2)))
+                .thenReturn(List.of(150L, 200L));
+
+        List<Long> ids = SequenceIds.next(jdbcTemplate, "employee_seq", 50, 60);
+
+        assertEquals(60, ids.size());
+        assertEquals(101L, ids.get(0));
+        assertEquals(150L, ids.get(49));
+        assertEquals(151L, ids.get(50));
+        assertEquals(160L, ids.get(59));
+    }
+
+    @Test
+    void next_freshSequenceFirstValue_isASingleId() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(1L, 51L));
+
+        List<Long> ids = SequenceIds.next(jdbcTemplate, "user_seq", 50, 51);
+
+        assertEquals(1L, ids.get(0));
+        assertEquals(2L, ids.get(1));
+        assertEquals(51L, ids.get(50));
+        assertEquals(51, ids.stream().distinct().count());
+    }
+
+    @Test
+    void next_zeroCount_doesNotTouchDatabase() {
+        assertTrue(SequenceIds.next(jdbcTemplate, "user_seq", 50, 0).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecetasci.hrmanagement.utility;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH bağımlılığı yok; 1M çok yıllık aralık sayımı ölçülür ve gün gün yürüyen yöntemle karşılaştırılır.
+ * Süreler makine yüküne bağlı olduğu için normal test koşusunda çalışmaz: {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class WorkingDayCalendarBenchmarkTest {
+
+    @Test
+    void multiYearRangeCounts_prefixVersusDayByDayWalk() {
+        List<WorkingDayCalendar.Holiday> holidays = new ArrayList<>(WorkingDayCalendar.NATIONAL_HOLIDAYS);
+        holidays.add(new WorkingDayCalendar.Holiday(LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 1), false));
+        holidays.add(new WorkingDayCalendar.Holiday(LocalDate.of(2026, 3, 20), LocalDate.of(2026, 3, 22), false));
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2020, 2035, holidays);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        Random random = new Random(7);
+        int n = 1_000_000;
+        LocalDate[] starts = new LocalDate[n];
+        LocalDate[] ends = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = base.plusDays(random.nextInt(365 * 5));
+            ends[i] = starts[i].plusDays(365L * 5 + random.nextInt(365 * 5));
+        }
+
+        long sum = 0;
+        long began = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            sum += calendar.countWorkingDays(starts[i], ends[i]);
+        }
+        long prefixPerRange = (System.nanoTime() - began) / n;
+
+        int sampled = 1_000;
+        long naiveSum = 0;
+        long sampledSum = 0;
+        began = System.nanoTime();
+        for (int i = 0; i < sampled; i++) {
+            naiveSum += naiveCount(starts[i], ends[i], holidays);
+        }
+        long naivePerRange = (System.nanoTime() - began) / sampled;
+        for (int i = 0; i < sampled; i++) {
+            sampledSum += calendar.countWorkingDays(starts[i], ends[i]);
+        }
+
+        assertTrue(sum > 0);
+        assertEquals(naiveSum, sampledSum);
+        System.out.printf("working_day_calendar prefix=%dns/range naive=%dns/range%n", prefixPerRange, naivePerRange);
+    }
+
+    private static int naiveCount(LocalDate start, LocalDate end, List<WorkingDayCalendar.Holiday> holidays) {
+        int count = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            LocalDate current = day;
+            if (holidays.stream().noneMatch(h -> h.covers(current))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
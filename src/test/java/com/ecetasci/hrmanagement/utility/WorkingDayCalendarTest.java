@@ -0,0 +1,139 @@
+package com.ecetasci.hrmanagement.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    // Kayan bayramlar (örnek): 2025 Ramazan Bayramı 30 Mart-1 Nisan, 2026 Ramazan Bayramı 20-22 Mart
+    private static final List<WorkingDayCalendar.Holiday> HOLIDAYS = List.of(
+            new WorkingDayCalendar.Holiday(LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 1), false),
+            new WorkingDayCalendar.Holiday(LocalDate.of(2026, 3, 20), LocalDate.of(2026, 3, 22), false),
+            WorkingDayCalendar.Holiday.recurring(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 2)));
+
+    private static List<WorkingDayCalendar.Holiday> withNational(List<WorkingDayCalendar.Holiday> extra) {
+        List<WorkingDayCalendar.Holiday> all = new ArrayList<>(WorkingDayCalendar.NATIONAL_HOLIDAYS);
+        all.addAll(extra);
+        return all;
+    }
+
+    @Test
+    void countsWeekdaysWithoutHolidays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2025, 2025, WorkingDayCalendar.NATIONAL_HOLIDAYS);
+
+        // 3-7 Şubat 2025 Pzt-Cuma
+        assertEquals(5, calendar.countWorkingDays(LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 7)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 2, 8), LocalDate.of(2025, 2, 9)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 2, 7), LocalDate.of(2025, 2, 3)));
+    }
+
+    @Test
+    void nationalHolidaysRepeatEveryYear() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2025, 2030, WorkingDayCalendar.NATIONAL_HOLIDAYS);
+
+        // 29 Ekim 2026 Perşembe, 23 Nisan 2027 Cuma
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 10, 29)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2027, 4, 23)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2026, 10, 30)));
+    }
+
+    @Test
+    void multiDayAndYearCrossingHolidaysAreExcluded() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2024, 2027, withNational(HOLIDAYS));
+
+        // 31 Mart - 1 Nisan 2025 Pzt-Salı bayram; 2 Nisan Çarşamba iş günü
+        assertEquals(1, calendar.countWorkingDays(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 2)));
+        // Tekrarlanan 31 Aralık - 2 Ocak: 2 Ocak 2026 Cuma tatil
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 1, 2)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 12, 31)));
+    }
+
+    @Test
+    void rangesOutsideWindowFallBackToRules() {
+        WorkingDayCalendar window = WorkingDayCalendar.build(2025, 2025, withNational(HOLIDAYS));
+        WorkingDayCalendar wide = WorkingDayCalendar.build(2020, 2032, withNational(HOLIDAYS));
+
+        LocalDate start = LocalDate.of(2021, 6, 1);
+        LocalDate end = LocalDate.of(2031, 6, 30);
+        assertEquals(wide.countWorkingDays(start, end), window.countWorkingDays(start, end));
+        assertEquals(wide.isWorkingDay(LocalDate.of(2030, 10, 29)), window.isWorkingDay(LocalDate.of(2030, 10, 29)));
+    }
+
+    @Test
+    void randomMultiYearRanges_matchDayByDayCount() {
+        List<WorkingDayCalendar.Holiday> holidays = withNational(HOLIDAYS);
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2022, 2030, holidays);
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2021, 1, 1);
+
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate start = base.plusDays(random.nextInt(365 * 10));
+            LocalDate end = start.plusDays(random.nextInt(365 * 4));
+            assertEquals(naiveCount(start, end, holidays), calendar.countWorkingDays(start, end),
+                    () -> "range " + start + ".." + end);
+        }
+    }
+
+    // 5-10 yıllık aralıklar çok sayıda yıl sınırını ve yinelenen tatili aşar; prefix farkı gün gün yürüyüşle aynı olmalı
+    @Test
+    void multiYearRangeCounts_matchDayByDayWalk() {
+        List<WorkingDayCalendar.Holiday> holidays = withNational(HOLIDAYS);
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2020, 2035, holidays);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = base.plusDays(random.nextInt(365 * 5));
+            LocalDate end = start.plusDays(365L * 5 + random.nextInt(365 * 5));
+            assertEquals(naiveCount(start, end, holidays), calendar.countWorkingDays(start, end),
+                    () -> "range " + start + ".." + end);
+        }
+    }
+
+    // Pencere dışı kısım aritmetik sayılır; çakışan tekrarlı ve tek seferlik tatiller aynı günü iki kez düşmemeli
+    @Test
+    void centuriesOutsideWindow_matchDayByDayWalk() {
+        List<WorkingDayCalendar.Holiday> holidays = withNational(List.of(
+                WorkingDayCalendar.Holiday.recurring(LocalDate.of(1950, 12, 30), LocalDate.of(1951, 1, 2)),
+                new WorkingDayCalendar.Holiday(LocalDate.of(2150, 4, 20), LocalDate.of(2150, 5, 3), false),
+                new WorkingDayCalendar.Holiday(LocalDate.of(1900, 1, 1), LocalDate.of(1900, 1, 10), false)));
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2025, 2025, holidays);
+        LocalDate start = LocalDate.of(1899, 12, 27);
+        LocalDate end = LocalDate.of(2300, 1, 3);
+
+        assertEquals(naiveCount(start, end, holidays), calendar.countWorkingDays(start, end));
+        assertEquals(naiveCount(LocalDate.of(2150, 4, 1), LocalDate.of(2150, 5, 31), holidays),
+                calendar.countWorkingDays(LocalDate.of(2150, 4, 1), LocalDate.of(2150, 5, 31)));
+    }
+
+    @Test
+    void fullDateRange_isCountedWithoutOverflow() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2025, 2025, List.of());
+        long days = LocalDate.MAX.toEpochDay() - LocalDate.MIN.toEpochDay() + 1;
+
+        long count = calendar.countWorkingDays(LocalDate.MIN, LocalDate.MAX);
+
+        assertTrue(count > Integer.MAX_VALUE);
+        assertTrue(Math.abs(count - days * 5 / 7) <= 5, () -> "count=" + count);
+    }
+
+    private static int naiveCount(LocalDate start, LocalDate end, List<WorkingDayCalendar.Holiday> holidays) {
+        int count = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            LocalDate current = day;
+            if (holidays.stream().noneMatch(h -> h.covers(current))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}